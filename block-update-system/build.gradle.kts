@@ -1,3 +1,12 @@
 dependencies {
     compileOnly(project(":core"))
-}
\ No newline at end of file
+
+    // Tests
+    testImplementation(platform("org.junit:junit-bom:5.9.1"))
+    testImplementation("org.junit.jupiter:junit-jupiter")
+    testImplementation(project(":core"))
+}
+
+tasks.test {
+    useJUnitPlatform()
+}
@@ -5,6 +5,7 @@ import net.kyori.adventure.key.Key;
 import net.minestom.vanilla.blockupdatesystem.BlockUpdateManager;
 import net.minestom.vanilla.logging.Loading;
 import net.minestom.vanilla.randomticksystem.RandomTickManager;
+import net.minestom.vanilla.scheduledticksystem.ScheduledTickManager;
 import org.jetbrains.annotations.NotNull;
 
 public class BlockUpdateFeature implements VanillaReimplementation.Feature {
@@ -17,6 +18,10 @@ public class BlockUpdateFeature implements VanillaReimplementation.Feature {
         Loading.start("Random Tick Manager");
         RandomTickManager.init(context);
         Loading.finish();
+
+        Loading.start("Scheduled Tick Manager");
+        ScheduledTickManager.init(context);
+        Loading.finish();
     }
 
     @Override
@@ -0,0 +1,38 @@
+package net.minestom.vanilla.blockupdatesystem;
+
+import net.minestom.server.coordinate.Point;
+import net.minestom.server.coordinate.Vec;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Packs block positions into longs, with 26 bits for x and z and 12 bits for y, like vanilla does.
+ */
+public final class BlockPositions {
+
+    private BlockPositions() {
+    }
+
+    public static long pack(int x, int y, int z) {
+        return ((long) (x & 0x3FFFFFF) << 38) | ((long) (z & 0x3FFFFFF) << 12) | (y & 0xFFF);
+    }
+
+    public static long pack(@NotNull Point point) {
+        return pack(point.blockX(), point.blockY(), point.blockZ());
+    }
+
+    public static int x(long packed) {
+        return (int) (packed >> 38);
+    }
+
+    public static int y(long packed) {
+        return (int) (packed << 52 >> 52);
+    }
+
+    public static int z(long packed) {
+        return (int) (packed << 26 >> 38);
+    }
+
+    public static @NotNull Vec unpack(long packed) {
+        return new Vec(x(packed), y(packed), z(packed));
+    }
+}
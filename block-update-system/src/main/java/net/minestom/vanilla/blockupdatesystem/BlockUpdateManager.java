@@ -1,9 +1,7 @@
 package net.minestom.vanilla.blockupdatesystem;
 
-import it.unimi.dsi.fastutil.shorts.Short2ObjectMap;
-import it.unimi.dsi.fastutil.shorts.Short2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
 import net.minestom.server.coordinate.Point;
-import net.minestom.server.coordinate.Pos;
 import net.minestom.server.coordinate.Vec;
 import net.minestom.server.event.Event;
 import net.minestom.server.event.EventNode;
@@ -13,12 +11,20 @@ import net.minestom.server.event.player.PlayerBlockBreakEvent;
 import net.minestom.server.event.player.PlayerBlockPlaceEvent;
 import net.minestom.server.instance.Chunk;
 import net.minestom.server.instance.Instance;
+import net.minestom.server.instance.Section;
 import net.minestom.server.instance.block.Block;
+import net.minestom.server.instance.palette.Palette;
 import net.minestom.vanilla.VanillaReimplementation;
+import net.minestom.vanilla.instance.TickingChunks;
+import net.minestom.vanilla.randomticksystem.RandomTickManager;
+import net.minestom.vanilla.utils.IdDispatch;
+import net.minestom.vanilla.utils.IdTable;
+import net.minestom.vanilla.utils.MinestomUtils;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Collections;
-import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.WeakHashMap;
 
@@ -30,13 +36,15 @@ public class BlockUpdateManager {
     private static final Map<Instance, BlockUpdateManager> instance2BlockUpdateManager =
             Collections.synchronizedMap(new WeakHashMap<>());
 
-    // Block updatables
-    private static final Short2ObjectMap<BlockUpdatable> blockUpdatables = new Short2ObjectOpenHashMap<>();
+    // Block updatables by state id
+    private static final IdDispatch<BlockUpdatable> blockUpdatables = new IdDispatch<>();
 
     public static void registerUpdatable(short stateId, @NotNull BlockUpdatable updatable) {
-        synchronized (blockUpdatables) {
-            blockUpdatables.put(stateId, updatable);
-        }
+        blockUpdatables.register(stateId, updatable);
+    }
+
+    private static @Nullable BlockUpdatable updatable(int stateId) {
+        return blockUpdatables.get(stateId);
     }
 
     public static void init(@NotNull VanillaReimplementation.Feature.HookContext context) {
@@ -54,30 +62,62 @@ public class BlockUpdateManager {
                                 BlockUpdateInfo.PLACE_BLOCK())
         );
         eventNode.addListener(InstanceChunkLoadEvent.class, event -> {
-            Chunk chunk = event.getChunk();
-            int minY = chunk.getMinSection() * Chunk.CHUNK_SECTION_SIZE;
-            int maxY = chunk.getMaxSection() * Chunk.CHUNK_SECTION_SIZE;
-            int minX = chunk.getChunkX() * Chunk.CHUNK_SIZE_X;
-            int minZ = chunk.getChunkZ() * Chunk.CHUNK_SIZE_Z;
-
             Instance instance = event.getInstance();
             BlockUpdateManager.from(instance);
-
-            synchronized (blockUpdatables) {
-                for (int x = minX; x < minX + Chunk.CHUNK_SIZE_X; x++) {
-                    for (int z = minZ; z < minZ + Chunk.CHUNK_SIZE_Z; z++) {
-                        for (int y = minY; y < maxY; y++) {
-                            Block block = chunk.getBlock(x, y, z);
-                            BlockUpdatable updatable = blockUpdatables.get((short) block.stateId());
-                            if (updatable == null) continue;
-                            updatable.blockUpdate(instance, new Vec(x, y, z), BlockUpdateInfo.CHUNK_LOAD());
-                        }
-                    }
-                }
-            }
+            updateChunk(instance, event.getChunk(), BlockUpdateInfo.CHUNK_LOAD());
         });
     }
 
+    /**
+     * Updates each block of the chunk whose state id has a registered updatable.
+     * <p>
+     * Sections are first skipped when none of the distinct values of their palette is registered, which only reads the
+     * palette itself. The others are read in a single bulk pass through their palette rather than block by block,
+     * testing every state id against the registry. The registry is read from an immutable snapshot, so nothing is
+     * locked while scanning.
+     * Matching blocks are updated once the scan is done, and are read again first in case an earlier update changed
+     * them.
+     * </p>
+     * @return the number of blocks updated
+     */
+    public static int updateChunk(@NotNull Instance instance, @NotNull Chunk chunk, @NotNull BlockUpdateInfo info) {
+        final IdTable<BlockUpdatable> registry = blockUpdatables.table();
+        if (registry.isEmpty()) return 0;
+
+        final int minX = chunk.getChunkX() * Chunk.CHUNK_SIZE_X;
+        final int minZ = chunk.getChunkZ() * Chunk.CHUNK_SIZE_Z;
+        final int minSection = chunk.getMinSection();
+        final List<Section> sections = chunk.getSections();
+
+        LongArrayList matches = new LongArrayList();
+        for (int index = 0; index < sections.size(); index++) {
+            Palette palette = sections.get(index).blockPalette();
+            if (!MinestomUtils.mayContainAny(palette, registry)) continue;
+
+            final int minY = (minSection + index) * Chunk.CHUNK_SECTION_SIZE;
+            palette.getAll((x, y, z, stateId) -> {
+                if (registry.get(stateId) != null) matches.add(BlockPositions.pack(minX + x, minY + y, minZ + z));
+            });
+        }
+
+        int updated = 0;
+        for (int i = 0; i < matches.size(); i++) {
+            long position = matches.getLong(i);
+            int x = BlockPositions.x(position);
+            int y = BlockPositions.y(position);
+            int z = BlockPositions.z(position);
+
+            int stateId = chunk.getBlock(x, y, z).stateId();
+            BlockUpdatable updatable = registry.get(stateId);
+            if (updatable == null) continue;
+            Vec pos = new Vec(x, y, z);
+            updatable.blockUpdate(instance, pos, info);
+            if (chunk.getBlock(x, y, z).stateId() != stateId) RandomTickManager.blockChanged(instance, pos);
+            updated++;
+        }
+        return updated;
+    }
+
     private static void instanceTick(InstanceTickEvent event) {
         Instance instance = event.getInstance();
         from(instance).tick(event.getDuration());
@@ -87,19 +127,59 @@ public class BlockUpdateManager {
         return instance2BlockUpdateManager.computeIfAbsent(instance, BlockUpdateManager::new);
     }
 
-    private final Map<Point, BlockUpdateInfo> updateNeighbors = Collections.synchronizedMap(new LinkedHashMap<>());
-    private final BlockUpdateManager.UpdateHandler updateHandler;
+    private final NeighborUpdateQueue updateNeighbors = new NeighborUpdateQueue();
+    private final NeighborUpdateQueue.NeighborConsumer dispatcher;
 
     public BlockUpdateManager(@NotNull BlockUpdateManager.UpdateHandler updateHandler) {
-        this.updateHandler = updateHandler;
+        this.dispatcher = (x, y, z, info) -> updateHandler.update(new Vec(x, y, z), info);
     }
 
     private BlockUpdateManager(@NotNull Instance instance) {
-        this.updateHandler = (pos, info) -> {
-            if (instance.getBlock(pos).handler() instanceof BlockUpdatable updatable) {
+        this.dispatcher = new InstanceDispatcher(instance);
+    }
+
+    /**
+     * Updates the blocks of an instance, through their handler if it is {@link BlockUpdatable}, or else through the
+     * updatable registered for their state id. A position is only allocated for blocks that are updated.
+     */
+    private static final class InstanceDispatcher implements NeighborUpdateQueue.NeighborConsumer {
+        private final Instance instance;
+        private final TickingChunks tickingChunks;
+        // neighbors are mostly in the chunk of the previous one
+        private @Nullable Chunk chunk;
+        private boolean ticking;
+
+        private InstanceDispatcher(@NotNull Instance instance) {
+            this.instance = instance;
+            this.tickingChunks = TickingChunks.of(instance);
+        }
+
+        @Override
+        public void accept(int x, int y, int z, @NotNull BlockUpdateInfo info) {
+            final int chunkX = x >> 4;
+            final int chunkZ = z >> 4;
+            Chunk chunk = this.chunk;
+            if (chunk == null || chunk.getChunkX() != chunkX || chunk.getChunkZ() != chunkZ) {
+                chunk = instance.getChunk(chunkX, chunkZ);
+                if (chunk == null) return;
+                this.chunk = chunk;
+                this.ticking = tickingChunks.isTicking(chunk, TickingChunks.Level.BLOCK_TICKING);
+            }
+            if (!ticking) return;
+            if (y < chunk.getMinSection() * Chunk.CHUNK_SECTION_SIZE || y >= chunk.getMaxSection() * Chunk.CHUNK_SECTION_SIZE) return;
+
+            Block block = chunk.getBlock(x, y, z);
+            BlockUpdatable updatable = block.handler() instanceof BlockUpdatable handler ? handler : updatable(block.stateId());
+            if (updatable != null) {
+                Vec pos = new Vec(x, y, z);
                 updatable.blockUpdate(instance, pos, info);
+                if (chunk.getBlock(x, y, z).stateId() != block.stateId()) RandomTickManager.blockChanged(instance, pos);
             }
-        };
+        }
+
+        private void reset() {
+            chunk = null;
+        }
     }
 
     public interface UpdateHandler {
@@ -112,7 +192,14 @@ public class BlockUpdateManager {
      * Schedules this position's neighbors to be updated next tick.
      */
     public void scheduleNeighborsUpdate(Point pos, BlockUpdateInfo info) {
-        updateNeighbors.put(pos, info);
+        updateNeighbors.schedule(BlockPositions.pack(pos), info);
+    }
+
+    /**
+     * @return the number of positions whose neighbors will be updated next tick
+     */
+    public int pendingNeighborsUpdates() {
+        return updateNeighbors.size();
     }
 
     // Public api methods end
@@ -122,37 +209,8 @@ public class BlockUpdateManager {
     }
 
     private void updateNeighbors(int duration) {
-        if (updateNeighbors.isEmpty()) {
-            return;
-        }
-
-        // Update all the neighbors
-        for (Map.Entry<Point, BlockUpdateInfo> entry : updateNeighbors.entrySet()) {
-            Point pos = entry.getKey();
-            BlockUpdateInfo info = entry.getValue();
-
-            int x = pos.blockX();
-            int y = pos.blockY();
-            int z = pos.blockZ();
-
-            // For each surrounding block
-            for (int offsetX = -1; offsetX < 2; offsetX++) {
-                for (int offsetY = -1; offsetY < 2; offsetY++) {
-                    for (int offsetZ = -1; offsetZ < 2; offsetZ++) {
-
-                        // If block is not the original block
-                        if (offsetX == 0 && offsetY == 0 && offsetZ == 0) {
-                            continue;
-                        }
-
-                        // Get the block handler at the position
-                        Point blockPos = new Pos(x + offsetX, y + offsetY, z + offsetZ);
-                        updateHandler.update(blockPos, info);
-                    }
-                }
-            }
-        }
-
-        updateNeighbors.clear();
+        updateNeighbors.drain(dispatcher);
+        // don't keep an unloaded chunk around until the next update
+        if (dispatcher instanceof InstanceDispatcher instanceDispatcher) instanceDispatcher.reset();
     }
 }
@@ -0,0 +1,77 @@
+package net.minestom.vanilla.blockupdatesystem;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The positions whose neighbors are updated on the next tick, as a deduplicating FIFO of {@link BlockPositions packed}
+ * positions.
+ * <p>
+ * Scheduling a position that is already pending keeps its place in the queue and replaces its info. Positions
+ * scheduled while the queue is drained, e.g. by the updates themselves, are drained on the next tick. The queue swaps
+ * between two maps that are cleared and reused, so a steady stream of updates doesn't allocate, and a map that grew
+ * during a burst is trimmed back once it has been drained.
+ * </p>
+ */
+final class NeighborUpdateQueue {
+
+    private static final int RETAINED_CAPACITY = 1024;
+
+    private Long2ObjectLinkedOpenHashMap<BlockUpdateInfo> pending = new Long2ObjectLinkedOpenHashMap<>();
+    private Long2ObjectLinkedOpenHashMap<BlockUpdateInfo> draining = new Long2ObjectLinkedOpenHashMap<>();
+
+    interface NeighborConsumer {
+        void accept(int x, int y, int z, @NotNull BlockUpdateInfo info);
+    }
+
+    synchronized void schedule(long position, @NotNull BlockUpdateInfo info) {
+        pending.put(position, info);
+    }
+
+    synchronized int size() {
+        return pending.size();
+    }
+
+    /**
+     * Passes the 26 neighbors of each pending position to the consumer, in the order the positions were scheduled.
+     * @return the number of positions drained
+     */
+    int drain(@NotNull NeighborConsumer consumer) {
+        final Long2ObjectLinkedOpenHashMap<BlockUpdateInfo> positions;
+        synchronized (this) {
+            if (pending.isEmpty()) return 0;
+            positions = pending;
+            pending = draining;
+            draining = positions;
+        }
+
+        final int size = positions.size();
+        try {
+            ObjectIterator<Long2ObjectMap.Entry<BlockUpdateInfo>> iterator = positions.long2ObjectEntrySet().fastIterator();
+            while (iterator.hasNext()) {
+                Long2ObjectMap.Entry<BlockUpdateInfo> entry = iterator.next();
+                long position = entry.getLongKey();
+                BlockUpdateInfo info = entry.getValue();
+
+                int x = BlockPositions.x(position);
+                int y = BlockPositions.y(position);
+                int z = BlockPositions.z(position);
+
+                for (int offsetX = -1; offsetX < 2; offsetX++) {
+                    for (int offsetY = -1; offsetY < 2; offsetY++) {
+                        for (int offsetZ = -1; offsetZ < 2; offsetZ++) {
+                            if (offsetX == 0 && offsetY == 0 && offsetZ == 0) continue;
+                            consumer.accept(x + offsetX, y + offsetY, z + offsetZ, info);
+                        }
+                    }
+                }
+            }
+        } finally {
+            positions.clear();
+            if (size > RETAINED_CAPACITY) positions.trim(RETAINED_CAPACITY);
+        }
+        return size;
+    }
+}
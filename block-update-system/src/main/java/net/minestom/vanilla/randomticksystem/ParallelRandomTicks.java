@@ -0,0 +1,205 @@
+package net.minestom.vanilla.randomticksystem;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minestom.server.coordinate.CoordConversion;
+import net.minestom.server.coordinate.Point;
+import net.minestom.server.coordinate.Vec;
+import net.minestom.server.instance.Chunk;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.instance.block.Block;
+import net.minestom.server.instance.palette.Palette;
+import net.minestom.vanilla.instance.TickingChunks;
+import net.minestom.vanilla.utils.IdTable;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Runs the random ticks of an instance on the common pool, a region of 8×8 chunks per task.
+ * <p>
+ * Each region samples its chunks with its own random source, seeded from the instance random and the region, and
+ * {@link RandomTickable#isThreadSafe() thread safe} tickables read the blocks straight from the section palettes. The
+ * blocks they set are collected, and applied on the tick thread once every region is done, in region order, skipping
+ * blocks that changed in the meantime. As the tick thread waits for the regions and nothing is written before, every
+ * read of the parallel phase sees the blocks as they were at the start of the tick, without copying any section. The other tickables are then run on the tick
+ * thread, in the order they were sampled. With the same instance random and loaded chunks, the outcome doesn't depend
+ * on how the regions were scheduled.
+ * </p>
+ */
+final class ParallelRandomTicks {
+
+    private static final int REGION_SHIFT = 3;
+
+    private ParallelRandomTicks() {
+    }
+
+    static void tick(@NotNull Instance instance, @NotNull Random instanceRandom,
+                     @NotNull IdTable<RandomTickable> registry, int randomTickCount) {
+        final long seed = instanceRandom.nextLong();
+        final long worldAge = instance.getWorldAge();
+
+        Long2ObjectMap<Region> regions = new Long2ObjectOpenHashMap<>();
+        for (Chunk chunk : TickingChunks.of(instance).loadedChunks(TickingChunks.Level.ENTITY_TICKING)) {
+            long key = CoordConversion.chunkIndex(chunk.getChunkX() >> REGION_SHIFT, chunk.getChunkZ() >> REGION_SHIFT);
+            regions.computeIfAbsent(key, Region::new).chunks.add(chunk);
+        }
+        List<Region> ordered = new ArrayList<>(regions.values());
+        ordered.sort(Comparator.comparingLong(region -> region.key));
+
+        Blocks blocks = new Blocks(instance);
+        List<Callable<Void>> tasks = new ArrayList<>(ordered.size());
+        for (Region region : ordered) {
+            tasks.add(() -> {
+                region.sample(blocks, registry, seed, randomTickCount, worldAge);
+                return null;
+            });
+        }
+        try {
+            for (Future<Void> future : ForkJoinPool.commonPool().invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Failed to random tick " + instance, e.getCause());
+        }
+
+        for (Region region : ordered) {
+            for (Write write : region.writes) write.apply(instance);
+        }
+        for (Region region : ordered) {
+            for (Deferred deferred : region.deferred) deferred.run(instance, registry, instanceRandom);
+        }
+    }
+
+    private static final class Region {
+        final long key;
+        final List<Chunk> chunks = new ArrayList<>();
+        final List<Write> writes = new ArrayList<>();
+        final List<Deferred> deferred = new ArrayList<>();
+
+        Region(long key) {
+            this.key = key;
+        }
+
+        void sample(@NotNull Blocks blocks, @NotNull IdTable<RandomTickable> registry, long seed,
+                    int randomTickCount, long worldAge) {
+            chunks.sort(Comparator.comparingLong(chunk -> CoordConversion.chunkIndex(chunk.getChunkX(), chunk.getChunkZ())));
+            Random random = new Random(seed ^ key * 0x9E3779B97F4A7C15L);
+
+            for (Chunk chunk : chunks) {
+                RandomTickSections counts = RandomTickSections.of(chunk);
+                counts.refresh(chunk, registry, worldAge);
+                for (int index = 0; index < counts.sections(); index++) {
+                    if (counts.count(index) == 0) continue;
+                    for (int i = 0; i < randomTickCount; i++) {
+                        sample(blocks, registry, random, chunk, index, counts);
+                    }
+                }
+            }
+        }
+
+        private void sample(@NotNull Blocks blocks, @NotNull IdTable<RandomTickable> registry, @NotNull Random random,
+                            @NotNull Chunk chunk, int index, @NotNull RandomTickSections counts) {
+            int x = random.nextInt(Chunk.CHUNK_SIZE_X);
+            int z = random.nextInt(Chunk.CHUNK_SIZE_Z);
+            int y = random.nextInt(Chunk.CHUNK_SECTION_SIZE);
+
+            int sectionY = chunk.getMinSection() + index;
+            int stateId = Blocks.palette(chunk, sectionY).get(x, y, z);
+            RandomTickable randomTickable = registry.get(stateId);
+            if (randomTickable == null) return;
+
+            int blockX = chunk.getChunkX() * Chunk.CHUNK_SIZE_X + x;
+            int blockY = sectionY * Chunk.CHUNK_SECTION_SIZE + y;
+            int blockZ = chunk.getChunkZ() * Chunk.CHUNK_SIZE_Z + z;
+            Vec position = new Vec(blockX, blockY, blockZ);
+            if (!randomTickable.isThreadSafe()) {
+                deferred.add(new Deferred(chunk, index, counts, position, stateId));
+                return;
+            }
+
+            Block block = Block.fromStateId(stateId);
+            if (block == null) return;
+            randomTickable.randomTick(new ParallelRandomTick(blocks, position, block, random, this, chunk, index, counts));
+        }
+    }
+
+    /**
+     * Reads the blocks of the instance from the live section palettes, which aren't written during the parallel phase.
+     */
+    private static final class Blocks implements Block.Getter {
+        private final Instance instance;
+
+        Blocks(@NotNull Instance instance) {
+            this.instance = instance;
+        }
+
+        static @NotNull Palette palette(@NotNull Chunk chunk, int sectionY) {
+            return chunk.getSection(sectionY).blockPalette();
+        }
+
+        @Override
+        public @NotNull Block getBlock(int x, int y, int z, @NotNull Condition condition) {
+            Chunk chunk = instance.getChunk(x >> 4, z >> 4);
+            if (chunk == null) return Block.AIR;
+            int sectionY = y >> 4;
+            if (sectionY < chunk.getMinSection() || sectionY >= chunk.getMaxSection()) return Block.AIR;
+
+            Block block = Block.fromStateId(palette(chunk, sectionY).get(x & 15, y & 15, z & 15));
+            return block == null ? Block.AIR : block;
+        }
+    }
+
+    private record ParallelRandomTick(@NotNull Blocks blocks, @NotNull Point position, @NotNull Block block,
+                                      @NotNull Random random, @NotNull Region region, @NotNull Chunk chunk, int index,
+                                      @NotNull RandomTickSections counts) implements RandomTickable.RandomTick {
+        @Override
+        public @NotNull Instance instance() {
+            return blocks.instance;
+        }
+
+        @Override
+        public void setBlock(@NotNull Block block) {
+            region.writes.add(new Write(chunk, index, counts, position, this.block.stateId(), block));
+        }
+    }
+
+    /**
+     * A block set by a thread safe random tick, applied if the block it ticked is still there.
+     */
+    private record Write(@NotNull Chunk chunk, int index, @NotNull RandomTickSections counts, @NotNull Point position,
+                         int stateId, @NotNull Block block) {
+        void apply(@NotNull Instance instance) {
+            if (!chunk.isLoaded() || chunk.getBlock(position, Block.Getter.Condition.TYPE).stateId() != stateId) return;
+            instance.setBlock(position, block);
+            counts.changed(index, stateId, block.stateId());
+        }
+    }
+
+    /**
+     * A random tick of a tickable that isn't thread safe, run on the tick thread like a sequential one.
+     */
+    private record Deferred(@NotNull Chunk chunk, int index, @NotNull RandomTickSections counts, @NotNull Point position,
+                            int stateId) {
+        void run(@NotNull Instance instance, @NotNull IdTable<RandomTickable> registry, @NotNull Random random) {
+            if (!chunk.isLoaded()) return;
+            Block block = chunk.getBlock(position);
+            RandomTickable randomTickable = registry.get(block.stateId());
+            if (randomTickable == null) return;
+            randomTickable.randomTick(new RandomTickManager.RandomTick(instance, position, block, random));
+
+            int newStateId = chunk.getBlock(position, Block.Getter.Condition.TYPE).stateId();
+            if (newStateId != block.stateId()) counts.changed(index, block.stateId(), newStateId);
+        }
+    }
+}
@@ -1,17 +1,23 @@
 package net.minestom.vanilla.randomticksystem;
 
-import it.unimi.dsi.fastutil.shorts.Short2ObjectMap;
-import it.unimi.dsi.fastutil.shorts.Short2ObjectOpenHashMap;
 import net.minestom.server.coordinate.Point;
 import net.minestom.server.coordinate.Vec;
 import net.minestom.server.event.instance.InstanceTickEvent;
+import net.minestom.server.event.player.PlayerBlockBreakEvent;
+import net.minestom.server.event.player.PlayerBlockPlaceEvent;
 import net.minestom.server.instance.Chunk;
 import net.minestom.server.instance.Instance;
+import net.minestom.server.instance.Section;
 import net.minestom.server.instance.block.Block;
+import net.minestom.server.instance.palette.Palette;
 import net.minestom.vanilla.VanillaReimplementation;
+import net.minestom.vanilla.instance.TickingChunks;
+import net.minestom.vanilla.utils.IdDispatch;
+import net.minestom.vanilla.utils.IdTable;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.WeakHashMap;
@@ -19,10 +25,12 @@ import java.util.WeakHashMap;
 public class RandomTickManager {
 
     private static final @NotNull String RANDOM_TICK_SYSTEM_PROPERTY = "vri.gamerule.randomtickspeed";
+    private static final @NotNull String PARALLEL_SYSTEM_PROPERTY = "vri.randomticks.parallel";
 
     private static final Map<VanillaReimplementation, RandomTickManager> vri2managers =
             Collections.synchronizedMap(new WeakHashMap<>());
-    private static final Short2ObjectMap<RandomTickable> randomTickables = new Short2ObjectOpenHashMap<>();
+    // Random tickables by state id
+    private static final IdDispatch<RandomTickable> randomTickables = new IdDispatch<>();
 
     private final VanillaReimplementation vri;
     private RandomTickManager(VanillaReimplementation vri) {
@@ -39,45 +47,86 @@ public class RandomTickManager {
             int randomTickCount = Integer.parseInt(System.getProperty(RANDOM_TICK_SYSTEM_PROPERTY, "3"));
             manager.handleInstanceTick(event, randomTickCount);
         });
+        context.vri().process().eventHandler().addListener(PlayerBlockPlaceEvent.class, event ->
+                blockChanged(event.getPlayer().getInstance(), event.getBlockPosition()));
+        context.vri().process().eventHandler().addListener(PlayerBlockBreakEvent.class, event ->
+                blockChanged(event.getPlayer().getInstance(), event.getBlockPosition()));
     }
 
     public static void registerRandomTickable(short stateId, RandomTickable randomTickable) {
-        synchronized (randomTickables) {
-            randomTickables.put(stateId, randomTickable);
-        }
+        randomTickables.register(stateId, randomTickable);
+    }
+
+    /**
+     * Notifies the manager that the block at this position may have changed, so that its section is counted again
+     * before the next random ticks. Player actions, block updates, scheduled ticks and fluids already report the blocks
+     * they change, and other changes are caught up with periodically.
+     */
+    public static void blockChanged(@NotNull Instance instance, @NotNull Point pos) {
+        Chunk chunk = instance.getChunkAt(pos);
+        if (chunk == null) return;
+        RandomTickSections.markDirty(chunk, pos.blockY());
     }
 
     private void handleInstanceTick(InstanceTickEvent event, int randomTickCount) {
         Instance instance = event.getInstance();
         Random instanceRandom = vri.random(instance);
-        synchronized (randomTickables) {
-            for (Chunk chunk : instance.getChunks()) {
-                int minSection = chunk.getMinSection();
-                int maxSection = chunk.getMaxSection();
-                for (int section = minSection; section < maxSection; section++) {
-                    for (int i = 0; i < randomTickCount; i++) {
-                        randomTickSection(instanceRandom, instance, chunk, section);
-                    }
+        IdTable<RandomTickable> registry = randomTickables.table();
+        if (registry.isEmpty()) return;
+
+        if (Boolean.getBoolean(PARALLEL_SYSTEM_PROPERTY)) {
+            ParallelRandomTicks.tick(instance, instanceRandom, registry, randomTickCount);
+            return;
+        }
+
+        long worldAge = instance.getWorldAge();
+        for (Chunk chunk : TickingChunks.of(instance).loadedChunks(TickingChunks.Level.ENTITY_TICKING)) {
+            RandomTickSections counts = RandomTickSections.of(chunk);
+            counts.refresh(chunk, registry, worldAge);
+
+            List<Section> sections = chunk.getSections();
+            for (int index = 0; index < counts.sections(); index++) {
+                if (counts.count(index) == 0) continue;
+                for (int i = 0; i < randomTickCount; i++) {
+                    randomTickSection(instanceRandom, instance, chunk, index, sections.get(index), registry, counts);
                 }
             }
         }
     }
 
-    private void randomTickSection(Random random, Instance instance, Chunk chunk, int minSection) {
-        int minX = chunk.getChunkX() * Chunk.CHUNK_SIZE_X;
-        int minZ = chunk.getChunkZ() * Chunk.CHUNK_SIZE_Z;
-        int minY = minSection * Chunk.CHUNK_SECTION_SIZE;
+    private void randomTickSection(Random random, Instance instance, Chunk chunk, int index, Section section,
+                                   IdTable<RandomTickable> registry, RandomTickSections counts) {
+        int x = random.nextInt(Chunk.CHUNK_SIZE_X);
+        int z = random.nextInt(Chunk.CHUNK_SIZE_Z);
+        int y = random.nextInt(Chunk.CHUNK_SECTION_SIZE);
 
-        int x = minX + random.nextInt(Chunk.CHUNK_SIZE_X);
-        int z = minZ + random.nextInt(Chunk.CHUNK_SIZE_Z);
-        int y = minY + random.nextInt(Chunk.CHUNK_SECTION_SIZE);
-        Point pos = new Vec(x, y, z);
-
-        Block block = instance.getBlock(x, y, z);
-        RandomTickable randomTickable = randomTickables.get((short) block.stateId());
+        Palette palette = section.blockPalette();
+        int stateId = palette.get(x, y, z);
+        RandomTickable randomTickable = registry.get(stateId);
         if (randomTickable == null) return;
-        randomTickable.randomTick(new RandomTick(instance, pos, block));
+
+        int blockX = chunk.getChunkX() * Chunk.CHUNK_SIZE_X + x;
+        int blockY = (chunk.getMinSection() + index) * Chunk.CHUNK_SECTION_SIZE + y;
+        int blockZ = chunk.getChunkZ() * Chunk.CHUNK_SIZE_Z + z;
+        Block block = chunk.getBlock(blockX, blockY, blockZ);
+        randomTickable.randomTick(new RandomTick(instance, new Vec(blockX, blockY, blockZ), block, random));
+
+        int newStateId = palette.get(x, y, z);
+        if (newStateId != stateId) counts.changed(index, stateId, newStateId);
     }
 
-    private record RandomTick(Instance instance, Point position, Block block) implements RandomTickable.RandomTick {}
+    record RandomTick(@NotNull Instance instance, @NotNull Point position, @NotNull Block block,
+                      @NotNull Random random) implements RandomTickable.RandomTick {
+        @Override
+        public @NotNull Block.Getter blocks() {
+            return (x, y, z, condition) -> instance.isChunkLoaded(x >> 4, z >> 4)
+                    ? instance.getBlock(x, y, z, condition)
+                    : Block.AIR;
+        }
+
+        @Override
+        public void setBlock(@NotNull Block block) {
+            instance.setBlock(position, block);
+        }
+    }
 }
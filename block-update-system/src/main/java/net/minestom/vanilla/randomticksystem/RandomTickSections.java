@@ -0,0 +1,116 @@
+package net.minestom.vanilla.randomticksystem;
+
+import net.minestom.server.instance.Chunk;
+import net.minestom.server.instance.Section;
+import net.minestom.server.instance.palette.Palette;
+import net.minestom.server.tag.Tag;
+import net.minestom.vanilla.utils.IdTable;
+import net.minestom.vanilla.utils.MinestomUtils;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * The number of random tickable blocks in each section of a chunk, like vanilla's {@code tickingBlockCount}, so that
+ * sections without any can be skipped.
+ * <p>
+ * The counts are taken from the section palettes when the chunk is first ticked, and kept up to date by random ticks
+ * that change their block. Other block changes mark their section dirty, and dirty sections are counted again on the
+ * next tick. As not every block change can be observed, every chunk is also counted again every
+ * {@value #RECOUNT_INTERVAL} ticks, and whenever the registered tickables change.
+ * </p>
+ */
+final class RandomTickSections {
+
+    private static final Tag<RandomTickSections> TAG = Tag.Transient("vri:random_tick_sections");
+    static final int RECOUNT_INTERVAL = 1200;
+    private static final int SECTION_BLOCKS = Chunk.CHUNK_SECTION_SIZE * Chunk.CHUNK_SECTION_SIZE * Chunk.CHUNK_SECTION_SIZE;
+
+    private final int[] counts;
+    private final AtomicIntegerArray dirty;
+    private volatile boolean anyDirty;
+    // read and written by one thread at a time: the tick thread, or during a parallel tick the region task of the
+    // chunk, which the tick thread joins before using them again
+    private IdTable<RandomTickable> registry;
+    private long nextRecount;
+
+    private RandomTickSections(int sections) {
+        this.counts = new int[sections];
+        this.dirty = new AtomicIntegerArray(sections);
+    }
+
+    static @NotNull RandomTickSections of(@NotNull Chunk chunk) {
+        RandomTickSections sections = chunk.getTag(TAG);
+        if (sections == null) {
+            sections = new RandomTickSections(chunk.getSections().size());
+            chunk.setTag(TAG, sections);
+        }
+        return sections;
+    }
+
+    /**
+     * Marks the section of the given block y to be counted again on the next tick.
+     */
+    static void markDirty(@NotNull Chunk chunk, int y) {
+        RandomTickSections sections = of(chunk);
+        int index = (y >> 4) - chunk.getMinSection();
+        if (index < 0 || index >= sections.counts.length) return;
+        sections.dirty.set(index, 1);
+        sections.anyDirty = true;
+    }
+
+    /**
+     * Counts again the sections that may be out of date.
+     */
+    void refresh(@NotNull Chunk chunk, @NotNull IdTable<RandomTickable> registry, long worldAge) {
+        List<Section> sections = chunk.getSections();
+        if (this.registry != registry || worldAge >= nextRecount) {
+            // spread the periodic counts of the chunks that were first seen together over the interval
+            int interval = this.registry == null
+                    ? 1 + Math.floorMod(chunk.getChunkX() * 31 + chunk.getChunkZ(), RECOUNT_INTERVAL)
+                    : RECOUNT_INTERVAL;
+            this.registry = registry;
+            this.nextRecount = worldAge + interval;
+            this.anyDirty = false;
+            for (int index = 0; index < counts.length; index++) {
+                dirty.set(index, 0);
+                counts[index] = count(sections.get(index).blockPalette(), registry);
+            }
+        } else if (anyDirty) {
+            anyDirty = false;
+            for (int index = 0; index < counts.length; index++) {
+                if (dirty.getAndSet(index, 0) != 0) counts[index] = count(sections.get(index).blockPalette(), registry);
+            }
+        }
+    }
+
+    int count(int index) {
+        return counts[index];
+    }
+
+    int sections() {
+        return counts.length;
+    }
+
+    /**
+     * Updates the count of a section whose block changed from one state to another.
+     */
+    void changed(int index, int oldStateId, int newStateId) {
+        if (registry.get(oldStateId) != null) counts[index] = Math.max(counts[index] - 1, 0);
+        if (registry.get(newStateId) != null) counts[index]++;
+    }
+
+    // sections are first tested from their palette values, then counted in one pass rather than one per registered id
+    private static int count(@NotNull Palette palette, @NotNull IdTable<RandomTickable> registry) {
+        int single = palette.singleValue();
+        if (single >= 0) return registry.get(single) != null ? SECTION_BLOCKS : 0;
+        if (!MinestomUtils.mayContainAny(palette, registry)) return 0;
+
+        int[] count = {0};
+        palette.getAll((x, y, z, stateId) -> {
+            if (registry.get(stateId) != null) count[0]++;
+        });
+        return count[0];
+    }
+}
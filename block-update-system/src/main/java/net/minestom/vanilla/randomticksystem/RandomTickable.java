@@ -5,13 +5,42 @@ import net.minestom.server.instance.Instance;
 import net.minestom.server.instance.block.Block;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Random;
+
 public interface RandomTickable {
 
     void randomTick(@NotNull RandomTick randomTick);
 
+    /**
+     * Whether {@link #randomTick(RandomTick)} only reads and writes blocks through {@link RandomTick#blocks()} and
+     * {@link RandomTick#setBlock(Block)}, and only uses {@link RandomTick#random()}, so that it can run off the tick
+     * thread when random ticks are parallel. Other random tickables run on the tick thread once the parallel ones are
+     * done.
+     */
+    default boolean isThreadSafe() {
+        return false;
+    }
+
     interface RandomTick {
         @NotNull Instance instance();
         @NotNull Point position();
         @NotNull Block block();
+
+        /**
+         * @return the random source of this tick
+         */
+        @NotNull Random random();
+
+        /**
+         * Reads the blocks around this tick, with blocks in unloaded chunks read as air. When random ticks are
+         * parallel, the blocks are read as they were at the start of the tick, without their handler or data.
+         */
+        @NotNull Block.Getter blocks();
+
+        /**
+         * Replaces the ticked block. When random ticks are parallel, the block is only set once all of them are done,
+         * and only if it hasn't changed in the meantime.
+         */
+        void setBlock(@NotNull Block block);
     }
 }
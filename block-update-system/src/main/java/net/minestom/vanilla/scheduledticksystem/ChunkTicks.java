@@ -0,0 +1,92 @@
+package net.minestom.vanilla.scheduledticksystem;
+
+import net.minestom.server.instance.block.Block;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * The pending scheduled ticks of one chunk, ordered by the game tick they are due on, then by priority, then by the
+ * order they were scheduled in.
+ * <p>
+ * A position has at most one pending tick per block type: scheduling it again while the first one is pending does
+ * nothing, like in vanilla. A tick stops being pending when it is polled, so it can schedule itself again.
+ * </p>
+ */
+final class ChunkTicks {
+
+    /**
+     * @param position the {@link net.minestom.vanilla.blockupdatesystem.BlockPositions packed} position
+     * @param block the block type the tick is for
+     * @param tick the game tick it is due on
+     * @param priority lower runs first, from -3 to 3 in vanilla
+     * @param subOrder the order it was scheduled in
+     */
+    record Entry(long position, @NotNull Block block, long tick, int priority, long subOrder) {
+        static final Comparator<Entry> ORDER = Comparator.comparingLong(Entry::tick)
+                .thenComparingInt(Entry::priority)
+                .thenComparingLong(Entry::subOrder);
+
+        private @NotNull Pending pending() {
+            return new Pending(position, block.id());
+        }
+    }
+
+    private record Pending(long position, int blockId) {
+    }
+
+    final long chunkIndex;
+    private final PriorityQueue<Entry> queue = new PriorityQueue<>(Entry.ORDER);
+    private final Set<Pending> pending = new HashSet<>();
+
+    ChunkTicks(long chunkIndex) {
+        this.chunkIndex = chunkIndex;
+    }
+
+    /**
+     * @return false if a tick of the same block type is already pending at the position
+     */
+    boolean schedule(@NotNull Entry entry) {
+        if (!pending.add(entry.pending())) return false;
+        queue.add(entry);
+        return true;
+    }
+
+    boolean isScheduled(long position, @NotNull Block block) {
+        return pending.contains(new Pending(position, block.id()));
+    }
+
+    /**
+     * @return the first tick in order, or null if there is none
+     */
+    @Nullable Entry peek() {
+        return queue.peek();
+    }
+
+    @NotNull Entry poll() {
+        Entry entry = queue.remove();
+        pending.remove(entry.pending());
+        return entry;
+    }
+
+    boolean isEmpty() {
+        return queue.isEmpty();
+    }
+
+    int size() {
+        return queue.size();
+    }
+
+    /**
+     * @return the pending ticks, in no particular order
+     */
+    @NotNull List<Entry> entries() {
+        return new ArrayList<>(queue);
+    }
+}
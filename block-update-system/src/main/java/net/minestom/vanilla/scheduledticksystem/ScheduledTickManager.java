@@ -0,0 +1,416 @@
+package net.minestom.vanilla.scheduledticksystem;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minestom.server.coordinate.CoordConversion;
+import net.minestom.server.coordinate.Point;
+import net.minestom.server.coordinate.Vec;
+import net.minestom.server.event.Event;
+import net.minestom.server.event.EventNode;
+import net.minestom.server.event.instance.InstanceChunkLoadEvent;
+import net.minestom.server.event.instance.InstanceChunkUnloadEvent;
+import net.minestom.server.event.instance.InstanceTickEvent;
+import net.minestom.server.instance.Chunk;
+import net.minestom.server.instance.ChunkLoader;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.instance.InstanceContainer;
+import net.minestom.server.instance.block.Block;
+import net.minestom.server.tag.Tag;
+import net.minestom.server.tag.TagReadable;
+import net.minestom.server.tag.TagSerializer;
+import net.minestom.server.tag.TagWritable;
+import net.minestom.vanilla.VanillaReimplementation;
+import net.minestom.vanilla.blockupdatesystem.BlockPositions;
+import net.minestom.vanilla.instance.TickingChunks;
+import net.minestom.vanilla.randomticksystem.RandomTickManager;
+import net.minestom.vanilla.utils.IdDispatch;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.WeakHashMap;
+
+/**
+ * Runs block ticks scheduled for a later game tick, like vanilla's scheduled ticks.
+ * <p>
+ * Block ticks and fluid ticks are kept in separate managers, like vanilla's {@code block_ticks} and
+ * {@code fluid_ticks}, see {@link Kind}. Each game tick runs the block ticks first, then the fluid ticks.
+ * </p>
+ * <p>
+ * Ticks are queued per chunk and run in order of due tick, priority and scheduling order. At most
+ * {@value #DEFAULT_MAX_TICKS} ticks run per game tick, or the value of the {@value #MAX_TICKS_PROPERTY} property, and
+ * the rest are carried over to the next game tick, before the ticks that are due then. Only the ticks of chunks that
+ * are at least {@link TickingChunks.Level#BLOCK_TICKING block ticking} run, and the others wait.
+ * </p>
+ * <p>
+ * The pending ticks of a chunk are stored in its data with their remaining delay right before the instance's chunk
+ * loader saves it, and when it unloads, and they are queued again when it loads. They are never stored while ticking,
+ * so chunks that are not saved cost nothing.
+ * </p>
+ */
+public class ScheduledTickManager {
+
+    private static final @NotNull String MAX_TICKS_PROPERTY = "vri.scheduledticks.max";
+    private static final int DEFAULT_MAX_TICKS = 65536;
+
+    /**
+     * The kinds of scheduled ticks, each queued and saved separately.
+     */
+    public enum Kind {
+        /**
+         * Ticks of a block type, which only run if the block at their position is still of that type.
+         */
+        BLOCK("vri:block_ticks"),
+        /**
+         * Ticks of a fluid, which run whatever the block at their position has become since, so that the fluid can
+         * update it. A position has at most one pending tick per fluid.
+         */
+        FLUID("vri:fluid_ticks");
+
+        private final Tag<List<SavedTick>> tag;
+        private final Map<Instance, ScheduledTickManager> instance2manager = Collections.synchronizedMap(new WeakHashMap<>());
+        // Scheduled tickables by block id, or by the block id of the fluid
+        private final IdDispatch<ScheduledTickable> tickables = new IdDispatch<>();
+
+        Kind(@NotNull String tag) {
+            this.tag = Tag.Structure(tag, SavedTick.SERIALIZER).list();
+        }
+    }
+
+    public static void init(@NotNull VanillaReimplementation.Feature.HookContext context) {
+        EventNode<Event> eventNode = context.vri().process().eventHandler();
+
+        eventNode.addListener(InstanceTickEvent.class, event -> {
+            int maxTicks = Integer.getInteger(MAX_TICKS_PROPERTY, DEFAULT_MAX_TICKS);
+            for (Kind kind : Kind.values()) {
+                from(event.getInstance(), kind).tick(event.getInstance().getWorldAge(), maxTicks);
+            }
+        });
+        eventNode.addListener(InstanceChunkLoadEvent.class, event -> {
+            for (Kind kind : Kind.values()) from(event.getInstance(), kind).load(event.getChunk());
+        });
+        eventNode.addListener(InstanceChunkUnloadEvent.class, event -> {
+            for (Kind kind : Kind.values()) from(event.getInstance(), kind).unload(event.getChunk());
+        });
+    }
+
+    /**
+     * Registers the tickable of the given block type, for all its states. Blocks whose handler is
+     * {@link ScheduledTickable} are ticked through it instead.
+     */
+    public static void registerTickable(@NotNull Block block, @NotNull ScheduledTickable tickable) {
+        Kind.BLOCK.tickables.register(block.id(), tickable);
+    }
+
+    /**
+     * Registers the tickable of the given fluid, identified by its block, which runs the fluid ticks scheduled through
+     * {@link #fluids(Instance)}.
+     */
+    public static void registerFluidTickable(@NotNull Block fluid, @NotNull ScheduledTickable tickable) {
+        Kind.FLUID.tickables.register(fluid.id(), tickable);
+    }
+
+    /**
+     * @return the manager of the block ticks of the instance
+     */
+    public static @NotNull ScheduledTickManager from(@NotNull Instance instance) {
+        return from(instance, Kind.BLOCK);
+    }
+
+    /**
+     * @return the manager of the fluid ticks of the instance, whose ticks are scheduled for the block of their fluid
+     */
+    public static @NotNull ScheduledTickManager fluids(@NotNull Instance instance) {
+        return from(instance, Kind.FLUID);
+    }
+
+    private static @NotNull ScheduledTickManager from(@NotNull Instance instance, @NotNull Kind kind) {
+        return kind.instance2manager.computeIfAbsent(instance, key -> new ScheduledTickManager(key, kind));
+    }
+
+    private final Instance instance;
+    private final Kind kind;
+    private final Long2ObjectMap<ChunkTicks> chunk2ticks = new Long2ObjectOpenHashMap<>();
+    private long subOrder;
+
+    private ScheduledTickManager(@NotNull Instance instance, @NotNull Kind kind) {
+        this.instance = instance;
+        this.kind = kind;
+        hookChunkLoader();
+    }
+
+    /**
+     * Wraps the chunk loader of the instance, unless this manager already wraps it, so that pending ticks are stored
+     * right before a chunk is saved. Checked again when chunks load, in case the loader was replaced since.
+     */
+    private void hookChunkLoader() {
+        if (!(instance instanceof InstanceContainer container)) return;
+        ChunkLoader loader = container.getChunkLoader();
+        // the manager of each kind wraps the loader once
+        for (ChunkLoader wrapped = loader; wrapped instanceof TickSavingLoader saving; wrapped = saving.loader()) {
+            if (saving.manager() == this) return;
+        }
+        container.setChunkLoader(new TickSavingLoader(loader, this));
+    }
+
+    // Public api methods
+
+    /**
+     * Schedules a tick of the block type at this position, with normal priority.
+     * @see #schedule(Point, Block, int, int)
+     */
+    public boolean schedule(@NotNull Point pos, @NotNull Block block, int delay) {
+        return schedule(pos, block, delay, 0);
+    }
+
+    /**
+     * Schedules a tick of the block type at this position, in the given number of game ticks.
+     * @param priority lower runs first among the ticks due on the same game tick, from -3 to 3 in vanilla
+     * @return false if a tick of the block type was already pending at this position, or its chunk isn't loaded
+     */
+    public boolean schedule(@NotNull Point pos, @NotNull Block block, int delay, int priority) {
+        return schedule(BlockPositions.pack(pos), block, instance.getWorldAge() + Math.max(delay, 0), priority);
+    }
+
+    /**
+     * @return true if a tick of the block type is pending at this position
+     */
+    public synchronized boolean isScheduled(@NotNull Point pos, @NotNull Block block) {
+        ChunkTicks ticks = chunk2ticks.get(CoordConversion.chunkIndex(pos.blockX() >> 4, pos.blockZ() >> 4));
+        return ticks != null && ticks.isScheduled(BlockPositions.pack(pos), block);
+    }
+
+    /**
+     * @return the number of pending ticks in the loaded chunks
+     */
+    public synchronized int pendingTicks() {
+        int pending = 0;
+        for (ChunkTicks ticks : chunk2ticks.values()) pending += ticks.size();
+        return pending;
+    }
+
+    // Public api methods end
+
+    private synchronized boolean schedule(long position, @NotNull Block block, long tick, int priority) {
+        int chunkX = BlockPositions.x(position) >> 4;
+        int chunkZ = BlockPositions.z(position) >> 4;
+        if (instance.getChunk(chunkX, chunkZ) == null) return false;
+
+        long chunkIndex = CoordConversion.chunkIndex(chunkX, chunkZ);
+        ChunkTicks ticks = chunk2ticks.computeIfAbsent(chunkIndex, ChunkTicks::new);
+        return ticks.schedule(new ChunkTicks.Entry(position, block, tick, priority, subOrder++));
+    }
+
+    /**
+     * Runs the ticks due on or before the given game tick, up to the given number.
+     * <p>
+     * The ticks are taken off their queues before any of them runs, so ticks scheduled while running, even with no
+     * delay, run on a later call.
+     * </p>
+     * @return the number of ticks taken off the queues
+     */
+    int tick(long gameTime, int maxTicks) {
+        List<ChunkTicks.Entry> due = new ArrayList<>();
+        synchronized (this) {
+            TickingChunks tickingChunks = TickingChunks.of(instance);
+            PriorityQueue<ChunkTicks> ready = new PriorityQueue<>(
+                    (first, second) -> ChunkTicks.Entry.ORDER.compare(first.peek(), second.peek()));
+            for (ChunkTicks ticks : chunk2ticks.values()) {
+                // the ticks of chunks that don't tick wait until they do
+                if (isDue(ticks, gameTime) && tickingChunks.level(ticks.chunkIndex).isAtLeast(TickingChunks.Level.BLOCK_TICKING)) {
+                    ready.add(ticks);
+                }
+            }
+
+            while (due.size() < maxTicks && !ready.isEmpty()) {
+                ChunkTicks ticks = ready.remove();
+                due.add(ticks.poll());
+                if (isDue(ticks, gameTime)) {
+                    ready.add(ticks);
+                } else if (ticks.isEmpty()) {
+                    chunk2ticks.remove(ticks.chunkIndex);
+                }
+            }
+        }
+
+        for (ChunkTicks.Entry entry : due) {
+            run(entry);
+        }
+        return due.size();
+    }
+
+    private static boolean isDue(@NotNull ChunkTicks ticks, long gameTime) {
+        ChunkTicks.Entry first = ticks.peek();
+        return first != null && first.tick() <= gameTime;
+    }
+
+    private void run(@NotNull ChunkTicks.Entry entry) {
+        int x = BlockPositions.x(entry.position());
+        int y = BlockPositions.y(entry.position());
+        int z = BlockPositions.z(entry.position());
+        Chunk chunk = instance.getChunk(x >> 4, z >> 4);
+        if (chunk == null) return;
+
+        Block block = chunk.getBlock(x, y, z);
+        ScheduledTickable tickable;
+        if (kind == Kind.BLOCK) {
+            if (block.id() != entry.block().id()) return;
+            tickable = block.handler() instanceof ScheduledTickable handler ? handler : kind.tickables.get(block.id());
+        } else {
+            tickable = kind.tickables.get(entry.block().id());
+        }
+        if (tickable == null) return;
+        Vec pos = new Vec(x, y, z);
+        tickable.scheduledTick(new ScheduledTick(instance, pos, block));
+        if (chunk.getBlock(x, y, z).stateId() != block.stateId()) RandomTickManager.blockChanged(instance, pos);
+    }
+
+    /**
+     * Queues the ticks stored in the data of a chunk that was loaded. They stay stored until the chunk is saved or
+     * unloaded.
+     */
+    synchronized void load(@NotNull Chunk chunk) {
+        hookChunkLoader();
+        List<SavedTick> saved = chunk.getTag(kind.tag);
+        if (saved == null) return;
+
+        long worldAge = instance.getWorldAge();
+        for (SavedTick tick : saved) {
+            Block block = tick == null ? null : Block.fromKey(tick.block());
+            if (block == null) continue;
+            schedule(BlockPositions.pack(tick.x(), tick.y(), tick.z()), block, worldAge + tick.delay(), tick.priority());
+        }
+    }
+
+    /**
+     * Stores the pending ticks of a chunk that is unloading in its data, and forgets them.
+     */
+    synchronized void unload(@NotNull Chunk chunk) {
+        long chunkIndex = CoordConversion.chunkIndex(chunk.getChunkX(), chunk.getChunkZ());
+        store(chunk, chunk2ticks.remove(chunkIndex), instance.getWorldAge());
+    }
+
+    /**
+     * Stores the pending ticks of a chunk that is about to be saved in its data, and keeps them queued.
+     */
+    synchronized void save(@NotNull Chunk chunk) {
+        long chunkIndex = CoordConversion.chunkIndex(chunk.getChunkX(), chunk.getChunkZ());
+        store(chunk, chunk2ticks.get(chunkIndex), instance.getWorldAge());
+    }
+
+    /**
+     * Stores the pending ticks of a chunk in its data, with the delay they have left at the given game tick.
+     */
+    private void store(@NotNull Chunk chunk, @Nullable ChunkTicks ticks, long gameTime) {
+        if (ticks == null || ticks.isEmpty()) {
+            chunk.removeTag(kind.tag);
+            return;
+        }
+
+        List<ChunkTicks.Entry> entries = ticks.entries();
+        // keep the scheduling order of ticks due on the same game tick with the same priority
+        entries.sort(ChunkTicks.Entry.ORDER);
+
+        List<SavedTick> saved = new ArrayList<>(entries.size());
+        for (ChunkTicks.Entry entry : entries) {
+            long position = entry.position();
+            int delay = (int) Math.max(entry.tick() - gameTime, 0);
+            saved.add(new SavedTick(entry.block().key().asString(), BlockPositions.x(position), BlockPositions.y(position),
+                    BlockPositions.z(position), delay, entry.priority()));
+        }
+        chunk.setTag(kind.tag, saved);
+    }
+
+    private record ScheduledTick(Instance instance, Point position, Block block) implements ScheduledTickable.ScheduledTick {
+    }
+
+    /**
+     * Saves the pending ticks of each chunk into its data before the wrapped loader saves it.
+     */
+    private record TickSavingLoader(@NotNull ChunkLoader loader, @NotNull ScheduledTickManager manager) implements ChunkLoader {
+        @Override
+        public void loadInstance(@NotNull Instance instance) {
+            loader.loadInstance(instance);
+        }
+
+        @Override
+        public @Nullable Chunk loadChunk(@NotNull Instance instance, int chunkX, int chunkZ) {
+            return loader.loadChunk(instance, chunkX, chunkZ);
+        }
+
+        @Override
+        public void saveInstance(@NotNull Instance instance) {
+            loader.saveInstance(instance);
+        }
+
+        @Override
+        public void saveChunk(@NotNull Chunk chunk) {
+            manager.save(chunk);
+            loader.saveChunk(chunk);
+        }
+
+        @Override
+        public void saveChunks(@NotNull Collection<Chunk> chunks) {
+            for (Chunk chunk : chunks) manager.save(chunk);
+            loader.saveChunks(chunks);
+        }
+
+        @Override
+        public boolean supportsParallelSaving() {
+            return loader.supportsParallelSaving();
+        }
+
+        @Override
+        public boolean supportsParallelLoading() {
+            return loader.supportsParallelLoading();
+        }
+
+        @Override
+        public void unloadChunk(@NotNull Chunk chunk) {
+            loader.unloadChunk(chunk);
+        }
+    }
+
+    /**
+     * A pending tick as stored in chunk data, with the delay it had left, like vanilla's {@code block_ticks} and
+     * {@code fluid_ticks}.
+     */
+    private record SavedTick(@NotNull String block, int x, int y, int z, int delay, int priority) {
+        static final Tag<String> BLOCK_TAG = Tag.String("i");
+        static final Tag<Integer> X_TAG = Tag.Integer("x");
+        static final Tag<Integer> Y_TAG = Tag.Integer("y");
+        static final Tag<Integer> Z_TAG = Tag.Integer("z");
+        static final Tag<Integer> DELAY_TAG = Tag.Integer("t");
+        static final Tag<Integer> PRIORITY_TAG = Tag.Integer("p").defaultValue(0);
+
+        static final TagSerializer<SavedTick> SERIALIZER = new TagSerializer<>() {
+            @Override
+            public @Nullable SavedTick read(@NotNull TagReadable reader) {
+                String block = reader.getTag(BLOCK_TAG);
+                Integer x = reader.getTag(X_TAG);
+                Integer y = reader.getTag(Y_TAG);
+                Integer z = reader.getTag(Z_TAG);
+                Integer delay = reader.getTag(DELAY_TAG);
+                if (block == null || x == null || y == null || z == null || delay == null) {
+                    return null;
+                }
+                return new SavedTick(block, x, y, z, delay, reader.getTag(PRIORITY_TAG));
+            }
+
+            @Override
+            public void write(@NotNull TagWritable writer, @NotNull SavedTick value) {
+                writer.setTag(BLOCK_TAG, value.block());
+                writer.setTag(X_TAG, value.x());
+                writer.setTag(Y_TAG, value.y());
+                writer.setTag(Z_TAG, value.z());
+                writer.setTag(DELAY_TAG, value.delay());
+                writer.setTag(PRIORITY_TAG, value.priority());
+            }
+        };
+    }
+}
@@ -0,0 +1,22 @@
+package net.minestom.vanilla.scheduledticksystem;
+
+import net.minestom.server.coordinate.Point;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.instance.block.Block;
+import org.jetbrains.annotations.NotNull;
+
+public interface ScheduledTickable {
+
+    /**
+     * Called when a tick scheduled through {@link ScheduledTickManager#schedule} is due. Block ticks only run if the
+     * block at their position is still of the type they were scheduled for, and fluid ticks always run, with the
+     * block that is there now.
+     */
+    void scheduledTick(@NotNull ScheduledTick scheduledTick);
+
+    interface ScheduledTick {
+        @NotNull Instance instance();
+        @NotNull Point position();
+        @NotNull Block block();
+    }
+}
@@ -0,0 +1,73 @@
+package net.minestom.vanilla.blockupdatesystem;
+
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.coordinate.Point;
+import net.minestom.server.coordinate.Vec;
+import net.minestom.server.instance.Chunk;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.instance.block.Block;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BlockUpdateManagerTests {
+
+    private static final List<Point> updated = new ArrayList<>();
+
+    @BeforeAll
+    public static void init() {
+        MinecraftServer.init();
+        BlockUpdateManager.registerUpdatable((short) Block.SPONGE.stateId(), (instance, pos, info) -> {
+            assertEquals(BlockUpdateInfo.CHUNK_LOAD(), info);
+            updated.add(pos);
+        });
+    }
+
+    @Test
+    public void testChunkScan() {
+        Instance instance = MinecraftServer.getInstanceManager().createInstanceContainer();
+        Chunk chunk = instance.loadChunk(1, -1).join();
+
+        Set<Vec> sponges = Set.of(new Vec(16, -64, -16), new Vec(20, 0, -3), new Vec(31, 100, -9), new Vec(17, 319, -1));
+        for (Vec sponge : sponges) chunk.setBlock(sponge, Block.SPONGE);
+        chunk.setBlock(24, 64, -8, Block.WET_SPONGE);
+
+        updated.clear();
+        assertEquals(sponges.size(), BlockUpdateManager.updateChunk(instance, chunk, BlockUpdateInfo.CHUNK_LOAD()));
+        assertEquals(sponges, Set.copyOf(updated));
+
+        // chunks without any registered block update nothing
+        updated.clear();
+        Chunk empty = instance.loadChunk(5, 5).join();
+        assertEquals(0, BlockUpdateManager.updateChunk(instance, empty, BlockUpdateInfo.CHUNK_LOAD()));
+        assertTrue(updated.isEmpty());
+    }
+
+    @Test
+    public void testDirectPaletteScan() {
+        Instance instance = MinecraftServer.getInstanceManager().createInstanceContainer();
+        Chunk chunk = instance.loadChunk(2, 2).join();
+
+        // more distinct states than an indirect palette holds, so the section can't be skipped from its values
+        int stateId = 1;
+        for (int x = 0; x < 16; x++) {
+            for (int z = 0; z < 16; z++) {
+                for (int y = 0; y < 2; y++) {
+                    Block block = Block.fromStateId(stateId++);
+                    if (block == null || block.compare(Block.SPONGE)) continue;
+                    chunk.setBlock(32 + x, y, 32 + z, block);
+                }
+            }
+        }
+        chunk.setBlock(40, 3, 40, Block.SPONGE);
+
+        updated.clear();
+        assertEquals(1, BlockUpdateManager.updateChunk(instance, chunk, BlockUpdateInfo.CHUNK_LOAD()));
+        assertEquals(List.of(new Vec(40, 3, 40)), updated);
+    }
+}
@@ -0,0 +1,74 @@
+package net.minestom.vanilla.blockupdatesystem;
+
+import net.minestom.server.coordinate.Vec;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NeighborUpdateQueueTests {
+
+    @Test
+    public void testPackedPositions() {
+        int[] coordinates = {0, 1, -1, 15, -16, 2031, -2032, 29_999_999, -30_000_000};
+        for (int x : coordinates) {
+            for (int z : coordinates) {
+                for (int y : new int[]{0, 1, -1, 319, -64, 2031, -2032}) {
+                    long packed = BlockPositions.pack(x, y, z);
+                    assertEquals(x, BlockPositions.x(packed));
+                    assertEquals(y, BlockPositions.y(packed));
+                    assertEquals(z, BlockPositions.z(packed));
+                }
+            }
+        }
+        assertEquals(new Vec(3, -5, -7), BlockPositions.unpack(BlockPositions.pack(new Vec(3.5, -4.5, -6.1))));
+    }
+
+    @Test
+    public void testDeduplicatesInOrder() {
+        NeighborUpdateQueue queue = new NeighborUpdateQueue();
+        queue.schedule(BlockPositions.pack(0, 0, 0), BlockUpdateInfo.PLACE_BLOCK());
+        queue.schedule(BlockPositions.pack(10, 0, 0), BlockUpdateInfo.PLACE_BLOCK());
+        queue.schedule(BlockPositions.pack(0, 0, 0), BlockUpdateInfo.DESTROY_BLOCK());
+        assertEquals(2, queue.size());
+
+        List<Vec> neighbors = new ArrayList<>();
+        List<BlockUpdateInfo> infos = new ArrayList<>();
+        assertEquals(2, queue.drain((x, y, z, info) -> {
+            neighbors.add(new Vec(x, y, z));
+            infos.add(info);
+        }));
+
+        assertEquals(52, neighbors.size());
+        assertEquals(26, new HashSet<>(neighbors.subList(0, 26)).size());
+        assertFalse(neighbors.contains(Vec.ZERO));
+        assertTrue(neighbors.subList(0, 26).stream().allMatch(pos -> Math.abs(pos.x()) <= 1));
+        assertTrue(neighbors.subList(26, 52).stream().allMatch(pos -> Math.abs(pos.x() - 10) <= 1));
+        assertEquals(BlockUpdateInfo.DESTROY_BLOCK(), infos.getFirst());
+        assertEquals(BlockUpdateInfo.PLACE_BLOCK(), infos.getLast());
+
+        assertEquals(0, queue.size());
+        assertEquals(0, queue.drain((x, y, z, info) -> fail()));
+    }
+
+    @Test
+    public void testCascadesToNextDrain() {
+        NeighborUpdateQueue queue = new NeighborUpdateQueue();
+        queue.schedule(BlockPositions.pack(0, 64, 0), BlockUpdateInfo.PLACE_BLOCK());
+
+        // each update schedules its own neighbors, like a spreading redstone signal
+        Set<Long> seen = new HashSet<>();
+        int drained = 0;
+        for (int tick = 0; tick < 20; tick++) {
+            drained += queue.drain((x, y, z, info) -> {
+                long position = BlockPositions.pack(x, y, z);
+                if (Math.abs(y - 64) <= 1 && seen.add(position)) queue.schedule(position, info);
+            });
+        }
+        assertTrue(drained > 10_000, "drained " + drained);
+    }
+}
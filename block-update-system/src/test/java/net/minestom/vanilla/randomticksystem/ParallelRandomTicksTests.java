@@ -0,0 +1,124 @@
+package net.minestom.vanilla.randomticksystem;
+
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.instance.Chunk;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.instance.block.Block;
+import net.minestom.vanilla.utils.IdTable;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ParallelRandomTicksTests {
+
+    private static final int[][] CHUNKS = {{0, 0}, {1, 0}, {8, 0}, {-9, 5}, {20, -20}};
+
+    private static final AtomicInteger staleReads = new AtomicInteger();
+    private static final List<Thread> unsafeThreads = new ArrayList<>();
+    private static IdTable<RandomTickable> registry;
+
+    @BeforeAll
+    public static void init() {
+        MinecraftServer.init();
+        RandomTickable wheat = new RandomTickable() {
+            @Override
+            public void randomTick(@NotNull RandomTick randomTick) {
+                // writes of this tick are only applied once all samples are done
+                if (!randomTick.blocks().getBlock(randomTick.position()).compare(Block.WHEAT)) staleReads.incrementAndGet();
+                if (randomTick.random().nextBoolean()) randomTick.setBlock(Block.STONE);
+            }
+
+            @Override
+            public boolean isThreadSafe() {
+                return true;
+            }
+        };
+        RandomTickable cactus = randomTick -> {
+            unsafeThreads.add(Thread.currentThread());
+            randomTick.instance().setBlock(randomTick.position(), Block.SAND);
+        };
+        registry = IdTable.<RandomTickable>empty()
+                .with(Block.WHEAT.stateId(), wheat)
+                .with(Block.CACTUS.stateId(), cactus);
+    }
+
+    private static Instance farm() {
+        Instance instance = MinecraftServer.getInstanceManager().createInstanceContainer();
+        for (int[] coordinates : CHUNKS) {
+            Chunk chunk = instance.loadChunk(coordinates[0], coordinates[1]).join();
+            int minX = coordinates[0] * 16, minZ = coordinates[1] * 16;
+            for (int x = minX; x < minX + 16; x++) {
+                for (int z = minZ; z < minZ + 16; z++) {
+                    chunk.setBlock(x, 64, z, Block.WHEAT);
+                    chunk.setBlock(x, 80, z, Block.CACTUS);
+                }
+            }
+        }
+        return instance;
+    }
+
+    private static List<Block> layout(Instance instance) {
+        List<Block> layout = new ArrayList<>();
+        for (int[] coordinates : CHUNKS) {
+            int minX = coordinates[0] * 16, minZ = coordinates[1] * 16;
+            for (int x = minX; x < minX + 16; x++) {
+                for (int z = minZ; z < minZ + 16; z++) {
+                    layout.add(instance.getBlock(x, 64, z));
+                    layout.add(instance.getBlock(x, 80, z));
+                }
+            }
+        }
+        return layout;
+    }
+
+    @Test
+    public void testDeterministicMerge() {
+        Instance first = farm();
+        Instance second = farm();
+        Random firstRandom = new Random(42);
+        Random secondRandom = new Random(42);
+
+        staleReads.set(0);
+        unsafeThreads.clear();
+        for (int tick = 0; tick < 20; tick++) {
+            ParallelRandomTicks.tick(first, firstRandom, registry, 64);
+            ParallelRandomTicks.tick(second, secondRandom, registry, 64);
+            assertEquals(layout(first), layout(second), "tick " + tick);
+        }
+
+        assertEquals(0, staleReads.get());
+        assertFalse(unsafeThreads.isEmpty());
+        assertTrue(unsafeThreads.stream().allMatch(thread -> thread == Thread.currentThread()));
+        assertTrue(layout(first).contains(Block.STONE), "some wheat turned to stone");
+        assertTrue(layout(first).contains(Block.WHEAT), "some wheat was left");
+        assertTrue(layout(first).contains(Block.SAND), "some cactus turned to sand");
+    }
+
+    @Test
+    public void testCountsFollowWrites() {
+        Instance instance = farm();
+        Random random = new Random(7);
+        for (int tick = 0; tick < 50; tick++) ParallelRandomTicks.tick(instance, random, registry, 64);
+
+        for (int[] coordinates : CHUNKS) {
+            Chunk chunk = instance.getChunk(coordinates[0], coordinates[1]);
+            assertNotNull(chunk);
+            int expected = 0;
+            int minX = coordinates[0] * 16, minZ = coordinates[1] * 16;
+            for (int x = minX; x < minX + 16; x++) {
+                for (int z = minZ; z < minZ + 16; z++) {
+                    if (chunk.getBlock(x, 64, z).compare(Block.WHEAT)) expected++;
+                }
+            }
+            RandomTickSections counts = RandomTickSections.of(chunk);
+            assertEquals(expected, counts.count((64 >> 4) - chunk.getMinSection()));
+        }
+    }
+}
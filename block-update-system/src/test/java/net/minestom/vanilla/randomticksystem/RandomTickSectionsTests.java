@@ -0,0 +1,124 @@
+package net.minestom.vanilla.randomticksystem;
+
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.coordinate.Vec;
+import net.minestom.server.instance.Chunk;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.instance.block.Block;
+import net.minestom.vanilla.blockupdatesystem.BlockUpdateInfo;
+import net.minestom.vanilla.blockupdatesystem.BlockUpdateManager;
+import net.minestom.vanilla.utils.IdTable;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RandomTickSectionsTests {
+
+    private static IdTable<RandomTickable> registry;
+
+    @BeforeAll
+    public static void init() {
+        MinecraftServer.init();
+        registry = IdTable.<RandomTickable>empty()
+                .with(Block.WHEAT.stateId(), randomTick -> {})
+                .with(Block.CACTUS.stateId(), randomTick -> {});
+    }
+
+    private static int index(Chunk chunk, int y) {
+        return (y >> 4) - chunk.getMinSection();
+    }
+
+    @Test
+    public void testCounts() {
+        Instance instance = MinecraftServer.getInstanceManager().createInstanceContainer();
+        Chunk chunk = instance.loadChunk(0, 0).join();
+        chunk.setBlock(1, 64, 1, Block.WHEAT);
+        chunk.setBlock(2, 70, 1, Block.WHEAT);
+        chunk.setBlock(3, 65, 1, Block.CACTUS);
+        chunk.setBlock(3, 100, 1, Block.STONE);
+        chunk.setBlock(3, -60, 1, Block.CACTUS);
+
+        RandomTickSections counts = RandomTickSections.of(chunk);
+        assertSame(counts, RandomTickSections.of(chunk));
+        counts.refresh(chunk, registry, 0);
+
+        int total = 0;
+        for (int index = 0; index < counts.sections(); index++) total += counts.count(index);
+        assertEquals(4, total);
+        assertEquals(3, counts.count(index(chunk, 64)));
+        assertEquals(1, counts.count(index(chunk, -60)));
+        assertEquals(0, counts.count(index(chunk, 100)));
+    }
+
+    @Test
+    public void testPaletteValues() {
+        Instance instance = MinecraftServer.getInstanceManager().createInstanceContainer();
+        Chunk chunk = instance.loadChunk(2, 0).join();
+        for (int x = 0; x < 16; x++) {
+            for (int y = 192; y < 208; y++) {
+                for (int z = 0; z < 16; z++) {
+                    chunk.setBlock(32 + x, y, z, Block.WHEAT);
+                    chunk.setBlock(32 + x, y + 16, z, Block.STONE);
+                }
+            }
+        }
+        chunk.setBlock(33, 210, 1, Block.CACTUS);
+
+        RandomTickSections counts = RandomTickSections.of(chunk);
+        counts.refresh(chunk, registry, 0);
+        assertEquals(16 * 16 * 16, counts.count(index(chunk, 192)));
+        assertEquals(1, counts.count(index(chunk, 210)));
+        // only air or stone, skipped from the palette values
+        assertEquals(0, counts.count(index(chunk, 0)));
+    }
+
+    @Test
+    public void testUpdates() {
+        Instance instance = MinecraftServer.getInstanceManager().createInstanceContainer();
+        Chunk chunk = instance.loadChunk(1, 0).join();
+        chunk.setBlock(17, 64, 1, Block.WHEAT);
+        RandomTickSections counts = RandomTickSections.of(chunk);
+        counts.refresh(chunk, registry, 0);
+        int section = index(chunk, 64);
+        assertEquals(1, counts.count(section));
+
+        // a random tick that changes its block
+        counts.changed(section, Block.WHEAT.stateId(), Block.STONE.stateId());
+        assertEquals(0, counts.count(section));
+
+        // a change that isn't tracked is only seen once its section is marked dirty
+        instance.setBlock(new Vec(21, 66, 5), Block.CACTUS);
+        instance.setBlock(new Vec(22, 66, 5), Block.CACTUS);
+        counts.refresh(chunk, registry, 1);
+        assertEquals(0, counts.count(section));
+        RandomTickManager.blockChanged(instance, new Vec(21, 66, 5));
+        counts.refresh(chunk, registry, 2);
+        assertEquals(3, counts.count(section));
+
+        // and otherwise caught up with periodically
+        chunk.setBlock(17, 200, 1, Block.WHEAT);
+        counts.refresh(chunk, registry, 3);
+        assertEquals(0, counts.count(index(chunk, 200)));
+        counts.refresh(chunk, registry, 3 + RandomTickSections.RECOUNT_INTERVAL);
+        assertEquals(1, counts.count(index(chunk, 200)));
+    }
+
+    @Test
+    public void testBlockUpdatesMarkDirty() {
+        BlockUpdateManager.registerUpdatable((short) Block.REINFORCED_DEEPSLATE.stateId(),
+                (instance, pos, info) -> instance.setBlock(pos, Block.WHEAT));
+
+        Instance instance = MinecraftServer.getInstanceManager().createInstanceContainer();
+        Chunk chunk = instance.loadChunk(3, 0).join();
+        chunk.setBlock(49, 64, 1, Block.REINFORCED_DEEPSLATE);
+        RandomTickSections counts = RandomTickSections.of(chunk);
+        counts.refresh(chunk, registry, 0);
+        assertEquals(0, counts.count(index(chunk, 64)));
+
+        // the update changes its block, which is reported without waiting for the periodic count
+        assertEquals(1, BlockUpdateManager.updateChunk(instance, chunk, BlockUpdateInfo.CHUNK_LOAD()));
+        counts.refresh(chunk, registry, 1);
+        assertEquals(1, counts.count(index(chunk, 64)));
+    }
+}
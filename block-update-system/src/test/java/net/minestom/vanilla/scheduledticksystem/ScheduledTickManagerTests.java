@@ -0,0 +1,203 @@
+package net.minestom.vanilla.scheduledticksystem;
+
+import net.kyori.adventure.nbt.CompoundBinaryTag;
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.coordinate.Point;
+import net.minestom.server.coordinate.Vec;
+import net.minestom.server.instance.Chunk;
+import net.minestom.server.instance.ChunkLoader;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.instance.InstanceContainer;
+import net.minestom.server.instance.block.Block;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ScheduledTickManagerTests {
+
+    private static final Block BLOCK = Block.DRIED_KELP_BLOCK;
+    private static final Block FLUID = Block.WATER;
+    private static final List<Point> ticked = new ArrayList<>();
+    private static final List<Block> fluidTicked = new ArrayList<>();
+
+    private InstanceContainer instance;
+    private Chunk chunk;
+    private ScheduledTickManager manager;
+    // the data of each chunk, as last saved by the chunk loader
+    private final Map<Chunk, CompoundBinaryTag> saved = new HashMap<>();
+
+    @BeforeAll
+    public static void init() {
+        MinecraftServer.init();
+        ScheduledTickManager.registerTickable(BLOCK, tick -> ticked.add(tick.position()));
+        ScheduledTickManager.registerFluidTickable(FLUID, tick -> fluidTicked.add(tick.block()));
+    }
+
+    @BeforeEach
+    public void setUp() {
+        instance = MinecraftServer.getInstanceManager().createInstanceContainer();
+        instance.setChunkLoader(new ChunkLoader() {
+            @Override
+            public @Nullable Chunk loadChunk(@NotNull Instance instance, int chunkX, int chunkZ) {
+                return null;
+            }
+
+            @Override
+            public void saveChunk(@NotNull Chunk chunk) {
+                saved.put(chunk, chunk.tagHandler().asCompound());
+            }
+        });
+        chunk = instance.loadChunk(0, 0).join();
+        manager = ScheduledTickManager.from(instance);
+        ticked.clear();
+        fluidTicked.clear();
+    }
+
+    private Vec block(int x) {
+        Vec pos = new Vec(x, 64, 0);
+        instance.setBlock(pos, BLOCK);
+        return pos;
+    }
+
+    @Test
+    public void testOrder() {
+        Vec last = block(0), normal = block(1), high = block(2), normalLater = block(3);
+        assertTrue(manager.schedule(last, BLOCK, 2));
+        assertTrue(manager.schedule(normal, BLOCK, 1));
+        assertTrue(manager.schedule(high, BLOCK, 1, -1));
+        assertTrue(manager.schedule(normalLater, BLOCK, 1));
+
+        assertEquals(0, manager.tick(0, Integer.MAX_VALUE));
+        assertEquals(3, manager.tick(1, Integer.MAX_VALUE));
+        assertEquals(List.of(high, normal, normalLater), ticked);
+        assertEquals(1, manager.tick(2, Integer.MAX_VALUE));
+        assertEquals(last, ticked.getLast());
+        assertEquals(0, manager.pendingTicks());
+    }
+
+    @Test
+    public void testDeduplicates() {
+        Vec pos = block(0);
+        assertTrue(manager.schedule(pos, BLOCK, 1));
+        assertFalse(manager.schedule(pos, BLOCK, 5));
+        assertTrue(manager.isScheduled(pos, BLOCK));
+        assertTrue(manager.schedule(pos, Block.STONE, 1));
+
+        manager.tick(1, Integer.MAX_VALUE);
+        assertEquals(List.of(pos), ticked);
+        assertFalse(manager.isScheduled(pos, BLOCK));
+        assertTrue(manager.schedule(pos, BLOCK, 1));
+    }
+
+    @Test
+    public void testCarriesOver() {
+        for (int x = 0; x < 10; x++) manager.schedule(block(x), BLOCK, 0);
+        manager.schedule(block(10), BLOCK, 1);
+
+        assertEquals(4, manager.tick(0, 4));
+        // carried over ticks run before the ones due on the next tick
+        assertEquals(4, manager.tick(1, 4));
+        assertEquals(3, manager.tick(1, 4));
+        assertEquals(11, ticked.size());
+        assertEquals(new Vec(10, 64, 0), ticked.getLast());
+    }
+
+    @Test
+    public void testSkipsChangedBlocks() {
+        Vec pos = block(0);
+        manager.schedule(pos, BLOCK, 1);
+        instance.setBlock(pos, Block.STONE);
+        assertEquals(1, manager.tick(1, Integer.MAX_VALUE));
+        assertTrue(ticked.isEmpty());
+
+        assertFalse(manager.schedule(new Vec(1000, 64, 1000), BLOCK, 1), "chunk isn't loaded");
+    }
+
+    @Test
+    public void testSurvivesUnload() {
+        Vec first = block(0), second = block(1), third = block(2);
+        manager.schedule(third, BLOCK, 3);
+        manager.schedule(first, BLOCK, 2, -1);
+        manager.schedule(second, BLOCK, 2);
+
+        manager.unload(chunk);
+        assertEquals(0, manager.pendingTicks());
+        manager.load(chunk);
+        assertEquals(3, manager.pendingTicks());
+
+        manager.tick(3, Integer.MAX_VALUE);
+        assertEquals(List.of(first, second, third), ticked);
+    }
+
+    // saves the chunk through its loader before it unloads, and loads it again from the saved data
+    private void saveAndReload() {
+        instance.saveChunkToStorage(chunk).join();
+        manager.unload(chunk);
+        chunk.tagHandler().updateContent(saved.get(chunk));
+        manager.load(chunk);
+    }
+
+    @Test
+    public void testSavedWithChunk() {
+        Vec first = block(0), second = block(1);
+        manager.schedule(first, BLOCK, 5);
+        manager.schedule(second, BLOCK, 7);
+        assertEquals(0, manager.tick(0, Integer.MAX_VALUE));
+        // only stored when the chunk is saved
+        assertNull(chunk.tagHandler().asCompound().get("vri:block_ticks"));
+
+        saveAndReload();
+        assertEquals(2, manager.pendingTicks());
+
+        // ticks that ran are no longer saved
+        assertEquals(1, manager.tick(5, Integer.MAX_VALUE));
+        saveAndReload();
+        assertEquals(1, manager.pendingTicks());
+        assertTrue(manager.isScheduled(second, BLOCK));
+
+        manager.tick(7, Integer.MAX_VALUE);
+        assertEquals(List.of(first, second), ticked);
+        assertEquals(0, manager.tick(8, Integer.MAX_VALUE));
+        saveAndReload();
+        assertEquals(0, manager.pendingTicks());
+    }
+
+    @Test
+    public void testFluidTicks() {
+        ScheduledTickManager fluids = ScheduledTickManager.fluids(instance);
+        assertNotSame(manager, fluids);
+
+        Vec pos = new Vec(0, 64, 0);
+        instance.setBlock(pos, FLUID);
+        assertTrue(fluids.schedule(pos, FLUID, 1));
+        // one pending tick per fluid at a position, whatever its level
+        assertFalse(fluids.schedule(pos, FLUID.withProperty("level", "3"), 2));
+        // and apart from the block ticks
+        assertFalse(manager.isScheduled(pos, FLUID));
+
+        // the block is gone, and the fluid still gets its tick to update it
+        instance.setBlock(pos, Block.AIR);
+        assertEquals(0, manager.tick(1, Integer.MAX_VALUE));
+        assertEquals(1, fluids.tick(1, Integer.MAX_VALUE));
+        assertEquals(List.of(Block.AIR), fluidTicked);
+
+        // saved with the chunk, apart from the block ticks too
+        fluids.schedule(pos, FLUID, 5);
+        instance.saveChunkToStorage(chunk).join();
+        fluids.unload(chunk);
+        assertEquals(0, fluids.pendingTicks());
+        chunk.tagHandler().updateContent(saved.get(chunk));
+        fluids.load(chunk);
+        assertTrue(fluids.isScheduled(pos, FLUID));
+        assertEquals(0, manager.pendingTicks());
+    }
+}
@@ -3,4 +3,6 @@ dependencies {
     compileOnly(project(":block-update-system"))
     compileOnly(project(":entity-meta"))
     compileOnly(project(":datapack-loading"))
+    compileOnly(project(":loot-table"))
+    compileOnly(project(":crafting"))
 }
\ No newline at end of file
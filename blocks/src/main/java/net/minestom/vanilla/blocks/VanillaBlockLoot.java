@@ -4,7 +4,6 @@ import net.minestom.server.coordinate.Point;
 import net.minestom.server.entity.ItemEntity;
 import net.minestom.server.entity.Player;
 import net.minestom.server.event.player.PlayerBlockBreakEvent;
-import net.minestom.server.instance.block.Block;
 import net.minestom.server.item.ItemStack;
 import net.minestom.vanilla.VanillaReimplementation;
 import net.minestom.vanilla.datapack.Datapack;
@@ -12,8 +11,9 @@ import net.minestom.vanilla.datapack.loot.LootTable;
 import net.minestom.vanilla.datapack.loot.context.LootContext;
 import net.minestom.vanilla.datapack.loot.function.LootFunction;
 import net.minestom.vanilla.datapack.loot.function.Predicate;
-import net.minestom.vanilla.files.FileSystem;
 import net.minestom.vanilla.logging.Logger;
+import net.minestom.vanilla.loot.LootRuntime;
+import net.minestom.vanilla.system.ItemDrops;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -29,32 +29,27 @@ public record VanillaBlockLoot(VanillaReimplementation vri, Datapack datapack) {
     private record LootEntry(@Nullable List<LootFunction> functions, List<ItemStack> items, double weight) {
     }
 
+    /**
+     * Drops the loot of the broken block, generated by the process's shared {@link LootRuntime} with this datapack's
+     * tables loaded over the vanilla ones.
+     */
     public void spawnLoot(@NotNull PlayerBlockBreakEvent event) {
-        String blockName = event.getBlock().key().value();
-        datapack.namespacedData().forEach((namespace, data) -> {
-            FileSystem<LootTable> blocks = data.loot_tables().folder("blocks");
-            var lootTable = blocks.file(blockName + ".json");
-            if (lootTable == null) return;
-
-            Block blockState = event.getBlock();
-            Point origin = event.getBlockPosition();
-            ItemStack tool = event.getPlayer().getItemInMainHand();
-            Player entity = event.getPlayer();
-            Block blockEntity = blockState.registry().blockEntity() == null ? null : blockState;
-            Random random = vri.random(entity);
-
-            LootContext context = new LootContext.Block(blockState, origin, tool, entity, blockEntity, null);
-
-            List<ItemStack> items = new ArrayList<>();
-            generateLootItems(lootTable, context, random, items::add);
-
-            for (ItemStack item : items) {
-                ItemEntity itemEntity = new ItemEntity(item);
-                itemEntity.setInstance(entity.getInstance(), origin.add(0.5));
-            }
-        });
+        Player entity = event.getPlayer();
+        Point origin = event.getBlockPosition();
+        ItemStack tool = entity.getItemInMainHand();
+
+        List<ItemStack> items = LootRuntime.of(vri.process(), datapack)
+                .blockLoot(event.getInstance(), origin, event.getBlock(), tool, entity, vri.random(entity));
+
+        for (ItemStack item : ItemDrops.coalesce(items)) {
+            ItemEntity itemEntity = new ItemEntity(item);
+            itemEntity.setInstance(event.getInstance(), origin.add(0.5));
+        }
     }
 
+    /**
+     * Generates loot from a table of the datapack, e.g. to compare it with the {@link LootRuntime}'s.
+     */
     public List<ItemStack> getLoot(LootTable lootTable, LootContext context) {
         return getLoot(lootTable, context, vri.random(0));
     }
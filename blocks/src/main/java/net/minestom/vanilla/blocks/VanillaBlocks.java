@@ -1,7 +1,5 @@
 package net.minestom.vanilla.blocks;
 
-import it.unimi.dsi.fastutil.shorts.Short2ObjectMap;
-import it.unimi.dsi.fastutil.shorts.Short2ObjectOpenHashMap;
 import net.minestom.server.coordinate.Point;
 import net.minestom.server.entity.GameMode;
 import net.minestom.server.entity.Player;
@@ -19,10 +17,15 @@ import net.minestom.vanilla.blocks.behaviours.oxidisable.WaxedBlockBehaviour;
 import net.minestom.vanilla.blocks.behaviours.recipe.*;
 import net.minestom.vanilla.blockupdatesystem.BlockUpdatable;
 import net.minestom.vanilla.blockupdatesystem.BlockUpdateManager;
+import net.minestom.vanilla.datapack.Datapack;
 import net.minestom.vanilla.datapack.DatapackLoadingFeature;
+import net.minestom.vanilla.logging.StartupProfiler;
+import net.minestom.vanilla.loot.LootRuntime;
 import net.minestom.vanilla.randomticksystem.RandomTickManager;
 import net.minestom.vanilla.randomticksystem.RandomTickable;
+import net.minestom.vanilla.utils.IdDispatch;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Objects;
 
@@ -162,6 +165,10 @@ public enum VanillaBlocks {
     // End of cakes
 
     ;
+
+    // Behaviours by state id, for every state of each block
+    private static final IdDispatch<VanillaBlockBehaviour> stateId2behaviour = new IdDispatch<>();
+
     private final short stateId;
     private final @NotNull Context2Handler context2handler;
 
@@ -199,6 +206,14 @@ public enum VanillaBlocks {
         return context2handler.apply(context);
     }
 
+    /**
+     * @return the behaviour registered for the block state, or null if it has none. This doesn't lock, so it can be
+     * called from any thread, e.g. for blocks read from a section copy that have no handler.
+     */
+    public static @Nullable VanillaBlockBehaviour behaviour(int stateId) {
+        return stateId2behaviour.get(stateId);
+    }
+
     /**
      * Register all vanilla blocks. ConnectionManager will handle replacing the basic
      * block with its custom variant.
@@ -209,16 +224,16 @@ public enum VanillaBlocks {
 
         EventNode<Event> events = EventNode.all("vanilla-blocks");
 
-        // block loot
-        VanillaBlockLoot loot = new VanillaBlockLoot(vri, vri.feature(DatapackLoadingFeature.class).current());
+        // block loot, parsed and compiled now instead of on the tick thread of the first block break
+        Datapack datapack = vri.feature(DatapackLoadingFeature.class).current();
+        StartupProfiler.profile("loot", "runtime", () -> LootRuntime.of(vri.process(), datapack));
+        VanillaBlockLoot loot = new VanillaBlockLoot(vri, datapack);
         events.addListener(EventListener.builder(PlayerBlockBreakEvent.class)
                 .filter(event -> !event.isCancelled())
                 .filter(event -> event.getPlayer().getGameMode() != GameMode.CREATIVE)
                 .handler(loot::spawnLoot)
                 .build());
 
-        Short2ObjectMap<VanillaBlockBehaviour> stateId2behaviour = new Short2ObjectOpenHashMap<>();
-
         for (VanillaBlocks vb : values()) {
             BlockContext context = new BlockContext() {
                 @Override
@@ -233,10 +248,10 @@ public enum VanillaBlocks {
             };
             VanillaBlockBehaviour behaviour = vb.context2handler.apply(context);
 
-            for (Block possibleState : Objects.requireNonNull(Block.fromStateId(vb.stateId)).possibleStates()) {
-                short possibleStateId = (short) possibleState.stateId();
-                stateId2behaviour.put(possibleStateId, behaviour);
-            }
+            int[] possibleStateIds = Objects.requireNonNull(Block.fromStateId(vb.stateId)).possibleStates().stream()
+                    .mapToInt(Block::stateId)
+                    .toArray();
+            stateId2behaviour.register(possibleStateIds, behaviour);
 
             if (behaviour instanceof BlockUpdatable updatable)
                 BlockUpdateManager.registerUpdatable(vb.stateId, updatable);
@@ -250,13 +265,13 @@ public enum VanillaBlocks {
         vri.process().eventHandler().addChild(events);
     }
 
-    private static void registerEvents(EventNode<Event> node, Short2ObjectMap<VanillaBlockBehaviour> behaviours) {
+    private static void registerEvents(EventNode<Event> node, IdDispatch<VanillaBlockBehaviour> behaviours) {
         node.addListener(EventListener.builder(PlayerBlockPlaceEvent.class)
-                .filter(event -> behaviours.containsKey((short) event.getBlock().stateId()))
+                .filter(event -> behaviours.get(event.getBlock().stateId()) != null)
                 .handler(event -> {
-                    short stateId = (short) event.getBlock().stateId();
+                    int stateId = event.getBlock().stateId();
                     Block block = Objects.requireNonNull(Block.fromStateId(stateId));
-                    var behaviour = behaviours.get(stateId);
+                    var behaviour = Objects.requireNonNull(behaviours.get(stateId));
 
                     behaviour.onPlace(new PlayerPlacement(event));
                     Block blockToPlace = event.getBlock();
@@ -10,6 +10,7 @@ import net.minestom.vanilla.inventory.InventoryManipulation;
 import net.minestom.vanilla.randomticksystem.RandomTickable;
 import net.minestom.vanilla.utils.MathUtils;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
 import java.util.Objects;
@@ -62,7 +63,7 @@ public class OxidatableBlockBehaviour extends WaxableBlockBehaviour implements R
         // Exit now if the block cannot be oxidised anymore
         if (oxidised == context.stateId()) return;
 
-        Random random = context.vri().random(randomTick.instance());
+        Random random = randomTick.random();
         // In Java Edition, when a random tick is given, a copper block has a 64/1125 chance to enter a state called pre-oxidation.
         // This means a copper block enters pre-oxidation after approximately 20 minutes.
         if (random.nextInt(1125) >= 64) {
@@ -74,12 +75,11 @@ public class OxidatableBlockBehaviour extends WaxableBlockBehaviour implements R
         // meaning that this copper block does not weather.
         List<Block> nearbyBlocks = MathUtils.getWithinManhattanDistance(randomTick.position(), 4)
                 .stream()
-                .map(point -> randomTick.instance().isChunkLoaded(point) ?
-                        randomTick.instance().getBlock(point) : Block.AIR)
+                .map(randomTick.blocks()::getBlock)
                 .toList();
         int minOxidisedAround = nearbyBlocks.stream()
-                .filter(block -> block.handler() instanceof OxygenSensitive)
-                .map(block -> (OxygenSensitive) block.handler())
+                .map(OxidatableBlockBehaviour::oxygenSensitive)
+                .filter(Objects::nonNull)
                 .mapToInt(OxygenSensitive::oxidisedLevel)
                 .min()
                 .orElse(Integer.MAX_VALUE);
@@ -96,15 +96,13 @@ public class OxidatableBlockBehaviour extends WaxableBlockBehaviour implements R
         // blocks has a 21.7% chance to oxidize if it enters the pre-oxidation state. In this case, a = 12, b = 6, and
         // m = 0.75.[2]
         double a = (int) nearbyBlocks.stream()
-                .filter(block -> block.handler() instanceof OxygenSensitive os
-                        && os.oxidisedLevel() == oxidisedLevel()) // Filter out unrelated blocks
+                .map(OxidatableBlockBehaviour::oxygenSensitive)
+                .filter(os -> os != null && os.oxidisedLevel() == oxidisedLevel()) // Filter out unrelated blocks
                 .count();
         double b = (int) nearbyBlocks.stream()
-                .filter(block -> !(block.handler() instanceof WaxedBlockBehaviour))
-                .filter(block -> block.handler() instanceof OxygenSensitive os
-                        && os.oxidisedLevel() > oxidisedLevel()) // Filter out unrelated blocks
-                .map(block -> (OxygenSensitive) block.handler()).filter(Objects::nonNull)
-                .filter(handler -> handler.oxidisedLevel() > oxidisedLevel)
+                .map(OxidatableBlockBehaviour::oxygenSensitive)
+                .filter(os -> !(os instanceof WaxedBlockBehaviour))
+                .filter(os -> os != null && os.oxidisedLevel() > oxidisedLevel()) // Filter out unrelated blocks
                 .count();
         double m = oxidisedLevel == 0 ? 0.75 : 1;
         double c = (b + 1) / (a + 1);
@@ -113,10 +111,27 @@ public class OxidatableBlockBehaviour extends WaxableBlockBehaviour implements R
         if (random.nextDouble() < probability) {
             Block block = Block.fromStateId(oxidised);
             Objects.requireNonNull(block, "Block with state id " + oxidised + " was not found");
-            randomTick.instance().setBlock(randomTick.position(), block);
+            randomTick.setBlock(block);
         }
     }
 
+    /**
+     * Only reads blocks and sets the ticked one through the random tick, so copper can oxidise off the tick thread.
+     */
+    @Override
+    public boolean isThreadSafe() {
+        return true;
+    }
+
+    /**
+     * @return the oxidation of the block, from its handler, or from the behaviour of its state when it has none, e.g.
+     * when read from a section copy
+     */
+    private static @Nullable OxygenSensitive oxygenSensitive(@NotNull Block block) {
+        if (block.handler() instanceof OxygenSensitive handler) return handler;
+        return VanillaBlocks.behaviour(block.stateId()) instanceof OxygenSensitive behaviour ? behaviour : null;
+    }
+
     @Override
     public int oxidisedLevel() {
         return oxidisedLevel;
@@ -1,5 +1,6 @@
 package net.minestom.vanilla.blocks.behaviours.recipe;
 
+import net.minestom.server.ServerProcess;
 import net.minestom.server.coordinate.Point;
 import net.minestom.server.coordinate.Pos;
 import net.minestom.server.entity.ItemEntity;
@@ -16,9 +17,11 @@ import net.minestom.server.tag.Tag;
 import net.minestom.vanilla.blocks.VanillaBlockBehaviour;
 import net.minestom.vanilla.blocks.VanillaBlocks;
 import net.minestom.vanilla.blocks.behaviours.chestlike.BlockItems;
+import net.minestom.vanilla.crafting.RecipeTables;
 import net.minestom.vanilla.inventory.InventoryManipulation;
 import net.minestom.vanilla.tag.Tags.Blocks.Campfire;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
 import java.util.stream.IntStream;
@@ -27,11 +30,16 @@ public class CampfireBehaviour extends VanillaBlockBehaviour {
 
     private static final int CONTAINER_SIZE = 4;
     private static final Random RNG = new Random();
+    private final ServerProcess process;
     private final RecipeManager recipeManager;
 
     public CampfireBehaviour(VanillaBlocks.@NotNull BlockContext context) {
         super(context);
-        this.recipeManager = context.vri().process().recipe();
+        this.process = context.vri().process();
+        this.recipeManager = process.recipe();
+    }
+
+    private record CampfireRecipe(@NotNull Material result, int duration) {
     }
 
     public BlockItems getBlockItems(Block block) {
@@ -69,9 +77,9 @@ public class CampfireBehaviour extends VanillaBlockBehaviour {
         Block block = interaction.getBlock();
         Player player = interaction.getPlayer();
         ItemStack input = player.getItemInHand(interaction.getHand());
-        Optional<Recipe> recipeOptional = findCampfireCookingRecipe(input);
+        CampfireRecipe recipe = findCampfireRecipe(input);
 
-        if (recipeOptional.isEmpty())
+        if (recipe == null)
             return true;
 
         BlockItems items = getBlockItems(block);
@@ -83,12 +91,8 @@ public class CampfireBehaviour extends VanillaBlockBehaviour {
         if (itemNotConsumed)
             return true;
 
-        Recipe recipe = recipeOptional.get();
-        if (!(recipe.createRecipeDisplays().getFirst() instanceof RecipeDisplay.Furnace furnaceRecipe)) return false;
-        Material material = getMaterialFromSlotDisplay(furnaceRecipe.ingredient());
-        if (material == null) return false;
-        int index = appendItem(items, material);
-        block = withCookingProgress(block, index, furnaceRecipe.duration());
+        int index = appendItem(items, input.material());
+        block = withCookingProgress(block, index, recipe.duration());
         instance.setBlock(pos, items.apply(block));
         return false;
     }
@@ -176,14 +180,10 @@ public class CampfireBehaviour extends VanillaBlockBehaviour {
     }
 
     private void endCampfireCookingProgress(Instance instance, Point pos, ItemStack input) {
-        Optional<Recipe> recipeOptional = findCampfireCookingRecipe(input);
-        if (recipeOptional.isEmpty())
+        CampfireRecipe recipe = findCampfireRecipe(input);
+        if (recipe == null)
             throw new IllegalArgumentException("Cannot end campfire cooking progress because input recipe doesn't found");
-        Material material = getRecipeResult(recipeOptional.get());
-        if (material == null) {
-            return;
-        }
-        dropItem(instance, pos, ItemStack.of(material));
+        dropItem(instance, pos, ItemStack.of(recipe.result()));
     }
 
     private void dropItem(Instance instance, Point pos, ItemStack item) {
@@ -196,14 +196,6 @@ public class CampfireBehaviour extends VanillaBlockBehaviour {
         return IntStream.range(0, items.size()).filter(index -> items.get(index).isAir()).findFirst();
     }
 
-    private Material getRecipeResult(Recipe recipe) {
-        RecipeDisplay d = recipe.createRecipeDisplays().getFirst();
-        if (d instanceof RecipeDisplay.Furnace f) {
-            return getMaterialFromSlotDisplay(f.result());
-        }
-        return null;
-    }
-
     private Material getRecipeInput(Recipe recipe) {
         RecipeDisplay d = recipe.createRecipeDisplays().getFirst();
         if (d instanceof RecipeDisplay.Furnace f) {
@@ -220,6 +212,25 @@ public class CampfireBehaviour extends VanillaBlockBehaviour {
         };
     }
 
+    private @Nullable CampfireRecipe findCampfireRecipe(ItemStack input) {
+        if (input == null || input.isAir())
+            return null;
+
+        // Indexed by input when the crafting feature is set up
+        RecipeTables tables = RecipeTables.of(process);
+        if (tables != null) {
+            net.minestom.vanilla.crafting.Recipe.Cooking cooking = tables.campfire(input.material());
+            return cooking == null ? null : new CampfireRecipe(cooking.result().material(), cooking.cookingTime());
+        }
+
+        Optional<Recipe> recipeOptional = findCampfireCookingRecipe(input);
+        if (recipeOptional.isEmpty()
+                || !(recipeOptional.get().createRecipeDisplays().getFirst() instanceof RecipeDisplay.Furnace furnaceRecipe))
+            return null;
+        Material result = getMaterialFromSlotDisplay(furnaceRecipe.result());
+        return result == null ? null : new CampfireRecipe(result, furnaceRecipe.duration());
+    }
+
     private Optional<Recipe> findCampfireCookingRecipe(ItemStack input) {
         if (input == null)
             return Optional.empty();
@@ -63,4 +63,25 @@ subprojects {
         dependsOn("serviceLoaderBuild")
         useJUnitPlatform()
     }
+
+    // Benchmarks are kept out of the tests, in src/jmh/java. Run them with ./gradlew :<module>:jmh,
+    // optionally passing JMH arguments, e.g. -Pjmh="TagIndex -f 1"
+    val jmh = sourceSets.create("jmh") {
+        compileClasspath += sourceSets["test"].output + sourceSets["test"].compileClasspath
+        runtimeClasspath += output + compileClasspath + sourceSets["test"].runtimeClasspath
+    }
+
+    dependencies {
+        "jmhImplementation"("org.openjdk.jmh:jmh-core:${project.property("jmh_version")}")
+        "jmhAnnotationProcessor"("org.openjdk.jmh:jmh-generator-annprocess:${project.property("jmh_version")}")
+    }
+
+    tasks.register<JavaExec>("jmh") {
+        group = "verification"
+        description = "Runs the JMH benchmarks of this module."
+        dependsOn("serviceLoaderBuild")
+        classpath = jmh.runtimeClasspath
+        mainClass.set("org.openjdk.jmh.Main")
+        project.findProperty("jmh")?.let { args(it.toString().split(" ")) }
+    }
 }
@@ -0,0 +1,37 @@
+package net.minestom.vanilla.utils;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Random;
+import java.util.WeakHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Draws from a keyed random on several threads at once, comparing {@link KeyedRandom} against the synchronized
+ * {@link WeakHashMap} of shared {@link Random}s it replaced.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class KeyedRandomBenchmark {
+
+    private final Object key = "overworld";
+    private final KeyedRandom keyed = new KeyedRandom(0);
+    private final Map<Object, Random> synchronizedMap = Collections.synchronizedMap(new WeakHashMap<>());
+
+    @Benchmark
+    public int keyedRandom() {
+        return keyed.random(key).nextInt();
+    }
+
+    @Benchmark
+    public int synchronizedMap() {
+        return synchronizedMap.computeIfAbsent(key, k -> new Random(k.hashCode())).nextInt();
+    }
+}
@@ -116,7 +116,9 @@ public interface VanillaReimplementation {
      * Retrieves or generates a random object unique to the given object.
      * <br>
      * Note that this method does not keep the given key in memory, however it does always return the same random for
-     * any given (equal) key object.
+     * any given (equal) key object on the same thread. Each thread receives its own random, split from the key's root,
+     * so the returned random must not be shared between threads. A key's root is derived from {@code -Dvri.seed}, and
+     * each thread draws from a stream numbered in the order the threads first drew.
      *
      * @param key the key
      * @return the random
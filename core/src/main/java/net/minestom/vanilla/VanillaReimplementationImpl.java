@@ -19,8 +19,10 @@ import net.minestom.vanilla.dimensions.VanillaDimensionTypes;
 import net.minestom.vanilla.instance.SetupVanillaInstanceEvent;
 import net.minestom.vanilla.logging.Loading;
 import net.minestom.vanilla.logging.Logger;
+import net.minestom.vanilla.logging.StartupProfiler;
 import net.minestom.vanilla.logging.StatusUpdater;
-import net.minestom.vanilla.utils.DependencySorting;
+import net.minestom.vanilla.utils.DependencyScheduler;
+import net.minestom.vanilla.utils.KeyedRandom;
 import net.minestom.vanilla.utils.MinestomUtils;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -33,11 +35,21 @@ import java.util.stream.Collectors;
 
 class VanillaReimplementationImpl implements VanillaReimplementation {
 
+    /**
+     * The number of features that may be hooked at the same time, {@code -Dvri.features.parallelism}, by default the
+     * number of available processors. A feature is always hooked after its dependencies, but features register their
+     * event listeners while they are hooked, so listeners of features that don't depend on each other and handle the
+     * same event are registered in an order that changes from run to run. A parallelism of one hooks every feature on
+     * the calling thread, in dependency then key order.
+     */
+    private static final int FEATURE_PARALLELISM = Integer.getInteger("vri.features.parallelism",
+            Runtime.getRuntime().availableProcessors());
+
     private final ServerProcess process;
     private final Map<Key, Instance> worlds = new ConcurrentHashMap<>();
     private final Map<EntityType, VanillaRegistry.EntitySpawner> entity2Spawner = new ConcurrentHashMap<>();
     private final Map<Class<Feature>, Feature> class2Feature = new ConcurrentHashMap<>();
-    private final Map<Object, Random> randoms = Collections.synchronizedMap(new WeakHashMap<>());
+    private final KeyedRandom randoms = new KeyedRandom(Long.getLong("vri.seed", 0));
 
     private VanillaReimplementationImpl(@NotNull ServerProcess process) {
         this.process = process;
@@ -69,6 +81,7 @@ class VanillaReimplementationImpl implements VanillaReimplementation {
 
         Loading.finish();
 
+        StartupProfiler.export();
         return vri;
     }
 
@@ -181,7 +194,7 @@ class VanillaReimplementationImpl implements VanillaReimplementation {
 
     @Override
     public @NotNull Random random(@NotNull Object key) {
-        return randoms.computeIfAbsent(key, k -> new Random(key.hashCode()));
+        return randoms.random(key);
     }
 
     final class VanillaRegistryImpl implements VanillaRegistry {
@@ -222,34 +235,43 @@ class VanillaReimplementationImpl implements VanillaReimplementation {
         Loading.finish();
 
         Loading.start("Sorting features by dependencies");
-        List<Feature> sortedByDependencies = DependencySorting.sort(features);
-        Loading.finish();
+        DependencyScheduler<Class<? extends Feature>, Feature> scheduler;
+        try {
+            scheduler = DependencyScheduler.create(features,
+                    Comparator.comparing(feature -> feature.key().asString()),
+                    feature -> feature.key().asString());
+        } catch (IllegalStateException e) {
+            Logger.error("Failed to load features! Does one of your features have a missing dependency feature?", e);
+            throw e;
+        } finally {
+            Loading.finish();
+        }
 
-        for (Feature feature : sortedByDependencies) {
-            if (!predicate.test(feature)) {
-                Logger.info("Skipping feature %s...", feature.key());
-                continue;
-            }
+        // With a parallelism above one, independent features are hooked concurrently, each as soon as its dependencies are hooked
+        Loading parent = Loading.current();
+        try {
+            scheduler.run(FEATURE_PARALLELISM, feature -> Loading.within(parent, () -> {
+                if (!predicate.test(feature)) {
+                    Logger.info("Skipping feature %s...", feature.key());
+                    return;
+                }
 
-            try {
                 instructHook(feature, registry);
                 //noinspection unchecked
                 class2Feature.put((Class<Feature>) feature.getClass(), feature);
-            } catch (Exception e) {
-                Logger.error("Failed to load feature: " + feature.key(), e);
-                throw new RuntimeException(e);
-            }
+            }));
+        } catch (IllegalStateException e) {
+            // the scheduler's message has the dependency path of the failing feature
+            Logger.error("%s: %s%n", e.getMessage(), e.getCause());
+            throw e;
         }
     }
 
     private void instructHook(Feature feature, VanillaRegistry registry) {
-        try {
+        try (StartupProfiler.Section ignored = StartupProfiler.begin("feature", feature.key().asString())) {
             Loading.start("" + feature.key());
             Feature.HookContext context = new HookContextImpl(this, registry, Loading.updater());
             feature.hook(context);
-        } catch (Exception e) {
-            Logger.error(e, "Failed to load feature: %s%n", feature.key());
-            throw new RuntimeException(e);
         } finally {
             Loading.finish();
         }
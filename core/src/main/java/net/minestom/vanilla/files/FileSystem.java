@@ -49,6 +49,14 @@ public interface FileSystem<F> extends FileSystemMappers {
 
     FileSystem<F> lazy();
 
+    /**
+     * Lazily loads each file on first access, reporting load failures along with their path.
+     *
+     * @param path the path of this folder, used when reporting failures
+     * @return a lazy view of this file system
+     */
+    FileSystem<F> lazy(String path);
+
     FileSystem<F> inMemory();
 
     static <T> FileSystem<T> empty() {
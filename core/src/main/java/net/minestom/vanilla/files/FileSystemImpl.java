@@ -42,6 +42,10 @@ interface FileSystemImpl<F> extends FileSystem<F> {
         return new LazyFileSystem<>(this);
     }
 
+    default FileSystem<F> lazy(String path) {
+        return new LazyFileSystem<>(this, path);
+    }
+
     default FileSystem<F> inMemory() {
         return DynamicFileSystem.from(this);
     }
@@ -8,17 +8,30 @@ import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * A FileSystem that lazily loads its contents.
+ * <p>
+ * Each file is loaded at most once, on first access, and safely published to every thread. Files that fail to load are
+ * not memoised, and are reported along with their path. Files that don't exist return null, without being memoised.
+ * </p>
  * @param <F>
  */
 public class LazyFileSystem<F> implements FileSystemImpl<F> {
 
     private final FileSystem<F> original;
+    private final String path;
 
     protected LazyFileSystem(FileSystem<F> original) {
+        this(original, "");
+    }
+
+    /**
+     * @param path the path of this folder, used when reporting failures
+     */
+    protected LazyFileSystem(FileSystem<F> original, String path) {
         this.original = original;
+        this.path = path.isEmpty() || path.endsWith("/") ? path : path + "/";
     }
 
-    private Set<String> folders = null;
+    private volatile Set<String> folders = null;
     @Override
     public Set<String> folders() {
         if (folders == null) {
@@ -27,7 +40,7 @@ public class LazyFileSystem<F> implements FileSystemImpl<F> {
         return folders;
     }
 
-    private Set<String> files = null;
+    private volatile Set<String> files = null;
     @Override
     public Set<String> files() {
         if (files == null) {
@@ -40,13 +53,41 @@ public class LazyFileSystem<F> implements FileSystemImpl<F> {
     private final Map<String, @Nullable FileSystem<F>> folderCache = new ConcurrentHashMap<>();
     @Override
     public FileSystem<F> folder(String path) {
-        return folderCache.computeIfAbsent(path, original::folder);
+        return folderCache.computeIfAbsent(path, name -> new LazyFileSystem<>(original.folder(name), this.path + name));
     }
 
-    private final Map<String, @Nullable F> fileCache = new ConcurrentHashMap<>();
+    // files are loaded outside of the map's locks, as loading one file may access another
+    private final Map<String, LazyFile> fileCache = new ConcurrentHashMap<>();
     @Override
     public F file(String path) {
-        return fileCache.computeIfAbsent(path, original::file);
+        if (!hasFile(path)) return null;
+        return fileCache.computeIfAbsent(path, LazyFile::new).get();
+    }
+
+    private final class LazyFile {
+        private final String name;
+        private volatile boolean loaded = false;
+        private @Nullable F value;
+
+        private LazyFile(String name) {
+            this.name = name;
+        }
+
+        F get() {
+            if (!loaded) {
+                synchronized (this) {
+                    if (!loaded) {
+                        try {
+                            value = original.file(name);
+                        } catch (RuntimeException e) {
+                            throw new IllegalStateException("Failed to load " + path + name, e);
+                        }
+                        loaded = true;
+                    }
+                }
+            }
+            return value;
+        }
     }
 
     @Override
@@ -58,4 +99,9 @@ public class LazyFileSystem<F> implements FileSystemImpl<F> {
     public FileSystem<F> lazy() {
         return this;
     }
+
+    @Override
+    public FileSystem<F> lazy(String path) {
+        return this.path.isEmpty() ? new LazyFileSystem<>(original, path) : this;
+    }
 }
@@ -0,0 +1,161 @@
+package net.minestom.vanilla.instance;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import it.unimi.dsi.fastutil.longs.LongSets;
+import net.minestom.server.coordinate.CoordConversion;
+import net.minestom.server.instance.Chunk;
+import net.minestom.server.instance.Instance;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * The chunks of an instance whose blocks are ticked, by how much of the game runs in them.
+ * <p>
+ * Levels are set by a provider, such as the ticket manager of the instance meta feature, that
+ * {@link #manage() manages} the instance. Until one does, every loaded chunk is entity ticking, so that tick systems
+ * behave the same with or without a provider. Tick systems read the chunk sets, and providers update them as their
+ * levels change, which notifies the listeners of each chunk whose level changed.
+ * </p>
+ */
+public final class TickingChunks {
+
+    private static final Map<Instance, TickingChunks> instance2chunks = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * How much of the game runs in a chunk, from least to most.
+     */
+    public enum Level {
+        /**
+         * Nothing runs.
+         */
+        INACCESSIBLE,
+        /**
+         * Only some game aspects run, and blocks aren't ticked.
+         */
+        BORDER,
+        /**
+         * Scheduled ticks and block updates run, but entities and random ticks don't.
+         */
+        BLOCK_TICKING,
+        /**
+         * Everything runs.
+         */
+        ENTITY_TICKING;
+
+        public boolean isAtLeast(@NotNull Level level) {
+            return compareTo(level) >= 0;
+        }
+    }
+
+    public interface Listener {
+        void levelChanged(long chunkIndex, @NotNull Level oldLevel, @NotNull Level newLevel);
+    }
+
+    private final Instance instance;
+    private final Long2ObjectMap<Level> levels = new Long2ObjectOpenHashMap<>();
+    private final LongSet blockTicking = new LongOpenHashSet();
+    private final LongSet entityTicking = new LongOpenHashSet();
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private volatile boolean managed;
+
+    private TickingChunks(@NotNull Instance instance) {
+        this.instance = instance;
+        levels.defaultReturnValue(Level.INACCESSIBLE);
+    }
+
+    public static @NotNull TickingChunks of(@NotNull Instance instance) {
+        return instance2chunks.computeIfAbsent(instance, TickingChunks::new);
+    }
+
+    /**
+     * Marks this instance as managed by a provider, so that only the chunks it sets tick from now on.
+     */
+    public void manage() {
+        managed = true;
+    }
+
+    public boolean isManaged() {
+        return managed;
+    }
+
+    public void addListener(@NotNull Listener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Sets the level of a chunk, and notifies the listeners if it changed.
+     */
+    public void level(long chunkIndex, @NotNull Level level) {
+        final Level oldLevel;
+        synchronized (this) {
+            oldLevel = level == Level.INACCESSIBLE ? levels.remove(chunkIndex) : levels.put(chunkIndex, level);
+            if (oldLevel == level) return;
+
+            if (level.isAtLeast(Level.BLOCK_TICKING)) blockTicking.add(chunkIndex);
+            else blockTicking.remove(chunkIndex);
+            if (level.isAtLeast(Level.ENTITY_TICKING)) entityTicking.add(chunkIndex);
+            else entityTicking.remove(chunkIndex);
+        }
+        for (Listener listener : listeners) {
+            listener.levelChanged(chunkIndex, oldLevel, level);
+        }
+    }
+
+    /**
+     * @return the level of the chunk, which is always entity ticking while no provider manages the instance
+     */
+    public synchronized @NotNull Level level(long chunkIndex) {
+        return managed ? levels.get(chunkIndex) : Level.ENTITY_TICKING;
+    }
+
+    public boolean isTicking(@NotNull Chunk chunk, @NotNull Level minimum) {
+        return level(CoordConversion.chunkIndex(chunk.getChunkX(), chunk.getChunkZ())).isAtLeast(minimum);
+    }
+
+    /**
+     * @return a read-only view of the indices of the chunks that are at least block ticking, which are loaded or not
+     */
+    public @NotNull LongSet blockTicking() {
+        return LongSets.unmodifiable(blockTicking);
+    }
+
+    /**
+     * @return a read-only view of the indices of the chunks that are entity ticking, which are loaded or not
+     */
+    public @NotNull LongSet entityTicking() {
+        return LongSets.unmodifiable(entityTicking);
+    }
+
+    /**
+     * @return the loaded chunks of the instance that are at least at the given level, or all of them while no provider
+     * manages the instance
+     */
+    public @NotNull Collection<Chunk> loadedChunks(@NotNull Level minimum) {
+        if (!managed || minimum == Level.INACCESSIBLE) return instance.getChunks();
+
+        List<Chunk> chunks;
+        synchronized (this) {
+            LongSet indices = minimum == Level.ENTITY_TICKING ? entityTicking
+                    : minimum == Level.BLOCK_TICKING ? blockTicking
+                    : levels.keySet();
+            chunks = new ArrayList<>(indices.size());
+            for (LongIterator iterator = indices.iterator(); iterator.hasNext(); ) {
+                long index = iterator.nextLong();
+                Chunk chunk = instance.getChunk(CoordConversion.chunkIndexGetX(index), CoordConversion.chunkIndexGetZ(index));
+                if (chunk != null) chunks.add(chunk);
+            }
+        }
+        return chunks;
+    }
+}
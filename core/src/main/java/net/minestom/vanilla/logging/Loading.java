@@ -3,15 +3,35 @@ package net.minestom.vanilla.logging;
 public interface Loading {
 
     static void start(String name) {
-        LoadingImpl.CURRENT.waitTask(name);
+        LoadingImpl.current().waitTask(name);
     }
     static StatusUpdater updater() {
-        return LoadingImpl.CURRENT.getUpdater();
+        return LoadingImpl.current().getUpdater();
     }
     static void finish() {
-        LoadingImpl.CURRENT.finishTask();
+        LoadingImpl.current().finishTask();
     }
     static void level(Level level) {
-        LoadingImpl.CURRENT.level = level;
+        LoadingImpl.current().level = level;
+    }
+
+    /**
+     * Tasks are tracked per thread. Use this with {@link #within(Loading, Runnable)} to report work done on other
+     * threads as subtasks of the current task.
+     *
+     * @return the current thread's task
+     */
+    static Loading current() {
+        return LoadingImpl.current();
+    }
+
+    /**
+     * Runs the given action on this thread as part of the given task.
+     *
+     * @param task   the parent task, from {@link #current()}
+     * @param action the action
+     */
+    static void within(Loading task, Runnable action) {
+        LoadingImpl.within((LoadingImpl) task, action);
     }
 }
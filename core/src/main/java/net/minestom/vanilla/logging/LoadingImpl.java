@@ -4,10 +4,12 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 class LoadingImpl implements Loading {
-    public static @NotNull LoadingImpl CURRENT = new LoadingImpl(null, null, Level.INFO);
+    private static final @NotNull LoadingImpl ROOT = new LoadingImpl(null, null, Level.INFO);
+    private static final ThreadLocal<LoadingImpl> CURRENT = ThreadLocal.withInitial(() -> ROOT);
 
     private final @Nullable LoadingImpl parent;
     private final @Nullable LoadingBar loadingBar;
+    private final StartupProfiler.Section section;
     private final long started = System.currentTimeMillis();
     private final double progress = 0;
     public Level level;
@@ -15,6 +17,7 @@ class LoadingImpl implements Loading {
         this.parent = parent;
         this.loadingBar = loadingBar;
         this.level = level;
+        this.section = loadingBar == null ? StartupProfilerImpl.NO_OP : StartupProfiler.begin("loading", loadingBar.message());
     }
 
     public synchronized void waitTask(String name) {
@@ -25,7 +28,7 @@ class LoadingImpl implements Loading {
         } else {
             loading = new LoadingImpl(this, loadingBar.subTask(name), level);
         }
-        CURRENT = loading;
+        CURRENT.set(loading);
     }
 
     public synchronized void finishTask() {
@@ -33,9 +36,24 @@ class LoadingImpl implements Loading {
             throw new IllegalStateException("Cannot finish root task");
         }
         loadingBar.updater().progress(1);
+        section.close();
         assert parent != null;
         Logger.logger().level(parent.level).printf("took %dms%n", System.currentTimeMillis() - started);
-        CURRENT = this.parent;
+        CURRENT.set(this.parent);
+    }
+
+    static @NotNull LoadingImpl current() {
+        return CURRENT.get();
+    }
+
+    static void within(@NotNull LoadingImpl task, @NotNull Runnable action) {
+        LoadingImpl previous = CURRENT.get();
+        CURRENT.set(task);
+        try {
+            action.run();
+        } finally {
+            CURRENT.set(previous);
+        }
     }
 
     public synchronized StatusUpdater getUpdater() {
@@ -0,0 +1,68 @@
+package net.minestom.vanilla.logging;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.file.Path;
+import java.util.function.Supplier;
+
+/**
+ * Records the wall time, thread and allocated bytes of each startup phase, and exports them as a Chrome trace
+ * ({@code chrome://tracing}, Perfetto) along with a summary table.
+ * <p>
+ * Enabled with {@code -Dvri.startupProfiler=true}. Files are written to {@code vri.startupProfiler.output}, or the
+ * working directory by default. When disabled, every method is a no-op.
+ * </p>
+ */
+public interface StartupProfiler {
+
+    /**
+     * @return whether the profiler is recording
+     */
+    static boolean enabled() {
+        return StartupProfilerImpl.ENABLED;
+    }
+
+    /**
+     * Starts recording a section, which ends when it is closed. Sections must be closed on the thread that began them.
+     *
+     * @param category the category of the section, e.g. {@code feature}
+     * @param name     the name of the section
+     * @return the section
+     */
+    static @NotNull Section begin(@NotNull String category, @NotNull String name) {
+        return StartupProfilerImpl.ENABLED ? new StartupProfilerImpl.SectionImpl(category, name) : StartupProfilerImpl.NO_OP;
+    }
+
+    /**
+     * Records the given action as a section.
+     */
+    static <T> T profile(@NotNull String category, @NotNull String name, @NotNull Supplier<T> action) {
+        if (!StartupProfilerImpl.ENABLED) return action.get();
+        try (Section ignored = begin(category, name)) {
+            return action.get();
+        }
+    }
+
+    /**
+     * Writes everything recorded so far to the output directory.
+     * Does nothing when the profiler is disabled.
+     */
+    static void export() {
+        if (!StartupProfilerImpl.ENABLED) return;
+        StartupProfilerImpl.export(StartupProfilerImpl.OUTPUT);
+    }
+
+    /**
+     * Writes everything recorded so far to the given directory.
+     * Does nothing when the profiler is disabled.
+     */
+    static void export(@NotNull Path directory) {
+        if (!StartupProfilerImpl.ENABLED) return;
+        StartupProfilerImpl.export(directory);
+    }
+
+    interface Section extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,212 @@
+package net.minestom.vanilla.logging;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Collectors;
+
+class StartupProfilerImpl {
+
+    static final boolean ENABLED = Boolean.getBoolean("vri.startupProfiler");
+    static final Path OUTPUT = Path.of(System.getProperty("vri.startupProfiler.output", "."));
+
+    static final StartupProfiler.Section NO_OP = () -> {
+    };
+
+    private static final long ORIGIN = System.nanoTime();
+    private static final Queue<Event> events = new ConcurrentLinkedQueue<>();
+    private static final com.sun.management.ThreadMXBean ALLOCATIONS = allocations();
+
+    private record Event(String category, String name, long threadId, String threadName,
+                         long startNanos, long durationNanos, long allocatedBytes) {
+    }
+
+    static final class SectionImpl implements StartupProfiler.Section {
+        private final String category;
+        private final String name;
+        private final Thread thread = Thread.currentThread();
+        private final long allocatedAtStart = allocatedBytes();
+        private final long start = System.nanoTime();
+        private boolean closed = false;
+
+        SectionImpl(String category, String name) {
+            this.category = category;
+            this.name = name;
+        }
+
+        @Override
+        public void close() {
+            long end = System.nanoTime();
+            if (closed) return;
+            closed = true;
+            long allocated = Thread.currentThread() == thread ? allocatedBytes() - allocatedAtStart : -1;
+            events.add(new Event(category, name, thread.threadId(), thread.getName(), start - ORIGIN, end - start, allocated));
+        }
+    }
+
+    private static com.sun.management.ThreadMXBean allocations() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean allocations)) return null;
+        if (!allocations.isThreadAllocatedMemorySupported()) return null;
+        allocations.setThreadAllocatedMemoryEnabled(true);
+        return allocations;
+    }
+
+    private static long allocatedBytes() {
+        return ALLOCATIONS == null ? 0 : ALLOCATIONS.getCurrentThreadAllocatedBytes();
+    }
+
+    static void export(@NotNull Path directory) {
+        List<Event> recorded = events.stream()
+                .sorted(Comparator.comparingLong(Event::startNanos))
+                .toList();
+
+        try {
+            Files.createDirectories(directory);
+            Path trace = directory.resolve("startup-trace.json");
+            Path summary = directory.resolve("startup-summary.txt");
+            Files.writeString(trace, chromeTrace(recorded));
+            Files.writeString(summary, summary(recorded));
+            Logger.info("Startup profile written to %s and %s", trace.toAbsolutePath(), summary.toAbsolutePath());
+        } catch (IOException e) {
+            Logger.warn(e, "Failed to write startup profile");
+        }
+    }
+
+    private static String chromeTrace(List<Event> recorded) {
+        JsonArray traceEvents = new JsonArray();
+
+        Map<Long, String> threads = new TreeMap<>();
+        for (Event event : recorded) {
+            threads.putIfAbsent(event.threadId(), event.threadName());
+        }
+        threads.forEach((id, name) -> {
+            JsonObject metadata = new JsonObject();
+            metadata.addProperty("name", "thread_name");
+            metadata.addProperty("ph", "M");
+            metadata.addProperty("pid", 1);
+            metadata.addProperty("tid", id);
+            JsonObject args = new JsonObject();
+            args.addProperty("name", name);
+            metadata.add("args", args);
+            traceEvents.add(metadata);
+        });
+
+        for (Event event : recorded) {
+            JsonObject json = new JsonObject();
+            json.addProperty("name", event.name());
+            json.addProperty("cat", event.category());
+            json.addProperty("ph", "X");
+            json.addProperty("ts", event.startNanos() / 1_000.0);
+            json.addProperty("dur", event.durationNanos() / 1_000.0);
+            json.addProperty("pid", 1);
+            json.addProperty("tid", event.threadId());
+            JsonObject args = new JsonObject();
+            args.addProperty("allocatedBytes", event.allocatedBytes());
+            json.add("args", args);
+            traceEvents.add(json);
+        }
+
+        JsonObject root = new JsonObject();
+        root.add("traceEvents", traceEvents);
+        root.addProperty("displayTimeUnit", "ms");
+        return new GsonBuilder().setPrettyPrinting().create().toJson(root);
+    }
+
+    private static String summary(List<Event> recorded) {
+        StringBuilder builder = new StringBuilder();
+        String row = "%-10s %-60s %-24s %10s %12s%n";
+
+        // Self time, so that sections nested in another one on the same thread aren't counted twice
+        builder.append("Self time by category\n");
+        builder.append(String.format(row, "category", "", "", "self ms", "alloc MB"));
+        Map<String, long[]> byCategory = new TreeMap<>();
+        for (SelfTime self : selfTimes(recorded)) {
+            long[] totals = byCategory.computeIfAbsent(self.event.category(), ignored -> new long[2]);
+            totals[0] += self.nanos();
+            totals[1] += self.bytes();
+        }
+        byCategory.forEach((category, totals) -> builder.append(String.format(row, category, "", "",
+                millis(totals[0]), megabytes(totals[1]))));
+
+        builder.append("\nSections by wall time\n");
+        builder.append(String.format(row, "category", "name", "thread", "wall ms", "alloc MB"));
+        recorded.stream()
+                .sorted(Comparator.comparingLong(Event::durationNanos).reversed())
+                .forEach(event -> builder.append(String.format(row, event.category(), truncate(event.name(), 60),
+                        truncate(event.threadName(), 24), millis(event.durationNanos()),
+                        event.allocatedBytes() < 0 ? "?" : megabytes(event.allocatedBytes()))));
+        return builder.toString();
+    }
+
+    private static final class SelfTime {
+        private final Event event;
+        private long childNanos;
+        private long childBytes;
+
+        private SelfTime(Event event) {
+            this.event = event;
+        }
+
+        private long end() {
+            return event.startNanos() + event.durationNanos();
+        }
+
+        private long nanos() {
+            return Math.max(0, event.durationNanos() - childNanos);
+        }
+
+        private long bytes() {
+            return event.allocatedBytes() < 0 ? 0 : Math.max(0, event.allocatedBytes() - childBytes);
+        }
+    }
+
+    /**
+     * Subtracts from each section the sections directly nested in it, which begin and end within it on its thread.
+     */
+    private static List<SelfTime> selfTimes(List<Event> recorded) {
+        Map<Long, List<Event>> byThread = recorded.stream().collect(Collectors.groupingBy(Event::threadId));
+        List<SelfTime> selfTimes = new ArrayList<>(recorded.size());
+        for (List<Event> events : byThread.values()) {
+            List<Event> sorted = new ArrayList<>(events);
+            // enclosing sections first
+            sorted.sort(Comparator.comparingLong(Event::startNanos)
+                    .thenComparing(Comparator.comparingLong(Event::durationNanos).reversed()));
+
+            Deque<SelfTime> open = new ArrayDeque<>();
+            for (Event event : sorted) {
+                SelfTime self = new SelfTime(event);
+                while (!open.isEmpty() && open.peek().end() < self.end()) open.pop();
+                SelfTime parent = open.peek();
+                if (parent != null) {
+                    parent.childNanos += event.durationNanos();
+                    if (event.allocatedBytes() > 0) parent.childBytes += event.allocatedBytes();
+                }
+                open.push(self);
+                selfTimes.add(self);
+            }
+        }
+        return selfTimes;
+    }
+
+    private static String millis(long nanos) {
+        return String.format("%.1f", nanos / 1_000_000.0);
+    }
+
+    private static String megabytes(long bytes) {
+        return String.format("%.2f", bytes / (1024.0 * 1024.0));
+    }
+
+    private static String truncate(String string, int length) {
+        return string.length() <= length ? string : string.substring(0, length - 3) + "...";
+    }
+}
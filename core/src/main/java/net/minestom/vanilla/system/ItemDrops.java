@@ -0,0 +1,48 @@
+package net.minestom.vanilla.system;
+
+import net.minestom.server.item.ItemStack;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Utilities for the items dropped by a single action, e.g. breaking a block or an explosion.
+ */
+public final class ItemDrops {
+
+    private ItemDrops() {
+    }
+
+    /**
+     * Merges similar stacks, so that dropping them spawns as few item entities as possible.
+     * Stacks are filled up to their max stack size, in the order they were dropped, and air is removed.
+     * @param items the dropped items
+     * @return the merged items
+     */
+    public static @NotNull List<ItemStack> coalesce(@NotNull List<ItemStack> items) {
+        if (items.size() <= 1) {
+            return items.isEmpty() || !items.getFirst().isAir() ? items : List.of();
+        }
+
+        List<ItemStack> merged = new ArrayList<>(items.size());
+        for (ItemStack item : items) {
+            if (item.isAir()) continue;
+
+            int remaining = item.amount();
+            for (int i = 0; i < merged.size() && remaining > 0; i++) {
+                ItemStack stack = merged.get(i);
+                int space = stack.maxStackSize() - stack.amount();
+                if (space <= 0 || !stack.isSimilar(item)) continue;
+
+                int moved = Math.min(space, remaining);
+                merged.set(i, stack.withAmount(stack.amount() + moved));
+                remaining -= moved;
+            }
+            if (remaining > 0) {
+                merged.add(remaining == item.amount() ? item : item.withAmount(remaining));
+            }
+        }
+        return merged;
+    }
+}
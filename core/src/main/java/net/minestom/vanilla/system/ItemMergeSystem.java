@@ -0,0 +1,148 @@
+package net.minestom.vanilla.system;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minestom.server.coordinate.Pos;
+import net.minestom.server.entity.ItemEntity;
+import net.minestom.server.event.EventFilter;
+import net.minestom.server.event.EventNode;
+import net.minestom.server.event.instance.AddEntityToInstanceEvent;
+import net.minestom.server.event.instance.InstanceTickEvent;
+import net.minestom.server.event.trait.InstanceEvent;
+import net.minestom.server.instance.Chunk;
+import net.minestom.server.instance.EntityTracker;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.item.ItemStack;
+import net.minestom.server.tag.Tag;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Periodically merges nearby item entities holding similar items.
+ * <p>
+ * Minestom makes each item entity search for nearby items on its own, every few ticks. Instead, this system turns
+ * that off, and merges the items of an instance in one pass: items are read from the entity tracker's per-chunk item
+ * sets into a spatial hash of cells as wide as the merge radius, so each item is only compared with the items of its
+ * own and neighbouring cells.
+ * </p>
+ * <p>
+ * Merging respects max stack sizes, moving as much as fits into the larger stack, and never makes an item pickable
+ * earlier than either of the merged items would have been.
+ * </p>
+ */
+public final class ItemMergeSystem {
+
+    /**
+     * Whether an item entity may be merged by this system. Items that were not mergeable when spawned are never merged.
+     */
+    public static final @NotNull Tag<Boolean> MERGEABLE = Tag.Boolean("vri:mergeable").defaultValue(true);
+
+    private static final int INTERVAL = Math.max(1, Integer.getInteger("vri.items.merge.interval", 10));
+    private static final double RADIUS = Double.parseDouble(System.getProperty("vri.items.merge.radius", "1"));
+
+    private ItemMergeSystem() {
+    }
+
+    public static @NotNull EventNode<InstanceEvent> createEventNode() {
+        return EventNode.type("vri:item_merge", EventFilter.INSTANCE)
+                .addListener(AddEntityToInstanceEvent.class, event -> {
+                    if (!(event.getEntity() instanceof ItemEntity item)) return;
+                    if (!item.isMergeable()) {
+                        item.setTag(MERGEABLE, false);
+                    }
+                    // merging is handled here instead
+                    item.setMergeable(false);
+                })
+                .addListener(InstanceTickEvent.class, event -> {
+                    Instance instance = event.getInstance();
+                    if (instance.getWorldAge() % INTERVAL == 0) {
+                        mergeItems(instance);
+                    }
+                });
+    }
+
+    /**
+     * Merges the nearby items of the instance.
+     * @return the number of item entities removed
+     */
+    public static int mergeItems(@NotNull Instance instance) {
+        EntityTracker tracker = instance.getEntityTracker();
+        if (tracker.entities(EntityTracker.Target.ITEMS).size() < 2) return 0;
+
+        Long2ObjectOpenHashMap<List<ItemEntity>> cells = new Long2ObjectOpenHashMap<>();
+        List<ItemEntity> items = new ArrayList<>();
+        for (Chunk chunk : instance.getChunks()) {
+            for (ItemEntity item : tracker.chunkEntities(chunk.getChunkX(), chunk.getChunkZ(), EntityTracker.Target.ITEMS)) {
+                if (!item.getTag(MERGEABLE) || item.isRemoved()) continue;
+                Pos position = item.getPosition();
+                cells.computeIfAbsent(cell(cell(position.x()), cell(position.y()), cell(position.z())),
+                        key -> new ArrayList<>(2)).add(item);
+                items.add(item);
+            }
+        }
+
+        int removed = 0;
+        for (ItemEntity item : items) {
+            if (item.isRemoved()) continue;
+            Pos position = item.getPosition();
+            int x = cell(position.x()), y = cell(position.y()), z = cell(position.z());
+
+            neighbours:
+            for (int dx = -1; dx <= 1; dx++) {
+                for (int dy = -1; dy <= 1; dy++) {
+                    for (int dz = -1; dz <= 1; dz++) {
+                        List<ItemEntity> candidates = cells.get(cell(x + dx, y + dy, z + dz));
+                        if (candidates == null) continue;
+                        for (ItemEntity other : candidates) {
+                            if (other == item || other.isRemoved()) continue;
+                            if (other.getPosition().distanceSquared(position) > RADIUS * RADIUS) continue;
+
+                            ItemEntity target = other.getItemStack().amount() > item.getItemStack().amount() ? other : item;
+                            ItemEntity source = target == item ? other : item;
+                            if (merge(target, source)) removed++;
+                            if (item.isRemoved()) break neighbours;
+                        }
+                    }
+                }
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Moves as much of the source's items into the target as fits.
+     * @return true if the source was emptied and removed
+     */
+    public static boolean merge(@NotNull ItemEntity target, @NotNull ItemEntity source) {
+        ItemStack targetStack = target.getItemStack();
+        ItemStack sourceStack = source.getItemStack();
+        int moved = Math.min(sourceStack.amount(), targetStack.maxStackSize() - targetStack.amount());
+        if (moved <= 0 || !targetStack.isSimilar(sourceStack)) return false;
+
+        // the target can't be picked up before the source could have been
+        long sourcePickable = source.getSpawningTime() + source.getPickupDelay();
+        long delay = sourcePickable - target.getSpawningTime();
+        if (delay > target.getPickupDelay()) {
+            target.setPickupDelay(Duration.ofMillis(delay));
+        }
+
+        target.setItemStack(targetStack.withAmount(targetStack.amount() + moved));
+        if (moved == sourceStack.amount()) {
+            source.remove();
+            return true;
+        }
+        source.setItemStack(sourceStack.withAmount(sourceStack.amount() - moved));
+        return false;
+    }
+
+    private static int cell(double coordinate) {
+        return (int) Math.floor(coordinate / RADIUS);
+    }
+
+    // collisions only add candidates, which are then rejected by distance
+    private static long cell(int x, int y, int z) {
+        return ((long) (x & 0x1FFFFF) << 42) | ((long) (y & 0x1FFFFF) << 21) | (z & 0x1FFFFF);
+    }
+}
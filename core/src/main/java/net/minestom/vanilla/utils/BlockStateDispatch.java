@@ -0,0 +1,80 @@
+package net.minestom.vanilla.utils;
+
+import net.minestom.server.instance.block.Block;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.function.Function;
+
+/**
+ * A table of values indexed by block state id, e.g. the loot table of each block.
+ * <p>
+ * The table is computed once for every block, so lookups are a single array access. {@link #reload(Function)} builds
+ * a new table and swaps it in atomically, so readers see either the old or the new table, never a mix of both.
+ * </p>
+ *
+ * @param <T> the type of the values
+ */
+public final class BlockStateDispatch<T> {
+
+    private volatile Object[] byStateId;
+
+    private BlockStateDispatch(Object[] byStateId) {
+        this.byStateId = byStateId;
+    }
+
+    /**
+     * Builds a table from a function of each block, called once per block with its default state.
+     * Every state of the block shares the value.
+     *
+     * @param values the value of each block, or null if it has none
+     * @return the table
+     */
+    public static <T> @NotNull BlockStateDispatch<T> build(@NotNull Function<Block, @Nullable T> values) {
+        return new BlockStateDispatch<>(table(values));
+    }
+
+    private static Object[] table(Function<Block, ?> values) {
+        int maxStateId = 0;
+        for (Block block : Block.values()) {
+            for (Block state : block.possibleStates()) {
+                maxStateId = Math.max(maxStateId, state.stateId());
+            }
+        }
+
+        Object[] table = new Object[maxStateId + 1];
+        for (Block block : Block.values()) {
+            Object value = values.apply(block);
+            if (value == null) continue;
+            for (Block state : block.possibleStates()) {
+                table[state.stateId()] = value;
+            }
+        }
+        return table;
+    }
+
+    /**
+     * @return the value of the block's state, or null if it has none
+     */
+    public @Nullable T get(@NotNull Block block) {
+        return get(block.stateId());
+    }
+
+    /**
+     * @return the value of the block state, or null if it has none
+     */
+    public @Nullable T get(int stateId) {
+        Object[] table = byStateId;
+        //noinspection unchecked
+        return stateId >= 0 && stateId < table.length ? (T) table[stateId] : null;
+    }
+
+    /**
+     * Rebuilds the table, e.g. after the datapacks have been reloaded, and atomically replaces the current one.
+     *
+     * @param values the value of each block, or null if it has none
+     */
+    public void reload(@NotNull Function<Block, @Nullable T> values) {
+        byStateId = table(values);
+    }
+}
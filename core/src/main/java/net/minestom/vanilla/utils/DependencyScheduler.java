@@ -0,0 +1,184 @@
+package net.minestom.vanilla.utils;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Runs an action on each of a set of {@link DependencySorting.NamespaceDependent}s, such that each dependant only
+ * starts once all of its dependencies have completed.
+ * <p>
+ * The dependency graph is built once, in linear time. Independent dependants run concurrently on a bounded pool, and
+ * each starts as soon as its last dependency completes. Dependants that are ready at the same time are started in the
+ * order of the given comparator, so a single thread always runs them in the same order.
+ * </p>
+ */
+public class DependencyScheduler<T, ND extends DependencySorting.NamespaceDependent<T>> {
+
+    private final List<ND> order;
+    private final Map<T, ND> byIdentity;
+    private final Function<ND, String> names;
+
+    private DependencyScheduler(List<ND> order, Map<T, ND> byIdentity, Function<ND, String> names) {
+        this.order = order;
+        this.byIdentity = byIdentity;
+        this.names = names;
+    }
+
+    /**
+     * Builds the dependency graph of the given dependants.
+     *
+     * @param dependants the dependants
+     * @param comparator the order to start dependants that are ready at the same time
+     * @param names      the names of the dependants, used when reporting errors
+     * @throws IllegalStateException if a dependency is missing, or the dependencies form a cycle
+     */
+    public static <T, ND extends DependencySorting.NamespaceDependent<T>> @NotNull DependencyScheduler<T, ND> create(
+            @NotNull Collection<ND> dependants, @NotNull Comparator<ND> comparator, @NotNull Function<ND, String> names) {
+        Map<T, ND> byIdentity = new HashMap<>();
+        for (ND dependant : dependants) {
+            byIdentity.put(dependant.identity(), dependant);
+        }
+
+        // Kahn's algorithm, so that each edge is visited once
+        Map<T, Integer> remaining = new HashMap<>();
+        Map<T, List<ND>> dependents = new HashMap<>();
+        for (ND dependant : dependants) {
+            for (T dependency : dependant.dependencies()) {
+                if (!byIdentity.containsKey(dependency)) {
+                    throw new IllegalStateException("Missing dependency " + dependency + " for " + names.apply(dependant));
+                }
+                dependents.computeIfAbsent(dependency, ignored -> new ArrayList<>()).add(dependant);
+            }
+            remaining.put(dependant.identity(), dependant.dependencies().size());
+        }
+
+        PriorityQueue<ND> ready = new PriorityQueue<>(comparator);
+        for (ND dependant : dependants) {
+            if (dependant.dependencies().isEmpty()) ready.add(dependant);
+        }
+
+        List<ND> order = new ArrayList<>(dependants.size());
+        while (!ready.isEmpty()) {
+            ND next = ready.poll();
+            order.add(next);
+            for (ND dependent : dependents.getOrDefault(next.identity(), List.of())) {
+                if (remaining.merge(dependent.identity(), -1, Integer::sum) == 0) {
+                    ready.add(dependent);
+                }
+            }
+        }
+
+        if (order.size() != dependants.size()) {
+            throw new IllegalStateException("Dependency cycle: " + findCycle(dependants, order, byIdentity, names));
+        }
+
+        return new DependencyScheduler<>(List.copyOf(order), Map.copyOf(byIdentity), names);
+    }
+
+    private static <T, ND extends DependencySorting.NamespaceDependent<T>> String findCycle(
+            Collection<ND> dependants, List<ND> completed, Map<T, ND> byIdentity, Function<ND, String> names) {
+        Set<T> done = completed.stream().map(DependencySorting.NamespaceDependent::identity).collect(Collectors.toSet());
+        ND current = dependants.stream().filter(dependant -> !done.contains(dependant.identity())).findFirst().orElseThrow();
+
+        // Every unresolved dependant has an unresolved dependency, so walking them must eventually revisit one
+        List<ND> path = new ArrayList<>();
+        Map<T, Integer> visited = new HashMap<>();
+        while (!visited.containsKey(current.identity())) {
+            visited.put(current.identity(), path.size());
+            path.add(current);
+            current = current.dependencies().stream()
+                    .filter(dependency -> !done.contains(dependency))
+                    .map(byIdentity::get)
+                    .findFirst()
+                    .orElseThrow();
+        }
+
+        List<ND> cycle = new ArrayList<>(path.subList(visited.get(current.identity()), path.size()));
+        cycle.add(current);
+        return cycle.stream().map(names).collect(Collectors.joining(" -> "));
+    }
+
+    /**
+     * @return every dependant, in an order where each comes after all of its dependencies
+     */
+    public @NotNull List<ND> order() {
+        return order;
+    }
+
+    /**
+     * Runs the action on every dependant, using at most {@code parallelism} threads.
+     * With a parallelism of one, the action runs on the calling thread, in {@link #order()}.
+     * <p>
+     * If an action fails, nothing that depends on it is started, and the failure is rethrown once every running action
+     * has finished, along with the dependency path that led to the failing dependant.
+     * </p>
+     */
+    public void run(int parallelism, @NotNull Consumer<ND> action) {
+        if (parallelism <= 1) {
+            for (ND dependant : order) {
+                try {
+                    action.accept(dependant);
+                } catch (RuntimeException e) {
+                    throw failure(dependant, e);
+                }
+            }
+            return;
+        }
+
+        Map<T, Throwable> failures = new ConcurrentHashMap<>();
+        Map<T, CompletableFuture<Void>> futures = new HashMap<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(parallelism)) {
+            // in order, so that the dependencies' futures always exist
+            for (ND dependant : order) {
+                CompletableFuture<?>[] dependencies = dependant.dependencies().stream()
+                        .map(futures::get)
+                        .toArray(CompletableFuture[]::new);
+                futures.put(dependant.identity(), CompletableFuture.allOf(dependencies).thenRunAsync(() -> {
+                    try {
+                        action.accept(dependant);
+                    } catch (Throwable e) {
+                        failures.put(dependant.identity(), e);
+                        throw e;
+                    }
+                }, executor));
+            }
+
+            try {
+                CompletableFuture.allOf(futures.values().toArray(CompletableFuture[]::new)).join();
+            } catch (CompletionException ignored) {
+                // reported below, once everything has settled
+            }
+        }
+
+        for (ND dependant : order) {
+            Throwable failure = failures.get(dependant.identity());
+            if (failure != null) throw failure(dependant, failure);
+        }
+    }
+
+    private RuntimeException failure(ND dependant, Throwable cause) {
+        return new IllegalStateException("Failed to run " + path(dependant), cause);
+    }
+
+    /**
+     * @return the path from a dependant without dependencies to the given dependant
+     */
+    private String path(ND dependant) {
+        Deque<String> path = new ArrayDeque<>();
+        ND current = dependant;
+        while (true) {
+            path.addFirst(names.apply(current));
+            Optional<ND> dependency = current.dependencies().stream()
+                    .map(byIdentity::get)
+                    .min(Comparator.comparingInt(order::indexOf));
+            if (dependency.isEmpty()) break;
+            current = dependency.get();
+        }
+        return String.join(" -> ", path);
+    }
+}
@@ -1,9 +1,6 @@
 package net.minestom.vanilla.utils;
 
-import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Set;
+import java.util.*;
 
 public class DependencySorting {
 
@@ -13,25 +10,29 @@ public class DependencySorting {
     }
 
     public static <T, ND extends NamespaceDependent<T>> List<ND> sort(Set<ND> dependants) {
+        Map<T, ND> byIdentity = new HashMap<>();
+        for (ND dependant : dependants) {
+            byIdentity.put(dependant.identity(), dependant);
+        }
         List<ND> sorted = new ArrayList<>();
         Set<T> visited = new HashSet<>();
         for (ND dependant : dependants) {
-            visit(dependant, dependants, sorted, visited);
+            visit(dependant, byIdentity, sorted, visited);
         }
         return List.copyOf(sorted);
     }
 
-    private static <T, ND extends NamespaceDependent<T>> void visit(ND dependant, Set<ND> dependants, List<ND> sorted, Set<T> visited) {
+    private static <T, ND extends NamespaceDependent<T>> void visit(ND dependant, Map<T, ND> dependants, List<ND> sorted, Set<T> visited) {
         T identity = dependant.identity();
         if (visited.contains(identity)) {
             return;
         }
         visited.add(identity);
         for (T dependency : dependant.dependencies()) {
-            ND dependencyDependant = dependants.stream()
-                    .filter(d -> d.identity().equals(dependency))
-                    .findFirst()
-                    .orElseThrow(() -> new IllegalStateException("Missing dependency " + dependency + " for " + identity));
+            ND dependencyDependant = dependants.get(dependency);
+            if (dependencyDependant == null) {
+                throw new IllegalStateException("Missing dependency " + dependency + " for " + identity);
+            }
             visit(dependencyDependant, dependants, sorted, visited);
         }
         sorted.add(dependant);
@@ -0,0 +1,47 @@
+package net.minestom.vanilla.utils;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The values registered for registry ids, such as the behaviour of each block state id or material id.
+ * <p>
+ * Registrations copy the current {@link IdTable} and publish the copy, so lookups never lock: they read the current
+ * table and index it. Readers that make several lookups, e.g. over a chunk, can take the {@link #table()} once and
+ * see the same values throughout.
+ * </p>
+ *
+ * @param <T> the type of the values
+ */
+public final class IdDispatch<T> {
+
+    private volatile IdTable<T> table = IdTable.empty();
+
+    /**
+     * Registers the value of an id, replacing the previous one.
+     */
+    public synchronized void register(int id, @NotNull T value) {
+        table = table.with(id, value);
+    }
+
+    /**
+     * Registers the value of several ids at once, e.g. for every state of a block, replacing the previous ones.
+     */
+    public synchronized void register(int @NotNull [] ids, @NotNull T value) {
+        table = table.with(ids, value);
+    }
+
+    /**
+     * @return the value of the id, or null if it has none
+     */
+    public @Nullable T get(int id) {
+        return table.get(id);
+    }
+
+    /**
+     * @return the current table, which later registrations leave unchanged
+     */
+    public @NotNull IdTable<T> table() {
+        return table;
+    }
+}
@@ -0,0 +1,86 @@
+package net.minestom.vanilla.utils;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * An immutable table of values indexed by a registry id, such as a block state id or a material id.
+ * <p>
+ * Lookups are a single array access. Adding a value copies the table, which is meant for registrations rather than
+ * hot paths, see {@link IdDispatch}.
+ * </p>
+ *
+ * @param <T> the type of the values
+ */
+public final class IdTable<T> {
+
+    private static final IdTable<?> EMPTY = new IdTable<>(new Object[0], new int[0]);
+
+    private final Object[] byId;
+    private final int[] ids;
+
+    private IdTable(Object[] byId, int[] ids) {
+        this.byId = byId;
+        this.ids = ids;
+    }
+
+    public static <T> @NotNull IdTable<T> empty() {
+        //noinspection unchecked
+        return (IdTable<T>) EMPTY;
+    }
+
+    /**
+     * @return the value of the id, or null if it has none
+     */
+    public @Nullable T get(int id) {
+        //noinspection unchecked
+        return id >= 0 && id < byId.length ? (T) byId[id] : null;
+    }
+
+    /**
+     * @return the number of ids with a value
+     */
+    public int size() {
+        return ids.length;
+    }
+
+    public boolean isEmpty() {
+        return ids.length == 0;
+    }
+
+    /**
+     * @return the id with a value at the given index, in the order they were first added
+     */
+    public int id(int index) {
+        return ids[index];
+    }
+
+    /**
+     * @return a copy of this table with the value of the id replaced
+     */
+    public @NotNull IdTable<T> with(int id, @NotNull T value) {
+        return with(new int[]{id}, value);
+    }
+
+    /**
+     * @return a copy of this table with the value of each id replaced, e.g. for every state of a block
+     */
+    public @NotNull IdTable<T> with(int @NotNull [] ids, @NotNull T value) {
+        int length = byId.length;
+        for (int id : ids) {
+            if (id < 0) throw new IllegalArgumentException("Negative id: " + id);
+            length = Math.max(length, id + 1);
+        }
+
+        Object[] byId = Arrays.copyOf(this.byId, length);
+        int[] newIds = Arrays.copyOf(this.ids, this.ids.length + ids.length);
+        int size = this.ids.length;
+        for (int id : ids) {
+            if (byId[id] == null) newIds[size++] = id;
+            byId[id] = value;
+        }
+        return new IdTable<>(byId, size == newIds.length ? newIds : Arrays.copyOf(newIds, size));
+    }
+}
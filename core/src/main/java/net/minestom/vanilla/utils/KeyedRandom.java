@@ -0,0 +1,148 @@
+package net.minestom.vanilla.utils;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
+
+/**
+ * Hands out random generators keyed by an arbitrary object, without any locking on the hot path.
+ * <p>
+ * Each key has a root {@link RandomGenerator.SplittableGenerator}, seeded from the world seed and the key's hash code.
+ * Stream {@code n} of a key is the {@code n}th generator split from its root, whichever thread asks for it first, so a
+ * (seed, key, stream) always gives the same sequence. Each thread draws from its own stream, and caches its generators
+ * in a thread local map, so generators are never shared between threads and drawing doesn't contend.
+ * </p>
+ * <p>
+ * A thread uses the stream given to {@link #assignStream(int)}, or else the next unused one when it first draws.
+ * Threads that need reproducible values across runs, such as a fixed set of workers, should be assigned their streams.
+ * </p>
+ * <p>
+ * Keys are held weakly and compared with {@link Object#equals(Object)}, like a {@link WeakHashMap}.
+ * </p>
+ */
+public class KeyedRandom {
+
+    private static final RandomGeneratorFactory<RandomGenerator.SplittableGenerator> FACTORY =
+            RandomGeneratorFactory.of("L64X128MixRandom");
+
+    private final long seed;
+    private final Map<WeakKey, Streams> roots = new ConcurrentHashMap<>();
+    private final ReferenceQueue<Object> collected = new ReferenceQueue<>();
+    private final AtomicInteger nextStream = new AtomicInteger();
+    private final ThreadLocal<ThreadRandoms> local = ThreadLocal.withInitial(() -> new ThreadRandoms(nextStream.getAndIncrement()));
+
+    public KeyedRandom(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Makes the calling thread draw from the given stream from now on. No two threads should use the same stream.
+     *
+     * @param stream the stream, at least zero
+     */
+    public void assignStream(int stream) {
+        if (stream < 0) throw new IllegalArgumentException("Stream must not be negative: " + stream);
+        local.set(new ThreadRandoms(stream));
+    }
+
+    /**
+     * Returns the calling thread's generator for the given key.
+     * The returned random must not be shared with other threads, and does not support {@link Random#setSeed(long)}.
+     *
+     * @param key the key
+     * @return the random
+     */
+    public @NotNull Random random(@NotNull Object key) {
+        ThreadRandoms randoms = local.get();
+        Random random = randoms.randoms.get(key);
+        if (random == null) {
+            random = Random.from(streams(key).get(randoms.stream));
+            randoms.randoms.put(key, random);
+        }
+        return random;
+    }
+
+    private Streams streams(Object key) {
+        expunge();
+        Streams streams = roots.get(new WeakKey(key, null));
+        if (streams != null) return streams;
+        return roots.computeIfAbsent(new WeakKey(key, collected), ignored -> new Streams(FACTORY.create(mix(seed, key.hashCode()))));
+    }
+
+    private void expunge() {
+        Reference<?> reference;
+        while ((reference = collected.poll()) != null) {
+            //noinspection SuspiciousMethodCalls
+            roots.remove(reference);
+        }
+    }
+
+    /**
+     * SplitMix64's finaliser, so that nearby seeds and hash codes give unrelated roots.
+     */
+    private static long mix(long seed, int hash) {
+        long z = seed + 0x9E3779B97F4A7C15L * (hash + 1L);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private record ThreadRandoms(int stream, Map<Object, Random> randoms) {
+        ThreadRandoms(int stream) {
+            this(stream, new WeakHashMap<>());
+        }
+    }
+
+    /**
+     * The streams split from a key's root so far, in order. Only locked when a thread first draws for the key.
+     */
+    private static final class Streams {
+        private final RandomGenerator.SplittableGenerator root;
+        private final List<RandomGenerator.SplittableGenerator> streams = new ArrayList<>();
+
+        Streams(RandomGenerator.SplittableGenerator root) {
+            this.root = root;
+        }
+
+        synchronized RandomGenerator.SplittableGenerator get(int stream) {
+            while (streams.size() <= stream) {
+                streams.add(root.split());
+            }
+            return streams.get(stream);
+        }
+    }
+
+    private static final class WeakKey extends WeakReference<Object> {
+        private final int hash;
+
+        WeakKey(Object key, ReferenceQueue<Object> queue) {
+            super(key, queue);
+            this.hash = key.hashCode();
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof WeakKey other) || hash != other.hash) return false;
+            Object key = get();
+            return key != null && Objects.equals(key, other.get());
+        }
+    }
+}
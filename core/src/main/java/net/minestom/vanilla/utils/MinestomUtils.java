@@ -5,14 +5,19 @@ import net.minestom.server.MinecraftServer;
 import net.minestom.server.component.DataComponents;
 import net.minestom.server.entity.EntityType;
 import net.minestom.server.instance.block.Block;
+import net.minestom.server.instance.palette.Palette;
 import net.minestom.server.item.ItemStack;
 import net.minestom.server.item.Material;
 import net.minestom.server.item.component.EnchantmentList;
 import net.minestom.server.item.enchant.Enchantment;
 import net.minestom.server.registry.RegistryKey;
+import org.jetbrains.annotations.NotNull;
 
 public class MinestomUtils {
 
+    // block palettes map up to 8 bits per entry through their palette, and hold state ids directly above that
+    private static final int MAX_INDIRECT_BITS = 8;
+
     /**
      * Initializes the resources of Minestom.
      * This is used to not interfere with the timing of initialising the vanilla modules.
@@ -47,4 +52,26 @@ public class MinestomUtils {
         if (enchantment == null) return null;
         return getEnchantKey(enchantment);
     }
+
+    /**
+     * Tests the distinct values of a palette against a table, without reading its entries: the single value of the
+     * palette, or each value of its indirect palette. Direct palettes can't be tested this way, so they may always
+     * contain some of the ids.
+     *
+     * @return false if the palette holds none of the table's ids
+     */
+    public static boolean mayContainAny(@NotNull Palette palette, @NotNull IdTable<?> ids) {
+        int single = palette.singleValue();
+        if (single >= 0) return ids.get(single) != null;
+        int bits = palette.bitsPerEntry();
+        if (bits > MAX_INDIRECT_BITS) return true;
+        try {
+            for (int index = 0; index < 1 << bits; index++) {
+                if (ids.get(palette.paletteIndexToValue(index)) != null) return true;
+            }
+        } catch (IndexOutOfBoundsException e) {
+            // the palette holds fewer values than its bits allow
+        }
+        return false;
+    }
 }
@@ -3,8 +3,9 @@ package net.minestom.vanilla.files;
 
 import org.junit.jupiter.api.Test;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
 
 public class FileSystemTests {
     @Test
@@ -34,4 +35,50 @@ public class FileSystemTests {
         assertEquals(1, fs.folder("testDir").files().size());
         assertEquals("Hello, world!", fs.folder("testDir").file("test4.txt"));
     }
+
+    @Test
+    public void testLazyParsesOnce() {
+        DynamicFileSystem<String> fs = new DynamicFileSystem<>();
+        fs.addFile("a.txt", "1");
+        fs.addFolder("nested").addFile("b.txt", "2");
+
+        AtomicInteger parses = new AtomicInteger();
+        FileSystem<Integer> lazy = fs.map(str -> {
+            parses.incrementAndGet();
+            return Integer.parseInt(str);
+        }).lazy("root");
+
+        assertEquals(0, parses.get());
+        assertEquals(1, lazy.file("a.txt"));
+        assertEquals(1, lazy.file("a.txt"));
+        assertEquals(2, lazy.folder("nested").file("b.txt"));
+        assertEquals(2, lazy.folder("nested").file("b.txt"));
+        assertEquals(2, parses.get());
+    }
+
+    @Test
+    public void testLazyReportsPath() {
+        DynamicFileSystem<String> fs = new DynamicFileSystem<>();
+        fs.addFolder("nested").addFile("broken.txt", "not a number");
+
+        FileSystem<Integer> lazy = fs.map((String str) -> Integer.parseInt(str)).lazy("root");
+        Exception e = assertThrows(IllegalStateException.class, () -> lazy.folder("nested").file("broken.txt"));
+        assertTrue(e.getMessage().contains("root/nested/broken.txt"), e.getMessage());
+    }
+
+    @Test
+    public void testLazyMissingFile() {
+        DynamicFileSystem<String> fs = new DynamicFileSystem<>();
+        fs.addFile("a.txt", "1");
+
+        AtomicInteger parses = new AtomicInteger();
+        FileSystem<Integer> lazy = fs.map(str -> {
+            parses.incrementAndGet();
+            return Integer.parseInt(str);
+        }).lazy("root");
+
+        assertNull(lazy.file("missing.txt"));
+        assertNull(lazy.folder("nested").file("missing.txt"));
+        assertEquals(0, parses.get());
+    }
 }
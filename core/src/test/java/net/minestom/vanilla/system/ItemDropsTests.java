@@ -0,0 +1,39 @@
+package net.minestom.vanilla.system;
+
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.item.ItemStack;
+import net.minestom.server.item.Material;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ItemDropsTests {
+
+    @BeforeAll
+    public static void init() {
+        MinecraftServer.init();
+    }
+
+    @Test
+    public void testCoalesce() {
+        List<ItemStack> drops = List.of(
+                ItemStack.of(Material.STONE, 40),
+                ItemStack.of(Material.DIRT),
+                ItemStack.AIR,
+                ItemStack.of(Material.STONE, 40),
+                ItemStack.of(Material.DIRT, 2));
+
+        assertEquals(List.of(
+                ItemStack.of(Material.STONE, 64),
+                ItemStack.of(Material.DIRT, 3),
+                ItemStack.of(Material.STONE, 16)), ItemDrops.coalesce(drops));
+
+        // unstackable items are never merged
+        List<ItemStack> swords = List.of(ItemStack.of(Material.DIAMOND_SWORD), ItemStack.of(Material.DIAMOND_SWORD));
+        assertEquals(swords, ItemDrops.coalesce(swords));
+        assertEquals(List.of(), ItemDrops.coalesce(List.of(ItemStack.AIR)));
+    }
+}
@@ -0,0 +1,72 @@
+package net.minestom.vanilla.system;
+
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.coordinate.Pos;
+import net.minestom.server.entity.ItemEntity;
+import net.minestom.server.instance.EntityTracker;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.item.ItemStack;
+import net.minestom.server.item.Material;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ItemMergeSystemTests {
+
+    @BeforeAll
+    public static void init() {
+        MinecraftServer.init();
+    }
+
+    @Test
+    public void testMerge() {
+        ItemEntity target = new ItemEntity(ItemStack.of(Material.STONE, 60));
+        ItemEntity source = new ItemEntity(ItemStack.of(Material.STONE, 10));
+        source.setPickupDelay(Duration.ofSeconds(5));
+
+        assertFalse(ItemMergeSystem.merge(target, source));
+        assertEquals(64, target.getItemStack().amount());
+        assertEquals(6, source.getItemStack().amount());
+        assertTrue(target.getPickupDelay() >= source.getPickupDelay() + source.getSpawningTime() - target.getSpawningTime());
+
+        ItemEntity other = new ItemEntity(ItemStack.of(Material.DIRT, 1));
+        assertFalse(ItemMergeSystem.merge(source, other));
+        assertEquals(1, other.getItemStack().amount());
+    }
+
+    @Test
+    public void testMergesNearbyItems() {
+        Instance instance = MinecraftServer.getInstanceManager().createInstanceContainer();
+        instance.loadChunk(0, 0).join();
+        instance.loadChunk(1, 0).join();
+
+        List<ItemEntity> items = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            ItemEntity item = new ItemEntity(ItemStack.of(Material.STONE));
+            item.setInstance(instance, new Pos(8 + (i % 3) * 0.1, 64, 8)).join();
+            items.add(item);
+        }
+        // across a chunk border, but within the merge radius
+        ItemEntity left = new ItemEntity(ItemStack.of(Material.DIRT));
+        ItemEntity right = new ItemEntity(ItemStack.of(Material.DIRT));
+        left.setInstance(instance, new Pos(15.8, 64, 8)).join();
+        right.setInstance(instance, new Pos(16.2, 64, 8)).join();
+        // too far away
+        ItemEntity far = new ItemEntity(ItemStack.of(Material.DIRT));
+        far.setInstance(instance, new Pos(24, 64, 8)).join();
+
+        assertEquals(98 + 1, ItemMergeSystem.mergeItems(instance));
+
+        List<Integer> stone = items.stream().filter(item -> !item.isRemoved()).map(item -> item.getItemStack().amount()).sorted().toList();
+        assertEquals(List.of(36, 64), stone);
+        assertTrue(left.isRemoved() != right.isRemoved());
+        assertFalse(far.isRemoved());
+        assertEquals(4, instance.getEntityTracker().entities(EntityTracker.Target.ITEMS).stream()
+                .filter(item -> !item.isRemoved()).count());
+    }
+}
@@ -0,0 +1,39 @@
+package net.minestom.vanilla.utils;
+
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.instance.block.Block;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BlockStateDispatchTests {
+
+    @BeforeAll
+    public static void init() {
+        MinecraftServer.init();
+    }
+
+    @Test
+    public void testEveryStateSharesTheBlockValue() {
+        BlockStateDispatch<String> dispatch = BlockStateDispatch.build(block -> block == Block.AIR ? null : block.key().value());
+        for (Block state : Block.OAK_STAIRS.possibleStates()) {
+            assertEquals("oak_stairs", dispatch.get(state));
+        }
+        assertEquals("stone", dispatch.get(Block.STONE.stateId()));
+        assertNull(dispatch.get(Block.AIR));
+        assertNull(dispatch.get(-1));
+        assertNull(dispatch.get(Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void testReloadSwapsTable() {
+        BlockStateDispatch<String> dispatch = BlockStateDispatch.build(block -> block.key().value());
+        assertEquals("oak_stairs", dispatch.get(Block.OAK_STAIRS.withProperty("facing", "east")));
+
+        dispatch.reload(block -> block == Block.STONE ? "reloaded" : null);
+        assertEquals("reloaded", dispatch.get(Block.STONE));
+        assertNull(dispatch.get(Block.OAK_STAIRS));
+        assertNull(dispatch.get(-1));
+    }
+}
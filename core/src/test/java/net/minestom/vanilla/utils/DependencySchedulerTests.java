@@ -0,0 +1,94 @@
+package net.minestom.vanilla.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DependencySchedulerTests {
+
+    private record Node(String identity, Set<String> dependencies) implements DependencySorting.NamespaceDependent<String> {
+        Node(String identity, String... dependencies) {
+            this(identity, Set.of(dependencies));
+        }
+    }
+
+    private static DependencyScheduler<String, Node> scheduler(Node... nodes) {
+        return DependencyScheduler.create(List.of(nodes), Comparator.comparing(Node::identity), Node::identity);
+    }
+
+    @Test
+    public void testDeterministicOrder() {
+        DependencyScheduler<String, Node> scheduler = scheduler(
+                new Node("loot", "datapack"),
+                new Node("crafting", "datapack"),
+                new Node("datapack"),
+                new Node("blocks"),
+                new Node("commands", "blocks", "loot"));
+
+        List<String> order = scheduler.order().stream().map(Node::identity).toList();
+        assertEquals(List.of("blocks", "datapack", "crafting", "loot", "commands"), order);
+
+        List<String> ran = new ArrayList<>();
+        scheduler.run(1, node -> ran.add(node.identity()));
+        assertEquals(order, ran);
+    }
+
+    @Test
+    public void testDependenciesCompleteFirst() {
+        List<Node> nodes = new ArrayList<>();
+        for (int i = 0; i < 64; i++) {
+            Set<String> dependencies = new HashSet<>();
+            if (i >= 2) dependencies.add("n" + (i / 2));
+            if (i >= 3) dependencies.add("n" + (i - 3));
+            nodes.add(new Node("n" + i, dependencies));
+        }
+        DependencyScheduler<String, Node> scheduler = DependencyScheduler.create(nodes,
+                Comparator.comparing(Node::identity), Node::identity);
+
+        Set<String> completed = ConcurrentHashMap.newKeySet();
+        scheduler.run(8, node -> {
+            for (String dependency : node.dependencies()) {
+                assertTrue(completed.contains(dependency), () -> node.identity() + " started before " + dependency);
+            }
+            completed.add(node.identity());
+        });
+        assertEquals(nodes.size(), completed.size());
+    }
+
+    @Test
+    public void testCycleReported() {
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> scheduler(
+                new Node("a", "b"),
+                new Node("b", "c"),
+                new Node("c", "a"),
+                new Node("d")));
+        assertTrue(e.getMessage().contains("a -> b -> c -> a"), e.getMessage());
+    }
+
+    @Test
+    public void testMissingDependencyReported() {
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> scheduler(new Node("a", "b")));
+        assertEquals("Missing dependency b for a", e.getMessage());
+    }
+
+    @Test
+    public void testFailureSkipsDependents() {
+        DependencyScheduler<String, Node> scheduler = scheduler(
+                new Node("datapack"),
+                new Node("loot", "datapack"),
+                new Node("blocks", "loot"),
+                new Node("commands"));
+
+        Set<String> ran = ConcurrentHashMap.newKeySet();
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> scheduler.run(4, node -> {
+            if (node.identity().equals("loot")) throw new IllegalArgumentException("broken");
+            ran.add(node.identity());
+        }));
+        assertEquals("Failed to run datapack -> loot", e.getMessage());
+        assertInstanceOf(IllegalArgumentException.class, e.getCause());
+        assertEquals(Set.of("datapack", "commands"), ran);
+    }
+}
@@ -0,0 +1,49 @@
+package net.minestom.vanilla.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IdDispatchTests {
+
+    @Test
+    public void testRegistration() {
+        IdDispatch<String> dispatch = new IdDispatch<>();
+        assertTrue(dispatch.table().isEmpty());
+        assertNull(dispatch.get(0));
+        assertNull(dispatch.get(-1));
+
+        dispatch.register(5, "five");
+        dispatch.register(new int[]{1, 2, 5}, "low");
+        assertEquals("low", dispatch.get(1));
+        assertEquals("low", dispatch.get(5));
+        assertNull(dispatch.get(3));
+        assertNull(dispatch.get(100));
+
+        IdTable<String> table = dispatch.table();
+        assertEquals(3, table.size());
+        assertEquals(5, table.id(0));
+        assertEquals(1, table.id(1));
+        assertEquals(2, table.id(2));
+    }
+
+    @Test
+    public void testSnapshots() {
+        IdDispatch<String> dispatch = new IdDispatch<>();
+        dispatch.register(1, "one");
+        IdTable<String> before = dispatch.table();
+
+        dispatch.register(1, "uno");
+        dispatch.register(2, "two");
+        assertEquals("one", before.get(1));
+        assertNull(before.get(2));
+        assertEquals(1, before.size());
+        assertEquals("uno", dispatch.get(1));
+        assertEquals(2, dispatch.table().size());
+    }
+
+    @Test
+    public void testNegativeIds() {
+        assertThrows(IllegalArgumentException.class, () -> IdTable.<String>empty().with(-1, "negative"));
+    }
+}
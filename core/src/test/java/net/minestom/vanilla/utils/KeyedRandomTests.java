@@ -0,0 +1,89 @@
+package net.minestom.vanilla.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class KeyedRandomTests {
+
+    private static long[] sequence(Random random) {
+        long[] values = new long[16];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextLong();
+        }
+        return values;
+    }
+
+    private static <T> T onNewThread(Callable<T> task) throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            return executor.submit(task).get();
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testSameKeySameRandom() {
+        KeyedRandom randoms = new KeyedRandom(42);
+        assertSame(randoms.random("overworld"), randoms.random("overworld"));
+        assertSame(randoms.random("overworld"), randoms.random(new String("overworld")));
+        assertNotSame(randoms.random("overworld"), randoms.random("the_nether"));
+    }
+
+    @Test
+    public void testDeterministicFromSeed() {
+        long[] first = sequence(new KeyedRandom(42).random("overworld"));
+        long[] second = sequence(new KeyedRandom(42).random("overworld"));
+        long[] otherSeed = sequence(new KeyedRandom(43).random("overworld"));
+        long[] otherKey = sequence(new KeyedRandom(42).random("the_nether"));
+
+        assertArrayEquals(first, second);
+        assertFalse(Arrays.equals(first, otherSeed));
+        assertFalse(Arrays.equals(first, otherKey));
+    }
+
+    @Test
+    public void testEachThreadHasItsOwnRandom() throws Exception {
+        KeyedRandom randoms = new KeyedRandom(42);
+        Random main = randoms.random("overworld");
+        Random other = onNewThread(() -> randoms.random("overworld"));
+        assertNotSame(main, other);
+
+        // the second stream of the key, whichever thread draws first
+        long[] expected = sequence(other);
+        KeyedRandom reversed = new KeyedRandom(42);
+        reversed.assignStream(1);
+        long[] actual = sequence(reversed.random("overworld"));
+        assertArrayEquals(expected, actual);
+    }
+
+    @Test
+    public void testAssignedStreamsAreReproducible() throws Exception {
+        KeyedRandom first = new KeyedRandom(7);
+        long[] expected = onNewThread(() -> {
+            first.assignStream(3);
+            return sequence(first.random("overworld"));
+        });
+
+        // other threads draw from the key before, and the stream still gives the same values
+        KeyedRandom second = new KeyedRandom(7);
+        sequence(second.random("overworld"));
+        sequence(onNewThread(() -> second.random("overworld")));
+        long[] actual = onNewThread(() -> {
+            second.assignStream(3);
+            return sequence(second.random("overworld"));
+        });
+        assertArrayEquals(expected, actual);
+
+        assertFalse(Arrays.equals(expected, sequence(new KeyedRandom(7).random("overworld"))));
+    }
+
+    @Test
+    public void testNegativeStream() {
+        assertThrows(IllegalArgumentException.class, () -> new KeyedRandom(0).assignStream(-1));
+    }
+}
@@ -2,4 +2,14 @@ dependencies {
     compileOnly(project(":core"))
     compileOnly(project(":datapack"))
     implementation("net.goldenstack:window:${project.property("window_version")}")
-}
\ No newline at end of file
+
+    // Tests
+    testImplementation(platform("org.junit:junit-bom:5.9.1"))
+    testImplementation("org.junit.jupiter:junit-jupiter")
+    testImplementation(project(":core"))
+    testImplementation(project(":datapack"))
+}
+
+tasks.test {
+    useJUnitPlatform()
+}
@@ -127,6 +127,7 @@ public class CraftingFeature {
 
         // Parse recipes into usable form
         Recipes recipes = Recipes.fromRaw(recipeMap);
+        RecipeTables.register(process, RecipeTables.build(recipes));
 
         return EventNode.all("vri:recipes")
                 .addChild(new CraftingRecipes(recipes, process).init())
@@ -0,0 +1,285 @@
+package net.minestom.vanilla.crafting;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntLinkedOpenHashSet;
+import it.unimi.dsi.fastutil.ints.IntSet;
+import net.minestom.server.item.ItemStack;
+import net.minestom.server.item.Material;
+import net.minestom.server.registry.RegistryTag;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Indexes the crafting grid recipes by their ingredients, so that searching a grid only checks the recipes that could
+ * match it, no matter how many recipes there are.
+ * <ul>
+ *     <li>Shapeless recipes whose ingredients are single materials are keyed by the sorted material ids of their
+ *     ingredients. The others are listed under each material their ingredients accept, and only the list of the
+ *     grid's rarest material is checked.</li>
+ *     <li>Shaped recipes are grouped by the size of their pattern, and each cell of a group maps material ids to the
+ *     bitset of recipes accepting that material there. Matching a grid is the intersection of the bitsets of its
+ *     cells.</li>
+ *     <li>Transmute recipes are listed under each material they accept.</li>
+ * </ul>
+ * Tags are expanded to the ids of the materials they contain when the index is built. Recipes keep the iteration order of the maps
+ * they were indexed from, so the first match is the one a linear scan of those maps would find.
+ */
+public final class CraftingIndex {
+
+    private final @NotNull Map<Signature, List<Ordered<Recipe.Crafting.Shapeless>>> exactShapeless;
+    private final @NotNull Int2ObjectOpenHashMap<List<Ordered<Recipe.Crafting.Shapeless>>> taggedShapeless;
+    private final @NotNull Map<Long, ShapedGroup> shaped;
+    private final @NotNull Int2ObjectOpenHashMap<List<Recipe.Crafting.Transmute>> transmute;
+
+    private CraftingIndex(@NotNull Map<Signature, List<Ordered<Recipe.Crafting.Shapeless>>> exactShapeless,
+                          @NotNull Int2ObjectOpenHashMap<List<Ordered<Recipe.Crafting.Shapeless>>> taggedShapeless,
+                          @NotNull Map<Long, ShapedGroup> shaped,
+                          @NotNull Int2ObjectOpenHashMap<List<Recipe.Crafting.Transmute>> transmute) {
+        this.exactShapeless = exactShapeless;
+        this.taggedShapeless = taggedShapeless;
+        this.shaped = shaped;
+        this.transmute = transmute;
+    }
+
+    private record Ordered<T>(int ordinal, @NotNull T recipe) {
+    }
+
+    // sorted material ids
+    private record Signature(int @NotNull [] ids) {
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Signature other && Arrays.equals(ids, other.ids);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(ids);
+        }
+    }
+
+    /**
+     * The shaped recipes of one pattern size. {@code cells[cell]} maps material ids to the recipes accepting them in
+     * that cell, and {@code wildcards[cell]} holds the recipes accepting anything there.
+     */
+    private record ShapedGroup(@NotNull List<Recipe.Crafting.Shaped> recipes,
+                               @NotNull Int2ObjectOpenHashMap<long[]> @NotNull [] cells,
+                               long @NotNull [] @NotNull [] wildcards) {
+    }
+
+    public static @NotNull CraftingIndex build(@NotNull CraftingFeature.Recipes.Crafting crafting) {
+        Map<RegistryTag<Material>, int[]> expanded = new HashMap<>();
+
+        // Shapeless
+        Map<Signature, List<Ordered<Recipe.Crafting.Shapeless>>> exactShapeless = new HashMap<>();
+        Int2ObjectOpenHashMap<List<Ordered<Recipe.Crafting.Shapeless>>> taggedShapeless = new Int2ObjectOpenHashMap<>();
+        int ordinal = 0;
+        for (Recipe.Crafting.Shapeless recipe : crafting.shapeless().values()) {
+            Ordered<Recipe.Crafting.Shapeless> ordered = new Ordered<>(ordinal++, recipe);
+
+            int[] ids = new int[recipe.ingredients().size()];
+            boolean exact = true;
+            for (int i = 0; i < ids.length && exact; i++) {
+                int[] materials = expand(expanded, recipe.ingredients().get(i));
+                exact = materials.length == 1;
+                if (exact) ids[i] = materials[0];
+            }
+
+            if (exact) {
+                Arrays.sort(ids);
+                exactShapeless.computeIfAbsent(new Signature(ids), key -> new ArrayList<>(1)).add(ordered);
+                continue;
+            }
+
+            IntSet accepted = new IntLinkedOpenHashSet();
+            for (RegistryTag<Material> ingredient : recipe.ingredients()) {
+                for (int id : expand(expanded, ingredient)) accepted.add(id);
+            }
+            for (int id : accepted.toIntArray()) {
+                taggedShapeless.computeIfAbsent(id, key -> new ArrayList<>()).add(ordered);
+            }
+        }
+
+        // Shaped
+        Map<Long, List<Recipe.Crafting.Shaped>> bySize = new LinkedHashMap<>();
+        for (Recipe.Crafting.Shaped recipe : crafting.shaped().values()) {
+            bySize.computeIfAbsent(size(recipe.pattern().getFirst().length(), recipe.pattern().size()),
+                    key -> new ArrayList<>()).add(recipe);
+        }
+        Map<Long, ShapedGroup> shaped = new HashMap<>();
+        bySize.forEach((size, recipes) -> {
+            List<String> pattern = recipes.getFirst().pattern();
+            shaped.put(size, group(expanded, pattern.getFirst().length(), pattern.size(), recipes));
+        });
+
+        // Transmute
+        Int2ObjectOpenHashMap<List<Recipe.Crafting.Transmute>> transmute = new Int2ObjectOpenHashMap<>();
+        for (Recipe.Crafting.Transmute recipe : crafting.transmute().values()) {
+            IntSet accepted = new IntLinkedOpenHashSet();
+            for (int id : expand(expanded, recipe.input())) accepted.add(id);
+            for (int id : expand(expanded, recipe.material())) accepted.add(id);
+            for (int id : accepted.toIntArray()) {
+                transmute.computeIfAbsent(id, key -> new ArrayList<>()).add(recipe);
+            }
+        }
+
+        return new CraftingIndex(exactShapeless, taggedShapeless, shaped, transmute);
+    }
+
+    private static @NotNull ShapedGroup group(@NotNull Map<RegistryTag<Material>, int[]> expanded, int width, int height,
+                                              @NotNull List<Recipe.Crafting.Shaped> recipes) {
+        final RegistryTag<Material> air = RegistryTag.direct(Material.AIR);
+        final int words = (recipes.size() + 63) >>> 6;
+
+        @SuppressWarnings("unchecked")
+        Int2ObjectOpenHashMap<long[]>[] cells = new Int2ObjectOpenHashMap[width * height];
+        long[][] wildcards = new long[width * height][words];
+        for (int cell = 0; cell < cells.length; cell++) cells[cell] = new Int2ObjectOpenHashMap<>();
+
+        for (int index = 0; index < recipes.size(); index++) {
+            Recipe.Crafting.Shaped recipe = recipes.get(index);
+            for (int row = 0; row < height; row++) {
+                String rowPattern = recipe.pattern().get(row);
+                for (int col = 0; col < width; col++) {
+                    int cell = row * width + col;
+                    // like the linear check, cells past the end of a shorter row aren't checked
+                    if (col >= rowPattern.length()) {
+                        wildcards[cell][index >>> 6] |= 1L << index;
+                        continue;
+                    }
+                    RegistryTag<Material> tag = recipe.key().getOrDefault(String.valueOf(rowPattern.charAt(col)), air);
+                    for (int id : expand(expanded, tag)) {
+                        cells[cell].computeIfAbsent(id, key -> new long[words])[index >>> 6] |= 1L << index;
+                    }
+                }
+            }
+        }
+        for (Int2ObjectOpenHashMap<long[]> cell : cells) cell.trim();
+        return new ShapedGroup(List.copyOf(recipes), cells, wildcards);
+    }
+
+    static int @NotNull [] expand(@NotNull Map<RegistryTag<Material>, int[]> expanded, @NotNull RegistryTag<Material> tag) {
+        return expanded.computeIfAbsent(tag, key -> {
+            // checking every material matches RegistryTag#contains exactly, however the tag is backed
+            return Material.values().stream().filter(key::contains).mapToInt(Material::id).sorted().toArray();
+        });
+    }
+
+    private static long size(int width, int height) {
+        return ((long) width << 32) | (height & 0xFFFFFFFFL);
+    }
+
+    /**
+     * @return the first shapeless recipe matching the given non-air items, or null if there is none
+     */
+    public @Nullable Recipe.Crafting.Shapeless searchShapeless(@NotNull List<ItemStack> nonAir, @NotNull CraftingRecipes checker) {
+        int[] ids = new int[nonAir.size()];
+        for (int i = 0; i < ids.length; i++) ids[i] = nonAir.get(i).material().id();
+        Arrays.sort(ids);
+
+        Ordered<Recipe.Crafting.Shapeless> found = null;
+        List<Ordered<Recipe.Crafting.Shapeless>> exact = exactShapeless.get(new Signature(ids));
+        if (exact != null) {
+            for (Ordered<Recipe.Crafting.Shapeless> candidate : exact) {
+                if (checker.tryShapeless(candidate.recipe(), nonAir)) {
+                    found = candidate;
+                    break;
+                }
+            }
+        }
+
+        // a tagged recipe matching the grid accepts each of its materials, so the rarest one has every candidate
+        List<Ordered<Recipe.Crafting.Shapeless>> tagged = null;
+        for (int i = 0; i < ids.length; i++) {
+            if (i > 0 && ids[i] == ids[i - 1]) continue;
+            List<Ordered<Recipe.Crafting.Shapeless>> candidates = taggedShapeless.get(ids[i]);
+            if (candidates == null) {
+                tagged = null;
+                break;
+            }
+            if (tagged == null || candidates.size() < tagged.size()) tagged = candidates;
+        }
+        if (tagged != null) {
+            for (Ordered<Recipe.Crafting.Shapeless> candidate : tagged) {
+                if (found != null && candidate.ordinal() > found.ordinal()) break;
+                if (candidate.recipe().ingredients().size() != ids.length) continue;
+                if (checker.tryShapeless(candidate.recipe(), nonAir)) {
+                    found = candidate;
+                    break;
+                }
+            }
+        }
+        return found == null ? null : found.recipe();
+    }
+
+    /**
+     * @return the first shaped recipe matching the given grid, or null if there is none
+     */
+    public @Nullable Recipe.Crafting.Shaped searchShaped(int width, int height, @NotNull List<ItemStack> ingredients) {
+        int minCol = Integer.MAX_VALUE;
+        int minRow = Integer.MAX_VALUE;
+        int maxCol = Integer.MIN_VALUE;
+        int maxRow = Integer.MIN_VALUE;
+
+        for (int row = 0; row < height; row++) {
+            for (int col = 0; col < width; col++) {
+                if (ingredients.get(row * width + col).isAir()) continue;
+
+                if (row < minRow) minRow = row;
+                if (col < minCol) minCol = col;
+                if (row > maxRow) maxRow = row;
+                if (col > maxCol) maxCol = col;
+            }
+        }
+        if (minCol == Integer.MAX_VALUE) return null;
+
+        final int shapeWidth = maxCol - minCol + 1;
+        final int shapeHeight = maxRow - minRow + 1;
+
+        ShapedGroup group = shaped.get(size(shapeWidth, shapeHeight));
+        if (group == null) return null;
+
+        long[] matching = null;
+        for (int row = 0; row < shapeHeight; row++) {
+            for (int col = 0; col < shapeWidth; col++) {
+                int cell = row * shapeWidth + col;
+                int id = ingredients.get((row + minRow) * width + (col + minCol)).material().id();
+
+                long[] accepting = group.cells()[cell].get(id);
+                long[] wildcards = group.wildcards()[cell];
+                if (matching == null) {
+                    matching = new long[wildcards.length];
+                    Arrays.fill(matching, -1L);
+                }
+
+                boolean any = false;
+                for (int word = 0; word < matching.length; word++) {
+                    matching[word] &= (accepting == null ? 0L : accepting[word]) | wildcards[word];
+                    any |= matching[word] != 0;
+                }
+                if (!any) return null;
+            }
+        }
+
+        for (int word = 0; word < matching.length; word++) {
+            if (matching[word] != 0) {
+                int index = (word << 6) + Long.numberOfTrailingZeros(matching[word]);
+                return index < group.recipes().size() ? group.recipes().get(index) : null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the first transmute recipe matching the two given items, or null if there is none
+     */
+    public @Nullable Recipe.Crafting.Transmute searchTransmute(@NotNull ItemStack first, @NotNull ItemStack second, @NotNull CraftingRecipes checker) {
+        List<Recipe.Crafting.Transmute> candidates = transmute.get(first.material().id());
+        if (candidates == null) return null;
+        for (Recipe.Crafting.Transmute candidate : candidates) {
+            if (checker.tryTransmute(candidate, first, second)) return candidate;
+        }
+        return null;
+    }
+}
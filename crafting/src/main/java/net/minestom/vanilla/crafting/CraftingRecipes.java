@@ -12,6 +12,8 @@ import net.minestom.server.inventory.AbstractInventory;
 import net.minestom.server.inventory.Inventory;
 import net.minestom.server.inventory.InventoryType;
 import net.minestom.server.inventory.PlayerInventory;
+import net.minestom.server.inventory.TransactionOption;
+import net.minestom.server.inventory.click.Click;
 import net.minestom.server.item.ItemStack;
 import net.minestom.server.item.Material;
 import net.minestom.server.registry.RegistryTag;
@@ -23,7 +25,11 @@ import java.util.List;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 
-public record CraftingRecipes(@NotNull CraftingFeature.Recipes recipes, @NotNull ServerProcess process) {
+public record CraftingRecipes(@NotNull CraftingFeature.Recipes recipes, @NotNull ServerProcess process, @NotNull CraftingIndex index) {
+
+    public CraftingRecipes(@NotNull CraftingFeature.Recipes recipes, @NotNull ServerProcess process) {
+        this(recipes, process, CraftingIndex.build(recipes.crafting()));
+    }
 
     public EventNode<Event> init() {
         EventNode<Event> node = EventNode.all("vri:recipes-inventory");
@@ -59,9 +65,11 @@ public record CraftingRecipes(@NotNull CraftingFeature.Recipes recipes, @NotNull
 
             int length = (int) Math.round(Math.sqrt(input.size()));
 
-            Recipe.Crafting recipe = searchRecipe(length, length, input.collect(inv));
+            Recipe.Crafting recipe = CraftingState.of(inv).recipe(this, length, length, input.collect(inv));
+            ItemStack result = recipe != null ? recipe.result() : ItemStack.AIR;
 
-            output.set(inv, recipe != null ? recipe.result() : ItemStack.AIR);
+            // Setting the output calls this again, so it's only set when it changes
+            if (!output.get(inv).equals(result)) output.set(inv, result);
         };
     }
 
@@ -84,6 +92,11 @@ public record CraftingRecipes(@NotNull CraftingFeature.Recipes recipes, @NotNull
 
             event.setCancelled(true);
 
+            if (event.getClick() instanceof Click.LeftShift || event.getClick() instanceof Click.RightShift) {
+                craftAll(inv, input, output, playerInv, clicked);
+                return;
+            }
+
             if (clicked.isSimilar(cursor)) {
                 if (clicked.amount() + cursor.amount() > cursor.maxStackSize()) {
                     return;
@@ -104,7 +117,83 @@ public record CraftingRecipes(@NotNull CraftingFeature.Recipes recipes, @NotNull
         };
     }
 
+    /**
+     * Crafts the result as many times as the inputs allow and the target has space for, in one batch.
+     */
+    private static void craftAll(@NotNull AbstractInventory inv, @NotNull InventoryView input, @NotNull InventoryView.Singular output,
+                                 @NotNull PlayerInventory target, @NotNull ItemStack result) {
+        int crafts = Integer.MAX_VALUE;
+        for (int i = 0; i < input.size(); i++) {
+            ItemStack item = input.get(inv, i);
+            if (!item.isAir()) crafts = Math.min(crafts, item.amount());
+        }
+        if (crafts == Integer.MAX_VALUE) return;
+
+        // Find the most crafts whose results fit
+        int low = 0;
+        int high = crafts;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (target.addItemStacks(stacks(result, mid), TransactionOption.DRY_RUN)) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        if (low == 0) return;
+
+        target.addItemStacks(stacks(result, low), TransactionOption.ALL);
+        output.set(inv, ItemStack.AIR);
+
+        for (int i = 0; i < input.size(); i++) {
+            input.set(inv, i, input.get(inv, i).consume(low));
+        }
+    }
+
+    // the results of crafting the given number of times, split into full stacks
+    private static @NotNull List<ItemStack> stacks(@NotNull ItemStack result, int crafts) {
+        List<ItemStack> stacks = new ArrayList<>();
+        int remaining = result.amount() * crafts;
+        while (remaining > 0) {
+            int amount = Math.min(remaining, result.maxStackSize());
+            stacks.add(result.withAmount(amount));
+            remaining -= amount;
+        }
+        return stacks;
+    }
+
+    /**
+     * Searches the {@link CraftingIndex index} for the recipe of the given grid. Shapeless recipes are tried first,
+     * then shaped recipes, then transmute recipes.
+     */
     public @Nullable Recipe.Crafting searchRecipe(int width, int height, @NotNull List<ItemStack> ingredients) {
+        List<ItemStack> nonAir = new ArrayList<>();
+        for (ItemStack item : ingredients) if (!item.isAir()) nonAir.add(item);
+
+        Recipe.Crafting.Shapeless shapeless = index.searchShapeless(nonAir, this);
+        if (shapeless != null) return shapeless;
+
+        Recipe.Crafting.Shaped shaped = index.searchShaped(width, height, ingredients);
+        if (shaped != null) return shaped;
+
+        if (nonAir.size() == 2) {
+            Recipe.Crafting.Transmute transmute = index.searchTransmute(nonAir.getFirst(), nonAir.get(1), this);
+            if (transmute != null) return transmute;
+        }
+
+        // TODO: Implement special recipes
+//        for (Recipe recipe : recipes.special().values()) {
+//
+//        }
+
+        return null;
+    }
+
+    /**
+     * Searches for the recipe of the given grid by trying every recipe, in the same order as
+     * {@link #searchRecipe(int, int, List)}. Only used by the tests, as an oracle for the indexed search.
+     */
+    @Nullable Recipe.Crafting searchRecipeLinear(int width, int height, @NotNull List<ItemStack> ingredients) {
         final CraftingFeature.Recipes.Crafting crafting = recipes.crafting();
 
         List<ItemStack> nonAir = new ArrayList<>();
@@ -121,18 +210,12 @@ public record CraftingRecipes(@NotNull CraftingFeature.Recipes recipes, @NotNull
         }
 
         // Try transmute
-
         if (nonAir.size() == 2) {
             for (Recipe.Crafting.Transmute transmute : crafting.transmute().values()) {
                 if (tryTransmute(transmute, nonAir.getFirst(), nonAir.get(1))) return transmute;
             }
         }
 
-        // TODO: Implement special recipes
-//        for (Recipe recipe : recipes.special().values()) {
-//
-//        }
-
         return null;
     }
 
@@ -191,7 +274,7 @@ public record CraftingRecipes(@NotNull CraftingFeature.Recipes recipes, @NotNull
 
         for (int row = 0; row < height; row++) {
             for (int col = 0; col < width; col++) {
-                if (ingredients.get(row * height + col).isAir()) continue;
+                if (ingredients.get(row * width + col).isAir()) continue;
 
                 if (row < minRow) minRow = row;
                 if (col < minCol) minCol = col;
@@ -220,7 +303,7 @@ public record CraftingRecipes(@NotNull CraftingFeature.Recipes recipes, @NotNull
 
             for (int col = 0; col < rowPattern.length(); col++) {
                 final char charKey = rowPattern.charAt(col);
-                final Material existing = ingredients.get((row + startRow) * height + (col + startCol)).material();
+                final Material existing = ingredients.get((row + startRow) * width + (col + startCol)).material();
 
                 final String key = String.valueOf(charKey);
                 if (!shaped.key().getOrDefault(key, RegistryTag.direct(Material.AIR)).contains(existing)) {
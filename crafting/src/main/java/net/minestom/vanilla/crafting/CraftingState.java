@@ -0,0 +1,84 @@
+package net.minestom.vanilla.crafting;
+
+import net.minestom.server.inventory.AbstractInventory;
+import net.minestom.server.item.ItemStack;
+import net.minestom.server.tag.Tag;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The last recipe found for the crafting grid of an inventory.
+ * <p>
+ * Recipes only match the materials of a grid and their shape, and every recipe type matches a shape anywhere in the
+ * grid. So the grid is normalised to the bounding box of its items, and the recipe is only searched again when the
+ * size of that box or a material within it changes. Changing the amount of an item, or moving the whole shape, reuses
+ * the last recipe.
+ * </p>
+ */
+final class CraftingState {
+
+    private static final @NotNull Tag<CraftingState> TAG = Tag.Transient("vri:crafting_state");
+
+    private @Nullable CraftingRecipes recipes;
+    // [width, height, material ids of the bounding box...], or empty if nothing was searched yet
+    private int @NotNull [] grid = new int[0];
+    private @Nullable Recipe.Crafting recipe;
+
+    private CraftingState() {
+    }
+
+    static @NotNull CraftingState of(@NotNull AbstractInventory inventory) {
+        CraftingState state = inventory.getTag(TAG);
+        if (state != null) return state;
+        synchronized (inventory) {
+            state = inventory.getTag(TAG);
+            if (state == null) {
+                state = new CraftingState();
+                inventory.setTag(TAG, state);
+            }
+            return state;
+        }
+    }
+
+    /**
+     * @return the recipe of the given grid, searched with {@code recipes} only if the grid changed structurally
+     */
+    synchronized @Nullable Recipe.Crafting recipe(@NotNull CraftingRecipes recipes, int width, int height, @NotNull List<ItemStack> ingredients) {
+        int[] normalised = normalise(width, height, ingredients);
+        if (this.recipes == recipes && Arrays.equals(grid, normalised)) return recipe;
+
+        this.recipes = recipes;
+        this.grid = normalised;
+        this.recipe = recipes.searchRecipe(width, height, ingredients);
+        return recipe;
+    }
+
+    static int @NotNull [] normalise(int width, int height, @NotNull List<ItemStack> ingredients) {
+        int minCol = width, minRow = height, maxCol = -1, maxRow = -1;
+        for (int row = 0; row < height; row++) {
+            for (int col = 0; col < width; col++) {
+                if (ingredients.get(row * width + col).isAir()) continue;
+                minRow = Math.min(minRow, row);
+                minCol = Math.min(minCol, col);
+                maxRow = Math.max(maxRow, row);
+                maxCol = Math.max(maxCol, col);
+            }
+        }
+        if (maxCol == -1) return new int[]{0, 0};
+
+        int shapeWidth = maxCol - minCol + 1;
+        int shapeHeight = maxRow - minRow + 1;
+        int[] normalised = new int[2 + shapeWidth * shapeHeight];
+        normalised[0] = shapeWidth;
+        normalised[1] = shapeHeight;
+        for (int row = 0; row < shapeHeight; row++) {
+            for (int col = 0; col < shapeWidth; col++) {
+                normalised[2 + row * shapeWidth + col] = ingredients.get((row + minRow) * width + col + minCol).material().id();
+            }
+        }
+        return normalised;
+    }
+}
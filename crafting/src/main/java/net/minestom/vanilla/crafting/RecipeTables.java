@@ -0,0 +1,201 @@
+package net.minestom.vanilla.crafting;
+
+import net.minestom.server.ServerProcess;
+import net.minestom.server.item.ItemStack;
+import net.minestom.server.item.Material;
+import net.minestom.server.registry.RegistryTag;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+/**
+ * Lookup tables for the recipes with a single input: cooking, smithing and stonecutting.
+ * <p>
+ * Each table is an array indexed by the material id of the input, with tags expanded when the tables are built, so
+ * lookups don't depend on the number of recipes. When several recipes of a type accept the same material, the first
+ * one in the iteration order of the recipes wins, like a scan of them would.
+ * </p>
+ */
+public final class RecipeTables {
+
+    private static final Map<ServerProcess, RecipeTables> process2tables =
+            Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final Recipe.Cooking @NotNull [] smelting;
+    private final Recipe.Cooking @NotNull [] smoking;
+    private final Recipe.Cooking @NotNull [] blasting;
+    private final Recipe.Cooking @NotNull [] campfire;
+    // by base material
+    private final @NotNull List<Recipe.Smithing.Transform> @NotNull [] transform;
+    private final @NotNull List<Recipe.Smithing.Trim> @NotNull [] trim;
+    // by input material, sorted by result
+    private final @NotNull List<Recipe.Stonecutting> @NotNull [] stonecutting;
+    private final @NotNull AtomicReferenceArray<List<ItemStack>> stonecutterResults;
+
+    private RecipeTables(Recipe.Cooking[] smelting, Recipe.Cooking[] smoking, Recipe.Cooking[] blasting, Recipe.Cooking[] campfire,
+                         List<Recipe.Smithing.Transform>[] transform, List<Recipe.Smithing.Trim>[] trim,
+                         List<Recipe.Stonecutting>[] stonecutting) {
+        this.smelting = smelting;
+        this.smoking = smoking;
+        this.blasting = blasting;
+        this.campfire = campfire;
+        this.transform = transform;
+        this.trim = trim;
+        this.stonecutting = stonecutting;
+        this.stonecutterResults = new AtomicReferenceArray<>(stonecutting.length);
+    }
+
+    /**
+     * Registers the tables used by the given process, replacing any previous ones.
+     */
+    public static void register(@NotNull ServerProcess process, @NotNull RecipeTables tables) {
+        process2tables.put(process, tables);
+    }
+
+    /**
+     * @return the tables registered for the given process, or null if the crafting feature wasn't set up
+     */
+    public static @Nullable RecipeTables of(@NotNull ServerProcess process) {
+        return process2tables.get(process);
+    }
+
+    public static @NotNull RecipeTables build(@NotNull CraftingFeature.Recipes recipes) {
+        final int size = Material.values().stream().mapToInt(Material::id).max().orElse(0) + 1;
+        final Map<RegistryTag<Material>, int[]> expanded = new HashMap<>();
+
+        CraftingFeature.Recipes.Smelting cooking = recipes.smelting();
+        Recipe.Cooking[] smelting = cooking(expanded, size, cooking.smelting().values(), Recipe.Cooking.Smelting::cooking);
+        Recipe.Cooking[] smoking = cooking(expanded, size, cooking.smoking().values(), Recipe.Cooking.Smoking::cooking);
+        Recipe.Cooking[] blasting = cooking(expanded, size, cooking.blasting().values(), Recipe.Cooking.Blasting::cooking);
+        Recipe.Cooking[] campfire = cooking(expanded, size, cooking.campfire().values(), Recipe.Cooking.Campfire::cooking);
+
+        List<Recipe.Smithing.Transform>[] transform = lists(expanded, size, recipes.smithing().transform().values(),
+                recipe -> recipe.smithing().base());
+        List<Recipe.Smithing.Trim>[] trim = lists(expanded, size, recipes.smithing().trim().values(),
+                recipe -> recipe.smithing().base());
+
+        List<Recipe.Stonecutting>[] stonecutting = lists(expanded, size, recipes.stonecutting().values(), Recipe.Stonecutting::ingredient);
+        Comparator<Recipe.Stonecutting> byResult = Comparator.comparing(recipe -> recipe.result().material().key().asString());
+        for (int id = 0; id < size; id++) {
+            if (stonecutting[id].size() > 1) {
+                List<Recipe.Stonecutting> sorted = new ArrayList<>(stonecutting[id]);
+                sorted.sort(byResult);
+                stonecutting[id] = List.copyOf(sorted);
+            }
+        }
+
+        return new RecipeTables(smelting, smoking, blasting, campfire, transform, trim, stonecutting);
+    }
+
+    private static <T> Recipe.Cooking @NotNull [] cooking(@NotNull Map<RegistryTag<Material>, int[]> expanded, int size,
+                                                          @NotNull Collection<T> recipes, @NotNull Function<T, Recipe.Cooking> cooking) {
+        Recipe.Cooking[] table = new Recipe.Cooking[size];
+        for (T recipe : recipes) {
+            Recipe.Cooking value = cooking.apply(recipe);
+            for (int id : CraftingIndex.expand(expanded, value.ingredient())) {
+                if (table[id] == null) table[id] = value;
+            }
+        }
+        return table;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> @NotNull List<T> @NotNull [] lists(@NotNull Map<RegistryTag<Material>, int[]> expanded, int size,
+                                                          @NotNull Collection<T> recipes, @NotNull Function<T, RegistryTag<Material>> input) {
+        List<T>[] table = new List[size];
+        for (T recipe : recipes) {
+            for (int id : CraftingIndex.expand(expanded, input.apply(recipe))) {
+                if (table[id] == null) table[id] = new ArrayList<>(1);
+                table[id].add(recipe);
+            }
+        }
+        for (int id = 0; id < size; id++) {
+            table[id] = table[id] == null ? List.of() : List.copyOf(table[id]);
+        }
+        return table;
+    }
+
+    private static <T> @Nullable T get(T @NotNull [] table, @NotNull Material material) {
+        int id = material.id();
+        return id < table.length ? table[id] : null;
+    }
+
+    private static <T> @NotNull List<T> list(@NotNull List<T> @NotNull [] table, @NotNull Material material) {
+        int id = material.id();
+        return id < table.length ? table[id] : List.of();
+    }
+
+    /**
+     * @return the furnace recipe of the input, or null if it can't be smelted
+     */
+    public @Nullable Recipe.Cooking smelting(@NotNull Material input) {
+        return get(smelting, input);
+    }
+
+    /**
+     * @return the smoker recipe of the input, or null if it can't be smoked
+     */
+    public @Nullable Recipe.Cooking smoking(@NotNull Material input) {
+        return get(smoking, input);
+    }
+
+    /**
+     * @return the blast furnace recipe of the input, or null if it can't be blasted
+     */
+    public @Nullable Recipe.Cooking blasting(@NotNull Material input) {
+        return get(blasting, input);
+    }
+
+    /**
+     * @return the campfire recipe of the input, or null if it can't be cooked on a campfire
+     */
+    public @Nullable Recipe.Cooking campfire(@NotNull Material input) {
+        return get(campfire, input);
+    }
+
+    /**
+     * @return the smithing transform recipe of the three inputs, or null if there is none
+     */
+    public @Nullable Recipe.Smithing.Transform smithingTransform(@NotNull Material template, @NotNull Material base, @NotNull Material addition) {
+        for (Recipe.Smithing.Transform recipe : list(transform, base)) {
+            if (recipe.smithing().template().contains(template) && recipe.smithing().addition().contains(addition)) return recipe;
+        }
+        return null;
+    }
+
+    /**
+     * @return the smithing trim recipe of the three inputs, or null if there is none
+     */
+    public @Nullable Recipe.Smithing.Trim smithingTrim(@NotNull Material template, @NotNull Material base, @NotNull Material addition) {
+        for (Recipe.Smithing.Trim recipe : list(trim, base)) {
+            if (recipe.smithing().template().contains(template) && recipe.smithing().addition().contains(addition)) return recipe;
+        }
+        return null;
+    }
+
+    /**
+     * @return the stonecutting recipes of the input, sorted by result
+     */
+    public @NotNull List<Recipe.Stonecutting> stonecutting(@NotNull Material input) {
+        return list(stonecutting, input);
+    }
+
+    /**
+     * @return the results a stonecutter offers for the input, in the order of {@link #stonecutting(Material)}
+     */
+    public @NotNull List<ItemStack> stonecutterResults(@NotNull Material input) {
+        int id = input.id();
+        if (id >= stonecutting.length) return List.of();
+
+        List<ItemStack> results = stonecutterResults.get(id);
+        if (results == null) {
+            results = stonecutting[id].stream().map(Recipe.Stonecutting::result).toList();
+            // recomputing on a race gives an equal list, so either may win
+            stonecutterResults.compareAndSet(id, null, results);
+        }
+        return results;
+    }
+}
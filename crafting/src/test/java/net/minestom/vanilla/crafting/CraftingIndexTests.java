@@ -0,0 +1,114 @@
+package net.minestom.vanilla.crafting;
+
+import net.kyori.adventure.key.Key;
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.item.ItemStack;
+import net.minestom.server.item.Material;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CraftingIndexTests {
+
+    private static CraftingRecipes recipes;
+
+    @BeforeAll
+    public static void init() {
+        MinecraftServer.init();
+        Map<Key, Recipe> raw = CraftingFeature.buildFromDatapack(MinecraftServer.process());
+        recipes = new CraftingRecipes(CraftingFeature.Recipes.fromRaw(new HashMap<>(raw)), MinecraftServer.process());
+    }
+
+    private static Material first(net.minestom.server.registry.RegistryTag<Material> tag) {
+        return Material.values().stream().filter(tag::contains).findFirst().orElse(Material.AIR);
+    }
+
+    private static void assertSameRecipe(int length, List<ItemStack> grid) {
+        assertSame(recipes.searchRecipeLinear(length, length, grid), recipes.searchRecipe(length, length, grid),
+                () -> "Recipe mismatch for " + grid.stream().map(item -> item.material().name()).toList());
+    }
+
+    @Test
+    public void testMatchesLinearScanForRecipes() {
+        CraftingFeature.Recipes.Crafting crafting = recipes.recipes().crafting();
+        int found = 0;
+
+        for (Recipe.Crafting.Shaped shaped : crafting.shaped().values()) {
+            int height = shaped.pattern().size();
+            int width = shaped.pattern().getFirst().length();
+            for (int offset = 0; offset + Math.max(width, height) <= 3; offset++) {
+                List<ItemStack> grid = new ArrayList<>(Collections.nCopies(9, ItemStack.AIR));
+                for (int row = 0; row < height; row++) {
+                    String rowPattern = shaped.pattern().get(row);
+                    for (int col = 0; col < rowPattern.length(); col++) {
+                        var tag = shaped.key().get(String.valueOf(rowPattern.charAt(col)));
+                        if (tag != null) grid.set((row + offset) * 3 + col + offset, ItemStack.of(first(tag)));
+                    }
+                }
+                assertSameRecipe(3, grid);
+                if (recipes.searchRecipe(3, 3, grid) != null) found++;
+            }
+        }
+
+        for (Recipe.Crafting.Shapeless shapeless : crafting.shapeless().values()) {
+            if (shapeless.ingredients().size() > 9) continue;
+            List<ItemStack> grid = new ArrayList<>(Collections.nCopies(9, ItemStack.AIR));
+            for (int i = 0; i < shapeless.ingredients().size(); i++) {
+                grid.set(8 - i, ItemStack.of(first(shapeless.ingredients().get(i))));
+            }
+            assertSameRecipe(3, grid);
+            if (recipes.searchRecipe(3, 3, grid) != null) found++;
+        }
+
+        for (Recipe.Crafting.Transmute transmute : crafting.transmute().values()) {
+            List<ItemStack> grid = new ArrayList<>(Collections.nCopies(4, ItemStack.AIR));
+            grid.set(1, ItemStack.of(first(transmute.material())));
+            grid.set(2, ItemStack.of(first(transmute.input())));
+            assertSameRecipe(2, grid);
+            if (recipes.searchRecipe(2, 2, grid) != null) found++;
+        }
+
+        assertTrue(found > crafting.shaped().size() / 2);
+    }
+
+    @Test
+    public void testMatchesLinearScanForRandomGrids() {
+        List<Material> pool = List.of(Material.AIR, Material.AIR, Material.AIR, Material.OAK_PLANKS, Material.BIRCH_PLANKS,
+                Material.STICK, Material.COBBLESTONE, Material.IRON_INGOT, Material.STRING, Material.REDSTONE,
+                Material.WHITE_WOOL, Material.WHITE_DYE, Material.SHULKER_BOX, Material.STONE, Material.GOLD_INGOT);
+        Random random = new Random(0);
+
+        for (int i = 0; i < 100_000; i++) {
+            int length = random.nextBoolean() ? 2 : 3;
+            List<ItemStack> grid = new ArrayList<>(length * length);
+            for (int slot = 0; slot < length * length; slot++) {
+                Material material = pool.get(random.nextInt(pool.size()));
+                grid.add(material == Material.AIR ? ItemStack.AIR : ItemStack.of(material));
+            }
+            assertSameRecipe(length, grid);
+        }
+    }
+
+    @Test
+    public void testSearchRecipe() {
+        ItemStack planks = ItemStack.of(Material.OAK_PLANKS);
+        ItemStack air = ItemStack.AIR;
+
+        Recipe.Crafting sticks = recipes.searchRecipe(3, 3, List.of(
+                air, air, air,
+                air, air, planks,
+                air, air, planks));
+        assertNotNull(sticks);
+        assertEquals(Material.STICK, sticks.result().material());
+
+        Recipe.Crafting table = recipes.searchRecipe(2, 2, List.of(planks, planks, planks, planks));
+        assertNotNull(table);
+        assertEquals(Material.CRAFTING_TABLE, table.result().material());
+
+        assertNull(recipes.searchRecipe(3, 3, Collections.nCopies(9, air)));
+        assertNull(recipes.searchRecipe(2, 2, List.of(planks, air, air, ItemStack.of(Material.DIRT))));
+    }
+}
@@ -0,0 +1,77 @@
+package net.minestom.vanilla.crafting;
+
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.inventory.Inventory;
+import net.minestom.server.inventory.InventoryType;
+import net.minestom.server.item.ItemStack;
+import net.minestom.server.item.Material;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CraftingStateTests {
+
+    private static final ItemStack AIR = ItemStack.AIR;
+
+    private static CraftingRecipes recipes;
+
+    @BeforeAll
+    public static void init() {
+        MinecraftServer.init();
+        recipes = new CraftingRecipes(CraftingFeature.Recipes.fromRaw(new HashMap<>(
+                CraftingFeature.buildFromDatapack(MinecraftServer.process()))), MinecraftServer.process());
+    }
+
+    @Test
+    public void testNormalise() {
+        ItemStack planks = ItemStack.of(Material.OAK_PLANKS);
+
+        int[] topLeft = CraftingState.normalise(3, 3, List.of(
+                planks, AIR, AIR,
+                planks.withAmount(5), AIR, AIR,
+                AIR, AIR, AIR));
+        int[] bottomRight = CraftingState.normalise(3, 3, List.of(
+                AIR, AIR, AIR,
+                AIR, AIR, planks,
+                AIR, AIR, planks));
+        assertArrayEquals(topLeft, bottomRight);
+        assertArrayEquals(new int[]{1, 2, Material.OAK_PLANKS.id(), Material.OAK_PLANKS.id()}, topLeft);
+
+        assertArrayEquals(new int[]{0, 0}, CraftingState.normalise(2, 2, List.of(AIR, AIR, AIR, AIR)));
+        assertFalse(Arrays.equals(topLeft, CraftingState.normalise(3, 3, List.of(
+                planks, planks, AIR,
+                AIR, AIR, AIR,
+                AIR, AIR, AIR))));
+    }
+
+    @Test
+    public void testReusesRecipe() {
+        Inventory inventory = new Inventory(InventoryType.CRAFTING, "Crafting");
+        CraftingState state = CraftingState.of(inventory);
+        assertSame(state, CraftingState.of(inventory));
+
+        ItemStack planks = ItemStack.of(Material.OAK_PLANKS);
+        List<ItemStack> grid = List.of(
+                planks, AIR, AIR,
+                planks, AIR, AIR,
+                AIR, AIR, AIR);
+        Recipe.Crafting sticks = state.recipe(recipes, 3, 3, grid);
+        assertNotNull(sticks);
+        assertEquals(Material.STICK, sticks.result().material());
+        assertSame(sticks, state.recipe(recipes, 3, 3, List.of(
+                AIR, planks.withAmount(12), AIR,
+                AIR, planks.withAmount(3), AIR,
+                AIR, AIR, AIR)));
+
+        assertNull(state.recipe(recipes, 3, 3, List.of(
+                planks, AIR, AIR,
+                ItemStack.of(Material.DIRT), AIR, AIR,
+                AIR, AIR, AIR)));
+        assertSame(sticks, state.recipe(recipes, 3, 3, grid));
+    }
+}
@@ -0,0 +1,71 @@
+package net.minestom.vanilla.crafting;
+
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.item.ItemStack;
+import net.minestom.server.item.Material;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RecipeTablesTests {
+
+    private static CraftingFeature.Recipes recipes;
+    private static RecipeTables tables;
+
+    @BeforeAll
+    public static void init() {
+        MinecraftServer.init();
+        recipes = CraftingFeature.Recipes.fromRaw(new HashMap<>(CraftingFeature.buildFromDatapack(MinecraftServer.process())));
+        tables = RecipeTables.build(recipes);
+    }
+
+    @Test
+    public void testMatchesScan() {
+        for (Material material : Material.values()) {
+            Recipe.Cooking expected = recipes.smelting().smelting().values().stream()
+                    .map(Recipe.Cooking.Smelting::cooking)
+                    .filter(cooking -> cooking.ingredient().contains(material))
+                    .findFirst().orElse(null);
+            assertSame(expected, tables.smelting(material), material::name);
+
+            List<Recipe.Stonecutting> stonecutting = recipes.stonecutting().values().stream()
+                    .filter(recipe -> recipe.ingredient().contains(material))
+                    .toList();
+            assertEquals(stonecutting.size(), tables.stonecutting(material).size(), material::name);
+            assertTrue(tables.stonecutting(material).containsAll(stonecutting), material::name);
+        }
+    }
+
+    @Test
+    public void testLookups() {
+        assertEquals(Material.IRON_INGOT, tables.smelting(Material.RAW_IRON).result().material());
+        assertEquals(Material.IRON_INGOT, tables.blasting(Material.RAW_IRON).result().material());
+        assertEquals(Material.COOKED_BEEF, tables.smoking(Material.BEEF).result().material());
+        assertEquals(Material.COOKED_BEEF, tables.campfire(Material.BEEF).result().material());
+        assertNull(tables.campfire(Material.RAW_IRON));
+        assertNull(tables.smelting(Material.AIR));
+
+        Recipe.Smithing.Transform netherite = tables.smithingTransform(Material.NETHERITE_UPGRADE_SMITHING_TEMPLATE,
+                Material.DIAMOND_SWORD, Material.NETHERITE_INGOT);
+        assertNotNull(netherite);
+        assertEquals(Material.NETHERITE_SWORD, netherite.result().material());
+        assertNull(tables.smithingTransform(Material.NETHERITE_UPGRADE_SMITHING_TEMPLATE, Material.IRON_SWORD, Material.NETHERITE_INGOT));
+        assertNotNull(tables.smithingTrim(Material.COAST_ARMOR_TRIM_SMITHING_TEMPLATE, Material.IRON_CHESTPLATE, Material.GOLD_INGOT));
+    }
+
+    @Test
+    public void testStonecutterResults() {
+        List<ItemStack> results = tables.stonecutterResults(Material.STONE);
+        assertSame(results, tables.stonecutterResults(Material.STONE));
+        assertTrue(results.stream().anyMatch(item -> item.material() == Material.STONE_BRICKS));
+
+        List<String> keys = results.stream().map(item -> item.material().key().asString()).toList();
+        assertEquals(keys.stream().sorted().toList(), keys);
+
+        assertEquals(List.of(), tables.stonecutterResults(Material.DIRT));
+    }
+}
@@ -10,23 +10,37 @@ import net.minestom.vanilla.datapack.loot.LootTable;
 import net.minestom.vanilla.datapack.loot.function.LootFunction;
 import net.minestom.vanilla.datapack.loot.function.Predicate;
 import net.minestom.vanilla.datapack.recipe.Recipe;
+import net.minestom.vanilla.datapack.tags.TagIndex;
 import net.minestom.vanilla.datapack.trims.TrimMaterial;
 import net.minestom.vanilla.datapack.trims.TrimPattern;
 import net.minestom.vanilla.datapack.worldgen.*;
 import net.minestom.vanilla.datapack.worldgen.noise.Noise;
 import net.minestom.vanilla.files.ByteArray;
 import net.minestom.vanilla.files.FileSystem;
+import net.minestom.vanilla.logging.StartupProfiler;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 
 public interface Datapack {
 
     Map<String, NamespacedData> namespacedData();
 
+    /**
+     * @return the flattened tags of this datapack, resolved on first access
+     */
+    TagIndex tagIndex();
+
+    /**
+     * @return the unparsed files of each namespace's {@code loot_table} folder, for loot engines with a model of their
+     * own
+     */
+    Map<String, FileSystem<ByteArray>> lootTableFiles();
+
     static Datapack loadPrimitiveByteArray(FileSystem<byte[]> source) {
         return loadByteArray(source.map(ByteArray::wrap));
     }
@@ -42,7 +56,24 @@ public interface Datapack {
     }
 
     static Datapack loadByteArray(FileSystem<ByteArray> source) {
-        return new DatapackLoader().load(source.cache());
+        return loadByteArray(source, LoadMode.EAGER);
+    }
+
+    static Datapack loadByteArray(FileSystem<ByteArray> source, LoadMode mode) {
+        return new DatapackLoader().load(source.cache(), mode);
+    }
+
+    enum LoadMode {
+        /**
+         * Every file is parsed while loading the datapack.
+         */
+        EAGER,
+        /**
+         * Files are indexed while loading the datapack, but only parsed on first access.
+         * Parse failures are reported on access, along with the file's path.
+         * World generation data is always parsed eagerly, as it must be parsed within the loading context.
+         */
+        LAZY
     }
 
     record McMeta(Pack pack, Filter filter) {
@@ -80,22 +111,50 @@ public interface Datapack {
          * Performs a deep cache on all of the data.
          * This helps us load all density functions while in the loading context.
          */
-        NamespacedData cache() {
+        NamespacedData cache(String namespace) {
             return new NamespacedData(
-                    advancements.cache(),
-                    functions.cache(),
-                    item_modifiers.cache(),
-                    loot_tables.cache(),
-                    predicates.cache(),
-                    recipes.cache(),
+                    parse(namespace, "advancement", advancements::cache),
+                    parse(namespace, "functions", functions::cache),
+                    parse(namespace, "item_modifiers", item_modifiers::cache),
+                    loot_tables.lazy(namespace + "/loot_table"), // loot is generated by the loot-table module, so these are only parsed on demand
+                    parse(namespace, "predicates", predicates::cache),
+                    parse(namespace, "recipe", recipes::cache),
                     structures.lazy(), // structures may be large, so we don't want to cache them immediately
-                    chat_type.cache(),
-                    damage_type.cache(),
-                    tags.cache(),
-                    dimensions.cache(),
-                    dimension_type.cache(),
-                    trim_pattern.cache(),
-                    trim_material.cache(),
+                    parse(namespace, "chat_type", chat_type::cache),
+                    parse(namespace, "damage_type", damage_type::cache),
+                    parse(namespace, "tags", tags::cache),
+                    parse(namespace, "dimension", dimensions::cache),
+                    parse(namespace, "dimension_type", dimension_type::cache),
+                    parse(namespace, "trim_pattern", trim_pattern::cache),
+                    parse(namespace, "trim_material", trim_material::cache),
+                    parse(namespace, "worldgen", world_gen::cache)
+            );
+        }
+
+        private static <T> T parse(String namespace, String folder, Supplier<T> parser) {
+            return StartupProfiler.profile("datapack", namespace + "/" + folder, parser);
+        }
+
+        /**
+         * Lazily parses each file on first access.
+         * World generation data is still cached, as it must be parsed within the loading context.
+         */
+        NamespacedData lazy(String namespace) {
+            return new NamespacedData(
+                    advancements.lazy(namespace + "/advancement"),
+                    functions.lazy(namespace + "/functions"),
+                    item_modifiers.lazy(namespace + "/item_modifiers"),
+                    loot_tables.lazy(namespace + "/loot_table"),
+                    predicates.lazy(namespace + "/predicates"),
+                    recipes.lazy(namespace + "/recipe"),
+                    structures.lazy(namespace + "/structures"),
+                    chat_type.lazy(namespace + "/chat_type"),
+                    damage_type.lazy(namespace + "/damage_type"),
+                    tags.lazy(namespace + "/tags"),
+                    dimensions.lazy(namespace + "/dimension"),
+                    dimension_type.lazy(namespace + "/dimension_type"),
+                    trim_pattern.lazy(namespace + "/trim_pattern"),
+                    trim_material.lazy(namespace + "/trim_material"),
                     world_gen.cache()
             );
         }
@@ -26,6 +26,7 @@ import net.minestom.vanilla.datapack.loot.function.Predicate;
 import net.minestom.vanilla.datapack.number.NumberProvider;
 import net.minestom.vanilla.datapack.recipe.Recipe;
 import net.minestom.vanilla.datapack.tags.Tag;
+import net.minestom.vanilla.datapack.tags.TagIndex;
 import net.minestom.vanilla.datapack.trims.TrimMaterial;
 import net.minestom.vanilla.datapack.trims.TrimPattern;
 import net.minestom.vanilla.datapack.worldgen.*;
@@ -38,11 +39,12 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 import java.util.function.Function;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import static net.minestom.vanilla.datapack.Datapack.*;
@@ -54,88 +56,101 @@ public class DatapackLoader {
     DatapackLoader() {
     }
 
+    /**
+     * Every hand-written adaptor is registered into a single table keyed by raw class, which is then exposed to moshi
+     * through one factory. This replaces a linear scan over one factory per class (each comparing type names) with a
+     * single hash lookup.
+     */
     private static Moshi createMoshiWithAdaptors() {
-        Moshi.Builder builder = new Moshi.Builder();
+        Map<Class<?>, JsonAdapter<?>> adapters = new HashMap<>();
 
         // Native
-        register(builder, UUID.class, DatapackLoader::uuidFromJson);
-
-        // json utils
-        builder.add((type, annotations, moshi) -> {
-            if (typeDoesntMatch(type, JsonUtils.SingleOrList.class)) return null;
-            Type elementType = Types.collectionElementType(type, Collection.class);
-            return new JsonAdapter<JsonUtils.SingleOrList<?>>() {
-                @Override
-                public JsonUtils.SingleOrList<?> fromJson(@NotNull JsonReader reader) throws IOException {
-                    return JsonUtils.SingleOrList.fromJson(elementType, reader);
-                }
-
-                @Override
-                public void toJson(@NotNull JsonWriter writer, JsonUtils.SingleOrList<?> value) {
-                }
-            };
-        });
+        register(adapters, UUID.class, DatapackLoader::uuidFromJson);
 
         // Minestom
-        register(builder, CompoundBinaryTag.class, DatapackLoader::nbtCompoundFromJson);
-        register(builder, Block.class, DatapackLoader::blockFromJson);
-        register(builder, Enchantment.class, DatapackLoader::enchantmentFromJson);
-        register(builder, EntityType.class, DatapackLoader::entityTypeFromJson);
-        register(builder, Material.class, DatapackLoader::materialFromJson);
-        register(builder, Component.class, reader -> {
+        register(adapters, CompoundBinaryTag.class, DatapackLoader::nbtCompoundFromJson);
+        register(adapters, Block.class, DatapackLoader::blockFromJson);
+        register(adapters, Enchantment.class, DatapackLoader::enchantmentFromJson);
+        register(adapters, EntityType.class, DatapackLoader::entityTypeFromJson);
+        register(adapters, Material.class, DatapackLoader::materialFromJson);
+        register(adapters, Component.class, reader -> {
             GsonComponentSerializer serializer = GsonComponentSerializer.gson();
             return serializer.deserialize(reader.nextSource().readUtf8());
         });
-        register(builder, Key.class, reader -> {
+        register(adapters, Key.class, reader -> {
             String str = reader.nextString();
             return str.startsWith("#") ? new Tag(str.substring(1)) : Key.key(str);
         });
-        register(builder, Range.Float.class, DatapackLoader::floatRangeFromJson);
+        register(adapters, Range.Float.class, DatapackLoader::floatRangeFromJson);
 
         // Misc
-        register(builder, DoubleList.class, DatapackLoader::doubleListFromJson);
+        register(adapters, DoubleList.class, DatapackLoader::doubleListFromJson);
 
         // VRI Datapack
-        register(builder, Advancement.Trigger.class, Advancement.Trigger::fromJson);
-        register(builder, BlockState.class, BlockState::fromJson);
-        register(builder, LootContext.Trait.class, LootContext.Trait::fromJson);
-        register(builder, LootFunction.class, LootFunction::fromJson);
-        register(builder, Predicate.class, Predicate::fromJson);
-        register(builder, Predicate.BlockStateProperty.Property.class, Predicate.BlockStateProperty.Property::fromJson);
-        register(builder, Predicate.EntityScores.Score.class, Predicate.EntityScores.Score::fromJson);
-        register(builder, Predicate.TimeCheck.Value.class, Predicate.TimeCheck.Value::fromJson);
-        register(builder, Predicate.ValueCheck.Range.class, Predicate.ValueCheck.Range::fromJson);
-        register(builder, NumberProvider.class, NumberProvider.Double::fromJson);
-        register(builder, NumberProvider.Double.class, NumberProvider.Double::fromJson);
-        register(builder, NumberProvider.Int.class, NumberProvider.Int::fromJson);
-        register(builder, LootTable.Pool.Entry.class, LootTable.Pool.Entry::fromJson);
-        register(builder, LootFunction.ApplyBonus.class, LootFunction.ApplyBonus::fromJson);
-        register(builder, LootFunction.CopyNbt.Source.class, LootFunction.CopyNbt.Source::fromJson);
-        register(builder, LootFunction.CopyNbt.Operation.class, LootFunction.CopyNbt.Operation::fromJson);
-        register(builder, LootFunction.LimitCount.Limit.class, LootFunction.LimitCount.Limit::fromJson);
-        register(builder, Recipe.class, Recipe::fromJson);
-        register(builder, Recipe.Ingredient.class, Recipe.Ingredient::fromJson);
-        register(builder, Recipe.Ingredient.Single.class, Recipe.Ingredient.Single::fromJson);
-        register(builder, NBTPath.class, NBTPath::fromJson);
-        register(builder, NBTPath.Single.class, NBTPath.Single::fromJson);
-        register(builder, DensityFunction.class, DensityFunction::fromJson);
-        register(builder, Noise.class, Noise::fromJson);
-        register(builder, NoiseSettings.SurfaceRule.class, NoiseSettings.SurfaceRule::fromJson);
-        register(builder, NoiseSettings.SurfaceRule.SurfaceRuleCondition.class, NoiseSettings.SurfaceRule.SurfaceRuleCondition::fromJson);
-        register(builder, VerticalAnchor.class, VerticalAnchor::fromJson);
-        register(builder, CubicSpline.class, CubicSpline::fromJson);
-        register(builder, DensityFunction.OldBlendedNoise.class, DensityFunction.OldBlendedNoise::fromJson);
-        register(builder, Datapack.Tag.TagValue.class, Datapack.Tag.TagValue::fromJson);
-        register(builder, Datapack.Tag.TagValue.ObjectOrTagReference.class, Datapack.Tag.TagValue.ObjectOrTagReference::fromJson);
-        register(builder, Biome.Effects.Particle.Options.class, Biome.Effects.Particle.Options::fromJson);
-        register(builder, Biome.Sound.class, Biome.Sound::fromJson);
-        register(builder, Carver.class, Carver::fromJson);
-        register(builder, FloatProvider.class, FloatProvider::fromJson);
-        register(builder, Biome.CarversList.class, Biome.CarversList::fromJson);
-        register(builder, Biome.CarversList.Single.class, Biome.CarversList.Single::fromJson);
-        register(builder, HeightProvider.class, HeightProvider::fromJson);
-
-        return builder.build();
+        register(adapters, Advancement.Trigger.class, Advancement.Trigger::fromJson);
+        register(adapters, BlockState.class, BlockState::fromJson);
+        register(adapters, LootContext.Trait.class, LootContext.Trait::fromJson);
+        register(adapters, LootFunction.class, LootFunction::fromJson);
+        register(adapters, Predicate.class, Predicate::fromJson);
+        register(adapters, Predicate.BlockStateProperty.Property.class, Predicate.BlockStateProperty.Property::fromJson);
+        register(adapters, Predicate.EntityScores.Score.class, Predicate.EntityScores.Score::fromJson);
+        register(adapters, Predicate.TimeCheck.Value.class, Predicate.TimeCheck.Value::fromJson);
+        register(adapters, Predicate.ValueCheck.Range.class, Predicate.ValueCheck.Range::fromJson);
+        register(adapters, NumberProvider.class, NumberProvider.Double::fromJson);
+        register(adapters, NumberProvider.Double.class, NumberProvider.Double::fromJson);
+        register(adapters, NumberProvider.Int.class, NumberProvider.Int::fromJson);
+        register(adapters, LootTable.Pool.Entry.class, LootTable.Pool.Entry::fromJson);
+        register(adapters, LootFunction.ApplyBonus.class, LootFunction.ApplyBonus::fromJson);
+        register(adapters, LootFunction.CopyNbt.Source.class, LootFunction.CopyNbt.Source::fromJson);
+        register(adapters, LootFunction.CopyNbt.Operation.class, LootFunction.CopyNbt.Operation::fromJson);
+        register(adapters, LootFunction.LimitCount.Limit.class, LootFunction.LimitCount.Limit::fromJson);
+        register(adapters, Recipe.class, Recipe::fromJson);
+        register(adapters, Recipe.Ingredient.class, Recipe.Ingredient::fromJson);
+        register(adapters, Recipe.Ingredient.Single.class, Recipe.Ingredient.Single::fromJson);
+        register(adapters, NBTPath.class, NBTPath::fromJson);
+        register(adapters, NBTPath.Single.class, NBTPath.Single::fromJson);
+        register(adapters, DensityFunction.class, DensityFunction::fromJson);
+        register(adapters, Noise.class, Noise::fromJson);
+        register(adapters, NoiseSettings.SurfaceRule.class, NoiseSettings.SurfaceRule::fromJson);
+        register(adapters, NoiseSettings.SurfaceRule.SurfaceRuleCondition.class, NoiseSettings.SurfaceRule.SurfaceRuleCondition::fromJson);
+        register(adapters, VerticalAnchor.class, VerticalAnchor::fromJson);
+        register(adapters, CubicSpline.class, CubicSpline::fromJson);
+        register(adapters, DensityFunction.OldBlendedNoise.class, DensityFunction.OldBlendedNoise::fromJson);
+        register(adapters, Datapack.Tag.TagValue.class, Datapack.Tag.TagValue::fromJson);
+        register(adapters, Datapack.Tag.TagValue.ObjectOrTagReference.class, Datapack.Tag.TagValue.ObjectOrTagReference::fromJson);
+        register(adapters, Biome.Effects.Particle.Options.class, Biome.Effects.Particle.Options::fromJson);
+        register(adapters, Biome.Sound.class, Biome.Sound::fromJson);
+        register(adapters, Carver.class, Carver::fromJson);
+        register(adapters, FloatProvider.class, FloatProvider::fromJson);
+        register(adapters, Biome.CarversList.class, Biome.CarversList::fromJson);
+        register(adapters, Biome.CarversList.Single.class, Biome.CarversList.Single::fromJson);
+        register(adapters, HeightProvider.class, HeightProvider::fromJson);
+
+        Map<Class<?>, JsonAdapter<?>> table = Map.copyOf(adapters);
+        return new Moshi.Builder()
+                .add((type, annotations, moshi) -> {
+                    Class<?> rawType = rawType(type);
+                    if (rawType == null) return null;
+
+                    // json utils
+                    if (rawType == JsonUtils.SingleOrList.class) return singleOrListAdaptor(type);
+                    return table.get(rawType);
+                })
+                .build();
+    }
+
+    private static JsonAdapter<JsonUtils.SingleOrList<?>> singleOrListAdaptor(Type type) {
+        Type elementType = Types.collectionElementType(type, Collection.class);
+        return new JsonAdapter<>() {
+            @Override
+            public JsonUtils.SingleOrList<?> fromJson(@NotNull JsonReader reader) throws IOException {
+                return JsonUtils.SingleOrList.fromJson(elementType, reader);
+            }
+
+            @Override
+            public void toJson(@NotNull JsonWriter writer, JsonUtils.SingleOrList<?> value) {
+            }
+        };
     }
 
     static <T> FileSystem<T> parseJsonFolder(FileSystem<ByteArray> source, String path, Function<String, T> converter) {
@@ -153,7 +168,25 @@ public class DatapackLoader {
     }
 
     public static <T> JsonAdapter<T> jsonAdaptor(Class<T> clazz) {
-        return moshi.adapter(clazz);
+        return jsonAdaptor((Type) clazz);
+    }
+
+    /**
+     * Type -> adaptor lookups, resolved once per type.
+     * Moshi guards its own adaptor cache with a monitor, which every nested {@code fromJson} call would otherwise hit.
+     */
+    private static final Map<Type, JsonAdapter<?>> adaptorTable = new ConcurrentHashMap<>();
+
+    private static <T> JsonAdapter<T> jsonAdaptor(Type type) {
+        JsonAdapter<?> adapter = adaptorTable.get(type);
+        if (adapter == null) {
+            // not computeIfAbsent: resolving an adaptor may recursively resolve others
+            adapter = moshi.adapter(type);
+            JsonAdapter<?> existing = adaptorTable.putIfAbsent(type, adapter);
+            if (existing != null) adapter = existing;
+        }
+        //noinspection unchecked
+        return (JsonAdapter<T>) adapter;
     }
 
     private static final ThreadLocal<LoadingContext> contextPool = new ThreadLocal<>();
@@ -198,6 +231,10 @@ public class DatapackLoader {
     }
 
     public Datapack load(FileSystem<ByteArray> source) {
+        return load(source, LoadMode.EAGER);
+    }
+
+    public Datapack load(FileSystem<ByteArray> source, LoadMode mode) {
 
         // Default
         McMeta mcmeta;
@@ -222,8 +259,10 @@ public class DatapackLoader {
         contextPool.set(context);
 
         Map<String, NamespacedData> namespace2data;
+        Map<String, FileSystem<ByteArray>> namespace2lootTableFiles;
         {
             namespace2data = new HashMap<>();
+            namespace2lootTableFiles = new HashMap<>();
 
             for (String namespace : source.folders()) {
                 FileSystem<ByteArray> dataFolder = source.folder(namespace).inMemory();
@@ -231,7 +270,7 @@ public class DatapackLoader {
                 FileSystem<Advancement> advancements = parseJsonFolder(dataFolder, "advancement", adaptor(Advancement.class));
                 FileSystem<McFunction> functions = parseJsonFolder(dataFolder, "functions", McFunction::fromString);
                 FileSystem<LootFunction> item_modifiers = parseJsonFolder(dataFolder, "item_modifiers", adaptor(LootFunction.class));
-                FileSystem<LootTable> loot_tables = parseJsonFolder(dataFolder, "loot_tables", adaptor(LootTable.class));
+                FileSystem<LootTable> loot_tables = parseJsonFolder(dataFolder, "loot_table", adaptor(LootTable.class));
                 FileSystem<Predicate> predicates = parseJsonFolder(dataFolder, "predicates", adaptor(Predicate.class));
                 FileSystem<Recipe> recipes = parseJsonFolder(dataFolder, "recipe", adaptor(Recipe.class));
                 FileSystem<Structure> structures = dataFolder.folder("structures").map(Structure::fromInput);
@@ -248,18 +287,44 @@ public class DatapackLoader {
                         predicates, recipes, structures, chat_type, damage_type, tags, dimensions, dimension_type,
                         trim_pattern, trim_material, world_gen);
                 namespace2data.put(namespace, data);
+                namespace2lootTableFiles.put(namespace, dataFolder.folder("loot_table"));
             }
         }
 
         var copy = namespace2data.entrySet().stream()
-                .map(entry -> Map.entry(entry.getKey(), entry.getValue().cache()))
+                .map(entry -> Map.entry(entry.getKey(), switch (mode) {
+                    case EAGER -> entry.getValue().cache(entry.getKey());
+                    case LAZY -> entry.getValue().lazy(entry.getKey());
+                }))
                 .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, Map.Entry::getValue));
+        Map<String, FileSystem<ByteArray>> lootTableFiles = Map.copyOf(namespace2lootTableFiles);
         Datapack datapack = new Datapack() {
+            private volatile @Nullable TagIndex tagIndex;
+
             @Override
             public Map<String, NamespacedData> namespacedData() {
                 return copy;
             }
 
+            @Override
+            public Map<String, FileSystem<ByteArray>> lootTableFiles() {
+                return lootTableFiles;
+            }
+
+            @Override
+            public TagIndex tagIndex() {
+                TagIndex index = tagIndex;
+                if (index == null) {
+                    synchronized (this) {
+                        index = tagIndex;
+                        if (index == null) {
+                            index = tagIndex = TagIndex.build(this);
+                        }
+                    }
+                }
+                return index;
+            }
+
             @Override
             public String toString() {
                 return "Datapack{" +
@@ -276,15 +341,8 @@ public class DatapackLoader {
         return datapack;
     }
 
-    private static <T> void register(Moshi.Builder builder, Class<T> clazz, JsonAdapter<T> adapter) {
-        builder.add((type, annotations, moshi) -> {
-            if (typeDoesntMatch(type, clazz)) return null;
-            return adapter;
-        });
-    }
-
-    private static <T> void register(Moshi.Builder builder, Class<T> clazz, IoFunction<JsonReader, T> reader) {
-        register(builder, clazz, new IoJsonAdaptor<>(reader));
+    private static <T> void register(Map<Class<?>, JsonAdapter<?>> adapters, Class<T> clazz, IoFunction<JsonReader, T> reader) {
+        adapters.put(clazz, new IoJsonAdaptor<>(reader));
     }
 
     private static class IoJsonAdaptor <T> extends JsonAdapter<T> {
@@ -313,13 +371,13 @@ public class DatapackLoader {
     }
 
     public static <T> JsonUtils.IoFunction<JsonReader, T> moshi(Class<? extends T> clazz) {
-        return moshi().adapter(clazz)::fromJson;
+        JsonAdapter<? extends T> adapter = jsonAdaptor(clazz);
+        return adapter::fromJson;
     }
 
     public static <T> JsonUtils.IoFunction<JsonReader, T> moshi(Type type) {
-        JsonUtils.IoFunction<JsonReader, Object> function = moshi().adapter(type)::fromJson;
-        //noinspection unchecked
-        return (JsonUtils.IoFunction<JsonReader, T>) function;
+        JsonAdapter<T> adapter = jsonAdaptor(type);
+        return adapter::fromJson;
     }
 
     private static CompoundBinaryTag nbtCompoundFromJson(JsonReader reader) throws IOException {
@@ -396,12 +454,10 @@ public class DatapackLoader {
         });
     }
 
-    private static final Pattern GENERICS = Pattern.compile("<.*>");
-
-    private static boolean typeDoesntMatch(Type type, Class<?> clazz) {
-        String typeName = GENERICS.matcher(type.getTypeName()).replaceAll("");
-        String clazzName = GENERICS.matcher(clazz.getTypeName()).replaceAll("");
-        return !typeName.equals(clazzName);
+    private static @Nullable Class<?> rawType(Type type) {
+        if (type instanceof Class<?> clazz) return clazz;
+        if (type instanceof ParameterizedType parameterized) return (Class<?>) parameterized.getRawType();
+        return null;
     }
 
 }
@@ -14,6 +14,8 @@ import java.util.Set;
 
 public class DatapackLoadingFeature implements VanillaReimplementation.Feature {
 
+    private static final @NotNull String LAZY_SYSTEM_PROPERTY = "vri.datapack.lazy";
+
     private @UnknownNullability Datapack datapack;
 
     @Override
@@ -23,7 +25,8 @@ public class DatapackLoadingFeature implements VanillaReimplementation.Feature {
 
         Loading.start("Parsing vanilla datapack");
         FileSystem<ByteArray> fs = data.latestAssets();
-        datapack = Datapack.loadByteArray(fs);
+        Datapack.LoadMode mode = Boolean.getBoolean(LAZY_SYSTEM_PROPERTY) ? Datapack.LoadMode.LAZY : Datapack.LoadMode.EAGER;
+        datapack = Datapack.loadByteArray(fs, mode);
         Loading.finish();
     }
 
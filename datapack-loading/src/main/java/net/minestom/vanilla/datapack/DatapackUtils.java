@@ -7,6 +7,7 @@ import net.minestom.vanilla.datapack.worldgen.noise.Noise;
 import net.minestom.vanilla.files.FileSystem;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.Optional;
 import java.util.Set;
@@ -23,7 +24,10 @@ public class DatapackUtils {
         return findInJsonData(file, datapack, data -> data.world_gen().density_function());
     }
 
-    /** Finds the tag items for the given tag type and namespace ID */
+    /**
+     * Finds the tag items for the given tag type and namespace ID, resolving nested tags on every call.
+     * Prefer {@link Datapack#tagIndex()} for repeated lookups.
+     */
     public static Set<Key> findTags(Datapack datapack, String tagType, Key namespaceID) {
         Datapack.NamespacedData data = datapack.namespacedData().get(namespaceID.namespace());
         if (data == null) return Set.of();
@@ -93,6 +97,20 @@ public class DatapackUtils {
         return null;
     }
 
+    /**
+     * Parses the given files now, rather than on first access.
+     * Useful for latency-sensitive files of a datapack loaded with {@link Datapack.LoadMode#LAZY}.
+     *
+     * @param datapack the datapack
+     * @param keys     the files to parse, e.g. {@code minecraft:chests/simple_dungeon}
+     * @param getFolder the folder the files are in, e.g. {@code Datapack.NamespacedData::loot_tables}
+     */
+    public static <T> void preload(Datapack datapack, Collection<Key> keys, Function<Datapack.NamespacedData, FileSystem<T>> getFolder) {
+        for (Key key : keys) {
+            findInJsonData(key.asString(), datapack, getFolder);
+        }
+    }
+
     private static <T> Optional<T> findInJsonData(String file, Datapack datapack, Function<Datapack.NamespacedData, FileSystem<T>> getFolder) {
         Key namespaceID = Key.key(file);
         for (var entry : datapack.namespacedData().entrySet()) {
@@ -6,12 +6,12 @@ import net.minestom.server.instance.block.Block;
 import net.minestom.server.item.ItemStack;
 import net.minestom.server.item.Material;
 import net.minestom.vanilla.datapack.Datapack;
-import net.minestom.vanilla.datapack.DatapackUtils;
 import net.minestom.vanilla.datapack.json.JsonUtils;
 import net.minestom.vanilla.datapack.loot.context.LootContext;
 import net.minestom.vanilla.datapack.loot.function.LootFunction;
 import net.minestom.vanilla.datapack.loot.function.Predicate;
 import net.minestom.vanilla.datapack.number.NumberProvider;
+import net.minestom.vanilla.datapack.tags.TagIndex;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.IOException;
@@ -116,20 +116,21 @@ public record LootTable(@Nullable String type, @Nullable List<LootFunction> func
                 public List<List<ItemStack>> apply(Datapack datapack, LootContext context) {
                     List<List<ItemStack>> result = new ArrayList<>();
 
-                    var itemTags = DatapackUtils.findTags(datapack, "item", name);
-
-                    var items = itemTags.stream()
-                            .map(Material::fromKey)
-                            .filter(Objects::nonNull)
-                            .map(material -> ItemStack.of(material, 1))
-                            .toList();
+                    TagIndex.Members itemTags = datapack.tagIndex().members(TagIndex.Registry.ITEM, name);
+                    List<ItemStack> items = new ArrayList<>();
+                    if (itemTags != null) {
+                        for (int id = itemTags.nextId(0); id >= 0; id = itemTags.nextId(id + 1)) {
+                            Material material = Material.fromId(id);
+                            if (material != null) items.add(ItemStack.of(material, 1));
+                        }
+                    }
 
                     if (expand) {
                         for (var item : items) {
                             result.add(List.of(item));
                         }
                     } else {
-                        result.add(items);
+                        result.add(List.copyOf(items));
                     }
 
                     return List.copyOf(result);
@@ -6,13 +6,12 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.IOException;
-import java.io.StringReader;
 import java.util.Map;
 
 public interface NBTPath {
 
     static NBTPath fromJson(JsonReader reader) throws IOException {
-        return NBTPathImpl.readPath(new StringReader(reader.nextString()));
+        return NBTPathImpl.parse(reader.nextString());
     }
 
     /**
@@ -30,7 +29,7 @@ public interface NBTPath {
     interface Single extends NBTPath {
 
         static Single fromJson(JsonReader reader) throws IOException {
-            return NBTPathImpl.readSingle(new StringReader(reader.nextString()));
+            return NBTPathImpl.parseSingle(reader.nextString());
         }
 
         /**
@@ -9,10 +9,10 @@ import org.jetbrains.annotations.Nullable;
 
 import java.io.IOException;
 import java.io.StringReader;
+import java.io.UncheckedIOException;
 import java.util.*;
 import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 import java.util.stream.StreamSupport;
 
 interface NBTPathImpl extends NBTPath {
@@ -28,6 +28,33 @@ interface NBTPathImpl extends NBTPath {
         return single;
     }
 
+    /**
+     * Parses the path, reusing the previous result if the same path has been parsed recently.
+     */
+    static NBTPathImpl parse(String path) {
+        synchronized (Reader.CACHE) {
+            NBTPathImpl cached = Reader.CACHE.get(path);
+            if (cached != null) return cached;
+        }
+        NBTPathImpl parsed;
+        try {
+            parsed = Reader.readPath(new StringReader(path));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        synchronized (Reader.CACHE) {
+            Reader.CACHE.put(path, parsed);
+        }
+        return parsed;
+    }
+
+    static Single parseSingle(String path) {
+        if (!(parse(path) instanceof Single single)) {
+            throw new IllegalArgumentException("Expected a single nbt path, got a multi nbt path");
+        }
+        return single;
+    }
+
     interface NbtPathCollector<T extends BinaryTag> extends BiConsumer<SingleSelector<T>, BinaryTag> {
     }
 
@@ -116,13 +143,19 @@ record NBTPathSingleImpl(List<NBTPathImpl.SingleSelector<?>> selectors) implemen
 
     @Override
     public @Nullable BinaryTag getSingle(BinaryTag nbt) {
-        for (var selector : selectors()) {
-            if (nbt == null || !selector.fitsGeneric(nbt.type())) {
-                // path has failed
-                return null;
-            }
-            //noinspection unchecked
-            nbt = ((NBTPathImpl.SingleSelector<BinaryTag>) selector).get(nbt);
+        for (int i = 0, size = selectors.size(); i < size; i++) {
+            if (nbt == null) return null;
+            // the common selectors are read directly, without the generic type check
+            nbt = switch (selectors.get(i)) {
+                case CompoundKey key -> nbt instanceof CompoundBinaryTag compound ? compound.get(key.key()) : null;
+                case RootKey key -> nbt instanceof CompoundBinaryTag compound ? compound.get(key.key()) : null;
+                case ListIndex index -> nbt instanceof ListBinaryTag list ? index.get(list) : null;
+                case SingleSelector<?> selector -> {
+                    if (!selector.fitsGeneric(nbt.type())) yield null;
+                    //noinspection unchecked
+                    yield ((NBTPathImpl.SingleSelector<BinaryTag>) selector).get(nbt);
+                }
+            };
         }
         return nbt;
     }
@@ -212,7 +245,6 @@ record RootKey(@NotNull String key) implements NBTPathImpl.SingleSelector<Compou
 
     @Override
     public @Nullable BinaryTag get(@NotNull CompoundBinaryTag source) {
-        if (!source.keySet().contains(key)) return null;
         return source.get(key);
     }
 
@@ -236,7 +268,6 @@ record CompoundKey(@NotNull String key) implements NBTPathImpl.SingleSelector<Co
 
     @Override
     public @Nullable BinaryTag get(@NotNull CompoundBinaryTag source) {
-        if (!source.keySet().contains(key)) return null;
         return source.get(key);
     }
 
@@ -316,14 +347,12 @@ record ListFilter(@NotNull CompoundBinaryTag filter) implements NBTPathImpl.Sele
 
     @Override
     public void get(@NotNull ListBinaryTag source, NBTPathImpl.@NotNull NbtPathCollector<ListBinaryTag> selectedElements) {
-        IntStream.range(0, source.size())
-                .mapToObj(i -> Map.entry(i, source.get(i)))
-                .filter(entry -> NBTUtils.compareNBT(filter, entry.getValue(), false))
-                .forEach(entry -> {
-                    int i = entry.getKey();
-                    BinaryTag nbt = entry.getValue();
-                    selectedElements.accept(new ListIndex(i), nbt);
-                });
+        for (int i = 0, size = source.size(); i < size; i++) {
+            BinaryTag nbt = source.get(i);
+            if (NBTUtils.compareNBT(filter, nbt, false)) {
+                selectedElements.accept(new ListIndex(i), nbt);
+            }
+        }
     }
 
     @Override
@@ -348,13 +377,9 @@ record EntireList() implements NBTPathImpl.Selector<ListBinaryTag> {
 
     @Override
     public void get(@NotNull ListBinaryTag source, NBTPathImpl.@NotNull NbtPathCollector<ListBinaryTag> selectedElements) {
-        IntStream.range(0, source.size())
-                .mapToObj(i -> Map.entry(i, source.get(i)))
-                .forEach(entry -> {
-                    int i = entry.getKey();
-                    BinaryTag nbt = entry.getValue();
-                    selectedElements.accept(new ListIndex(i), nbt);
-                });
+        for (int i = 0, size = source.size(); i < size; i++) {
+            selectedElements.accept(new ListIndex(i), source.get(i));
+        }
     }
 
     @Override
@@ -372,6 +397,15 @@ record EntireList() implements NBTPathImpl.Selector<ListBinaryTag> {
 // Reading
 interface Reader {
 
+    // datapacks repeat the same few paths, so recently used ones are only parsed once
+    int CACHE_SIZE = 1024;
+    @NotNull Map<String, NBTPathImpl> CACHE = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, NBTPathImpl> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
     @NotNull IntSet VALID_SELECTOR_STARTERS = IntSet.of('.', '{', '[');
     @NotNull IntSet VALID_INTEGER_CHARACTERS = IntSet.of('-', '0', '1', '2', '3', '4', '5', '6', '7', '8', '9');
     @NotNull IntSet INVALID_UNQUOTED_CHARACTERS = IntSet.of(-1, '.', '\'', '\"', '{', '}', '[', ']');
@@ -396,7 +430,7 @@ interface Reader {
                     throw new IllegalArgumentException(message);
                 }
                 // if all selectors are single, return a NBTPath.Single
-                boolean allSingle = selectors.stream().allMatch(selector -> selector instanceof NBTPathImpl.Single);
+                boolean allSingle = selectors.stream().allMatch(selector -> selector instanceof NBTPathImpl.SingleSelector);
                 List<NBTPathImpl.Selector<?>> selectorsView = Collections.unmodifiableList(selectors);
                 //noinspection unchecked
                 return allSingle ? new NBTPathSingleImpl((List<NBTPathImpl.SingleSelector<?>>) (List<?>) selectorsView) : new NBTPathMultiImpl(selectorsView);
@@ -5,19 +5,13 @@ import org.jetbrains.annotations.NotNull;
 
 public record Tag(String namespace, String value) implements Key {
     public Tag(String string) {
-        this(parseNamespace(string), parseValue(string));
-    }
-    
-    private static String parseNamespace(String string) {
         // Handle cases where the string might start with # (tag reference)
-        String cleaned = string.startsWith("#") ? string.substring(1) : string;
-        return cleaned.split(":")[0];
+        this(string, string.startsWith("#") ? 1 : 0, string.indexOf(':'));
     }
-    
-    private static String parseValue(String string) {
-        // Handle cases where the string might start with # (tag reference)
-        String cleaned = string.startsWith("#") ? string.substring(1) : string;
-        return cleaned.split(":")[1];
+
+    private Tag(String string, int start, int separator) {
+        this(separator < 0 ? Key.MINECRAFT_NAMESPACE : string.substring(start, separator),
+                string.substring(separator < 0 ? start : separator + 1));
     }
 
     @Override
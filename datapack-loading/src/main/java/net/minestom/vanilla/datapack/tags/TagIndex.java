@@ -0,0 +1,336 @@
+package net.minestom.vanilla.datapack.tags;
+
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import net.kyori.adventure.key.Key;
+import net.minestom.server.entity.EntityType;
+import net.minestom.server.instance.block.Block;
+import net.minestom.server.item.Material;
+import net.minestom.vanilla.datapack.Datapack;
+import net.minestom.vanilla.files.FileSystem;
+import net.minestom.vanilla.logging.Logger;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.function.IntConsumer;
+
+/**
+ * A flattened view of every tag in a {@link Datapack}, built once per datapack.
+ * <p>
+ * Nested {@code #namespace:tag} references are resolved when the index is built, and the members of each tag are
+ * stored as a bitset keyed by registry id. Tags that are part of a cycle, or that require a tag which does not exist or
+ * was dropped, are dropped and reported once. Membership checks are a single array read, and iterating
+ * over a tag does not allocate.
+ * </p>
+ * Blocks, items and entity types use their Minestom registry ids. Fluids and biomes are data driven, so the index
+ * assigns them ids of its own, which are available through {@link #id(Registry, Key)}.
+ */
+public final class TagIndex {
+
+    public enum Registry {
+        BLOCK("block"),
+        ITEM("item"),
+        ENTITY_TYPE("entity_type"),
+        FLUID("fluid"),
+        BIOME("worldgen/biome");
+
+        private final String folder;
+
+        Registry(String folder) {
+            this.folder = folder;
+        }
+
+        /**
+         * @return the folder of this registry's tags, relative to a namespace's {@code tags} folder
+         */
+        public @NotNull String folder() {
+            return folder;
+        }
+    }
+
+    private final Map<Registry, RegistryTags> registries;
+    private final List<String> problems;
+
+    private TagIndex(Map<Registry, RegistryTags> registries, List<String> problems) {
+        this.registries = registries;
+        this.problems = problems;
+    }
+
+    /**
+     * Resolves every tag of the given datapack. Invalid tags are dropped and logged as a warning.
+     *
+     * @param datapack the datapack
+     * @return the index
+     */
+    public static @NotNull TagIndex build(@NotNull Datapack datapack) {
+        Map<Registry, RegistryTags> registries = new EnumMap<>(Registry.class);
+        List<String> problems = new ArrayList<>();
+        for (Registry registry : Registry.values()) {
+            registries.put(registry, new Builder(registry, collect(datapack, registry), problems).build());
+        }
+        if (!problems.isEmpty()) {
+            Logger.warn("Dropped " + problems.size() + " invalid tags:" + System.lineSeparator()
+                    + String.join(System.lineSeparator(), problems));
+        }
+        return new TagIndex(registries, List.copyOf(problems));
+    }
+
+    /**
+     * @return why each dropped tag was dropped, empty if every tag is valid
+     */
+    public @NotNull List<String> problems() {
+        return problems;
+    }
+
+    /**
+     * @return the flattened members of the given tag, or null if the tag does not exist
+     */
+    public @Nullable Members members(@NotNull Registry registry, @NotNull Key tag) {
+        return registries.get(registry).tags.get(lookupKey(tag));
+    }
+
+    public boolean contains(@NotNull Registry registry, @NotNull Key tag, int id) {
+        Members members = members(registry, tag);
+        return members != null && members.contains(id);
+    }
+
+    /**
+     * @return the id the given entry has in this index, or -1 if it is unknown
+     */
+    public int id(@NotNull Registry registry, @NotNull Key key) {
+        return registries.get(registry).ids.getInt(lookupKey(key));
+    }
+
+    /**
+     * Keys are compared by namespace and value, except for {@link Tag} which is a record, so only tags are copied.
+     */
+    private static Key lookupKey(Key key) {
+        return key instanceof Tag tag ? Key.key(tag.namespace(), tag.value()) : key;
+    }
+
+    /**
+     * @return the entry with the given id, or null if no tag contains it
+     */
+    public @Nullable Key key(@NotNull Registry registry, int id) {
+        Key[] keys = registries.get(registry).keys;
+        return id >= 0 && id < keys.length ? keys[id] : null;
+    }
+
+    /**
+     * @return every tag known for the given registry
+     */
+    public @NotNull Set<Key> tags(@NotNull Registry registry) {
+        return registries.get(registry).tags.keySet();
+    }
+
+    /**
+     * The flattened members of a single tag.
+     */
+    public static final class Members {
+        private final long[] words;
+        private final int size;
+
+        private Members(BitSet bits) {
+            this.words = bits.toLongArray();
+            this.size = bits.cardinality();
+        }
+
+        public boolean contains(int id) {
+            int word = id >>> 6;
+            return id >= 0 && word < words.length && (words[word] & (1L << id)) != 0;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Finds the next member, for allocation-free iteration:
+         * {@code for (int id = members.nextId(0); id >= 0; id = members.nextId(id + 1))}
+         *
+         * @param from the first id to check
+         * @return the lowest member id that is {@code >= from}, or -1 if there are none
+         */
+        public int nextId(int from) {
+            if (from < 0) from = 0;
+            int word = from >>> 6;
+            if (word >= words.length) return -1;
+            long bits = words[word] & (-1L << from);
+            while (true) {
+                if (bits != 0) return (word << 6) + Long.numberOfTrailingZeros(bits);
+                if (++word == words.length) return -1;
+                bits = words[word];
+            }
+        }
+
+        public void forEach(@NotNull IntConsumer consumer) {
+            for (int word = 0; word < words.length; word++) {
+                long bits = words[word];
+                while (bits != 0) {
+                    consumer.accept((word << 6) + Long.numberOfTrailingZeros(bits));
+                    bits &= bits - 1;
+                }
+            }
+        }
+    }
+
+    private record RegistryTags(Map<Key, Members> tags, Object2IntMap<Key> ids, Key[] keys) {
+    }
+
+    private static Map<Key, Datapack.Tag> collect(Datapack datapack, Registry registry) {
+        Map<Key, Datapack.Tag> tags = new HashMap<>();
+        for (var entry : datapack.namespacedData().entrySet()) {
+            FileSystem<Datapack.Tag> folder = entry.getValue().tags();
+            for (String path : registry.folder().split("/")) {
+                folder = folder.folder(path);
+            }
+            collect(entry.getKey(), "", folder, tags);
+        }
+        return tags;
+    }
+
+    private static void collect(String namespace, String prefix, FileSystem<Datapack.Tag> folder, Map<Key, Datapack.Tag> tags) {
+        for (String file : folder.files()) {
+            if (!file.endsWith(".json")) continue;
+            String name = prefix + file.substring(0, file.length() - ".json".length());
+            tags.put(Key.key(namespace, name), folder.file(file));
+        }
+        for (String child : folder.folders()) {
+            collect(namespace, prefix + child + "/", folder.folder(child), tags);
+        }
+    }
+
+    private static final class Builder {
+        private final Registry registry;
+        private final Map<Key, Datapack.Tag> source;
+        private final List<String> problems;
+        private final Map<Key, BitSet> resolved = new HashMap<>();
+        private final Set<Key> dropped = new HashSet<>();
+        private final Set<Key> visiting = new LinkedHashSet<>();
+        private final Object2IntMap<Key> ids = new Object2IntOpenHashMap<>();
+        private final List<Key> keys = new ArrayList<>();
+
+        Builder(Registry registry, Map<Key, Datapack.Tag> source, List<String> problems) {
+            this.registry = registry;
+            this.source = source;
+            this.problems = problems;
+            this.ids.defaultReturnValue(-1);
+        }
+
+        RegistryTags build() {
+            // sorted, so that data driven ids are stable between runs
+            List<Key> sorted = source.keySet().stream().sorted().toList();
+            Map<Key, Members> tags = new HashMap<>();
+            for (Key tag : sorted) {
+                BitSet members = resolve(tag);
+                if (members != null) tags.put(tag, new Members(members));
+            }
+            return new RegistryTags(Map.copyOf(tags), ids, keys.toArray(Key[]::new));
+        }
+
+        /**
+         * @return the members of the given tag, or null if it was dropped
+         */
+        private @Nullable BitSet resolve(Key tag) {
+            BitSet members = resolved.get(tag);
+            if (members != null || dropped.contains(tag)) return members;
+
+            if (!visiting.add(tag)) {
+                List<Key> cycleTags = new ArrayList<>();
+                StringJoiner cycle = new StringJoiner(" -> ");
+                boolean inCycle = false;
+                for (Key key : visiting) {
+                    inCycle |= key.equals(tag);
+                    if (inCycle) {
+                        cycleTags.add(key);
+                        cycle.add("#" + key.asString());
+                    }
+                }
+                cycle.add("#" + tag.asString());
+                for (Key key : cycleTags) {
+                    drop(key, "is part of a cycle: " + cycle);
+                }
+                return null;
+            }
+
+            members = new BitSet();
+            for (Datapack.Tag.TagValue value : source.get(tag).values()) {
+                boolean added = true;
+                if (value instanceof Datapack.Tag.TagValue.ObjectOrTagReference reference) {
+                    added = add(tag, reference, true, members);
+                } else if (value instanceof Datapack.Tag.TagValue.TagEntry entry) {
+                    added = add(tag, entry.id(), entry.required() == null || entry.required(), members);
+                }
+                if (!added) {
+                    members = null;
+                    break;
+                }
+            }
+
+            visiting.remove(tag);
+            // a cycle may have dropped this tag even if it only references its cycle optionally
+            if (members == null || dropped.contains(tag)) return null;
+            resolved.put(tag, members);
+            return members;
+        }
+
+        /**
+         * @return false if the value is a required tag that can't be resolved, which drops the owner
+         */
+        private boolean add(Key owner, Datapack.Tag.TagValue.ObjectOrTagReference value, boolean required, BitSet members) {
+            Key key = value.tag();
+            if (key instanceof Tag reference) {
+                Key referenced = Key.key(reference.namespace(), reference.value());
+                BitSet referencedMembers = source.containsKey(referenced) ? resolve(referenced) : null;
+                if (referencedMembers != null) {
+                    members.or(referencedMembers);
+                } else if (required) {
+                    // a tag in a cycle has already been dropped by the cycle check
+                    if (!dropped.contains(owner)) {
+                        drop(owner, "requires " + (source.containsKey(referenced) ? "dropped" : "unknown") + " tag #" + referenced.asString());
+                    }
+                    return false;
+                }
+                return true;
+            }
+
+            // entries unknown to the server's registries are skipped
+            int id = idOf(key);
+            if (id >= 0) members.set(id);
+            return true;
+        }
+
+        private void drop(Key tag, String reason) {
+            dropped.add(tag);
+            problems.add(registry.folder() + " tag #" + tag.asString() + " " + reason);
+        }
+
+        private int idOf(Key key) {
+            int id = ids.getInt(key);
+            if (id >= 0) return id;
+
+            id = switch (registry) {
+                case BLOCK -> {
+                    Block block = Block.fromKey(key);
+                    yield block == null ? -1 : block.id();
+                }
+                case ITEM -> {
+                    Material material = Material.fromKey(key);
+                    yield material == null ? -1 : material.id();
+                }
+                case ENTITY_TYPE -> {
+                    EntityType type = EntityType.fromKey(key);
+                    yield type == null ? -1 : type.id();
+                }
+                case FLUID, BIOME -> keys.size();
+            };
+            if (id < 0) return id;
+
+            ids.put(key, id);
+            while (keys.size() <= id) keys.add(null);
+            keys.set(id, key);
+            return id;
+        }
+    }
+}
@@ -8,6 +8,8 @@ dependencies {
     testImplementation("org.junit.jupiter:junit-jupiter")
     testImplementation(project(":core"))
     testImplementation(project(":datapack-loading"))
+    testImplementation(project(":datapack"))
+    testImplementation(project(":loot-table"))
     testImplementation(project(":blocks"))
     testImplementation(project(":block-update-system"))
     testImplementation(project(":mojang-data"))
@@ -0,0 +1,41 @@
+package net.minestom.vanilla.datapack;
+
+import net.kyori.adventure.key.Key;
+import net.kyori.adventure.nbt.BinaryTag;
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.codec.Codec;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times decoding the jar's loot tables, as done at startup, with one thread and with several.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class DatapacksBenchmark {
+
+    @Param({"1", "2", "4", "8"})
+    public int parallelism;
+
+    private Path jar;
+
+    @Setup
+    public void setup() throws IOException {
+        MinecraftServer.init();
+        jar = Datapacks.ensureCurrentJarExists();
+    }
+
+    @Benchmark
+    public Map<Key, BinaryTag> buildRegistryFromJar() throws IOException {
+        Path tablesPath = Path.of("/", "data", "minecraft", "loot_table");
+        return Datapacks.buildRegistryFromJar(jar, tablesPath, MinecraftServer.process(), ".json", Codec.NBT, parallelism);
+    }
+}
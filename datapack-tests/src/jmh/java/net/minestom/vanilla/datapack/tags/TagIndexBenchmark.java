@@ -0,0 +1,67 @@
+package net.minestom.vanilla.datapack.tags;
+
+import net.kyori.adventure.key.Key;
+import net.minecraft.SharedConstants;
+import net.minecraft.server.Bootstrap;
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.item.Material;
+import net.minestom.vanilla.VanillaReimplementation;
+import net.minestom.vanilla.datapack.Datapack;
+import net.minestom.vanilla.datapack.DatapackLoadingFeature;
+import net.minestom.vanilla.datapack.DatapackUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares tag membership checks through the {@link TagIndex} against the recursive {@link DatapackUtils#findTags}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TagIndexBenchmark {
+
+    private Datapack datapack;
+    private List<Key> itemTags;
+
+    @Setup
+    public void setup() {
+        SharedConstants.tryDetectVersion();
+        Bootstrap.bootStrap();
+
+        MinecraftServer.init();
+        VanillaReimplementation vri = VanillaReimplementation.hook(MinecraftServer.process());
+        datapack = vri.feature(DatapackLoadingFeature.class).current();
+
+        // the recursive resolution only handles top-level tag files
+        itemTags = datapack.tagIndex().tags(TagIndex.Registry.ITEM).stream()
+                .filter(tag -> !tag.value().contains("/"))
+                .sorted()
+                .toList();
+    }
+
+    @Benchmark
+    public int recursive() {
+        int found = 0;
+        Key stone = Material.STONE.key();
+        for (Key tag : itemTags) {
+            if (DatapackUtils.findTags(datapack, "item", tag).contains(stone)) found++;
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int index() {
+        int found = 0;
+        TagIndex index = datapack.tagIndex();
+        int stone = Material.STONE.id();
+        for (Key tag : itemTags) {
+            if (index.contains(TagIndex.Registry.ITEM, tag, stone)) found++;
+        }
+        return found;
+    }
+}
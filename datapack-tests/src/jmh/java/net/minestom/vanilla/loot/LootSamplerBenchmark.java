@@ -0,0 +1,49 @@
+package net.minestom.vanilla.loot;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rolls a pool of static, unconditional entries, comparing the alias table of {@link LootSampler} against the weight
+ * walk of {@link LootPool#pickChoice(List, LootContext)}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LootSamplerBenchmark {
+
+    @Param({"4", "16", "64"})
+    public int entries;
+
+    private List<LootEntry> pool;
+    private LootSampler sampler;
+    private LootContext context;
+
+    @Setup
+    public void setup() {
+        pool = new ArrayList<>();
+        for (int i = 0; i < entries; i++) {
+            pool.add(new LootEntry.Empty(List.of(), List.of(), i % 5 + 1, 0));
+        }
+        sampler = LootSampler.of(pool);
+        context = LootContext.from(Map.of(LootContext.RANDOM, new Random(0)));
+    }
+
+    @Benchmark
+    public LootEntry.Choice aliasTable() {
+        return sampler.pick(context);
+    }
+
+    @Benchmark
+    public LootEntry.Choice pickChoice() {
+        return LootPool.pickChoice(pool, context);
+    }
+}
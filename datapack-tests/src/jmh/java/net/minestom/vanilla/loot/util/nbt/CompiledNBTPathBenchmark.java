@@ -0,0 +1,57 @@
+package net.minestom.vanilla.loot.util.nbt;
+
+import net.kyori.adventure.nbt.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Selects from a container's NBT with a {@link CompiledNBTPath}, against walking {@link NBTPath#get(BinaryTag)}'s
+ * references, for paths as used by loot predicates and copy functions.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompiledNBTPathBenchmark {
+
+    @Param({"display.Name", "Items[0].id", "Items[].count", "Items[{id:\"minecraft:stick\"}].count"})
+    public String path;
+
+    private CompoundBinaryTag root;
+    private NBTPath parsed;
+    private CompiledNBTPath compiled;
+
+    @Setup
+    public void setup() {
+        ListBinaryTag.Builder<CompoundBinaryTag> items = ListBinaryTag.builder(BinaryTagTypes.COMPOUND);
+        for (int i = 0; i < 27; i++) {
+            items.add(CompoundBinaryTag.builder()
+                    .putString("id", i % 9 == 8 ? "minecraft:stick" : "minecraft:diamond")
+                    .putByte("count", (byte) (i + 1))
+                    .build());
+        }
+        root = CompoundBinaryTag.builder()
+                .put("Items", items.build())
+                .put("display", CompoundBinaryTag.builder().putString("Name", "chest").build())
+                .build();
+        parsed = NBTPath.parse(path);
+        compiled = parsed.compiled();
+    }
+
+    @Benchmark
+    public List<BinaryTag> compiled() {
+        return compiled.select(root);
+    }
+
+    @Benchmark
+    public void references(Blackhole blackhole) {
+        for (NBTReference reference : parsed.get(root)) {
+            blackhole.consume(reference.get());
+        }
+    }
+}
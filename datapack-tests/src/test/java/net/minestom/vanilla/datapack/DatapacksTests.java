@@ -0,0 +1,40 @@
+package net.minestom.vanilla.datapack;
+
+import net.kyori.adventure.key.Key;
+import net.kyori.adventure.nbt.BinaryTag;
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.codec.Codec;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DatapacksTests {
+
+    private static Path jar;
+
+    @BeforeAll
+    public static void init() throws IOException {
+        MinecraftServer.init();
+        jar = Datapacks.ensureCurrentJarExists();
+    }
+
+    @Test
+    public void testParallelRegistryMatchesSequential() throws IOException {
+        Path tablesPath = Path.of("/", "data", "minecraft", "loot_table");
+
+        Map<Key, BinaryTag> sequential = Datapacks.buildRegistryFromJar(jar, tablesPath, MinecraftServer.process(), ".json", Codec.NBT, 1);
+        Map<Key, BinaryTag> parallel = Datapacks.buildRegistryFromJar(jar, tablesPath, MinecraftServer.process(), ".json", Codec.NBT,
+                Math.max(2, Runtime.getRuntime().availableProcessors()));
+
+        assertFalse(sequential.isEmpty(), "Should have decoded loot tables");
+        assertEquals(sequential, parallel, "Parallel decoding should produce the same registry");
+        assertEquals(List.copyOf(sequential.keySet()), List.copyOf(parallel.keySet()), "Registry order should be deterministic");
+        assertEquals(sequential.keySet().stream().sorted().toList(), List.copyOf(parallel.keySet()), "Registry should be ordered by key");
+    }
+}
@@ -231,8 +231,8 @@ public class ResourcePackParsingTests {
         FileSystem<String> lootTableSource = rawAssets.map((Function<ByteArray, String>) ByteArray::toCharacterString);
         
         int sourceFiles = 0;
-        if (lootTableSource.hasFolder("minecraft") && lootTableSource.folder("minecraft").hasFolder("loot_tables")) {
-            sourceFiles = lootTableSource.folder("minecraft", "loot_tables").files().size();
+        if (lootTableSource.hasFolder("minecraft") && lootTableSource.folder("minecraft").hasFolder("loot_table")) {
+            sourceFiles = lootTableSource.folder("minecraft", "loot_table").files().size();
         }
         
         int parsedFiles = minecraftData.loot_tables().files().size();
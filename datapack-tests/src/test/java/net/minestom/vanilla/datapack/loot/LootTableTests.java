@@ -54,7 +54,7 @@ public class LootTableTests {
 
         FileSystem<ByteArray> data = vri.feature(MojangDataFeature.class).latestAssets();
         FileSystem<String> fs = data.map(byteArray -> byteArray.toCharacterString());
-        fs = fs.folder("minecraft", "loot_tables");
+        fs = fs.folder("minecraft", "loot_table");
 
         DatapackLoadingFeature feature = vri.feature(DatapackLoadingFeature.class);
         datapack = feature.current();
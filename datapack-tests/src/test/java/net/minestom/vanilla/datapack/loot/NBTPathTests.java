@@ -0,0 +1,37 @@
+package net.minestom.vanilla.datapack.loot;
+
+import net.kyori.adventure.nbt.BinaryTagTypes;
+import net.kyori.adventure.nbt.CompoundBinaryTag;
+import net.kyori.adventure.nbt.IntBinaryTag;
+import net.kyori.adventure.nbt.ListBinaryTag;
+import net.minestom.vanilla.datapack.DatapackLoader;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NBTPathTests {
+
+    private static final CompoundBinaryTag ROOT = CompoundBinaryTag.builder()
+            .put("a", CompoundBinaryTag.builder()
+                    .put("b", ListBinaryTag.listBinaryTag(BinaryTagTypes.INT,
+                            List.of(IntBinaryTag.intBinaryTag(1), IntBinaryTag.intBinaryTag(2))))
+                    .build())
+            .build();
+
+    @Test
+    public void testSinglePaths() {
+        NBTPath.Single path = DatapackLoader.adaptor(NBTPath.Single.class).apply("\"a.b[-1]\"");
+        assertEquals(IntBinaryTag.intBinaryTag(2), path.getSingle(ROOT));
+        assertNull(path.getSingle(CompoundBinaryTag.empty()));
+        assertSame(path, DatapackLoader.adaptor(NBTPath.Single.class).apply("\"a.b[-1]\""));
+    }
+
+    @Test
+    public void testMultiPaths() {
+        NBTPath path = DatapackLoader.adaptor(NBTPath.class).apply("\"a.b[]\"");
+        assertEquals(2, path.get(ROOT).size());
+        assertThrows(RuntimeException.class, () -> DatapackLoader.adaptor(NBTPath.Single.class).apply("\"a.b[]\""));
+    }
+}
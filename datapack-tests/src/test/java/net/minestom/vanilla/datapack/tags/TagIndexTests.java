@@ -0,0 +1,133 @@
+package net.minestom.vanilla.datapack.tags;
+
+import net.kyori.adventure.key.Key;
+import net.minecraft.SharedConstants;
+import net.minecraft.server.Bootstrap;
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.instance.block.Block;
+import net.minestom.server.item.Material;
+import net.minestom.vanilla.VanillaReimplementation;
+import net.minestom.vanilla.datapack.Datapack;
+import net.minestom.vanilla.datapack.DatapackLoadingFeature;
+import net.minestom.vanilla.datapack.DatapackUtils;
+import net.minestom.vanilla.files.ByteArray;
+import net.minestom.vanilla.files.DynamicFileSystem;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TagIndexTests {
+
+    private static Datapack datapack;
+    private static List<Key> itemTags;
+
+    @BeforeAll
+    public static void init() {
+        SharedConstants.tryDetectVersion();
+        Bootstrap.bootStrap();
+
+        MinecraftServer.init();
+        VanillaReimplementation vri = VanillaReimplementation.hook(MinecraftServer.process());
+        datapack = vri.feature(DatapackLoadingFeature.class).current();
+
+        // the recursive resolution only handles top-level tag files
+        itemTags = datapack.tagIndex().tags(TagIndex.Registry.ITEM).stream()
+                .filter(tag -> !tag.value().contains("/"))
+                .sorted()
+                .toList();
+    }
+
+    @Test
+    public void testMatchesRecursiveResolution() {
+        TagIndex index = datapack.tagIndex();
+        assertFalse(itemTags.isEmpty(), "Should have item tags");
+
+        for (Key tag : itemTags) {
+            Set<Integer> expected = new TreeSet<>();
+            for (Key item : DatapackUtils.findTags(datapack, "item", tag)) {
+                Material material = Material.fromKey(item);
+                if (material != null) expected.add(material.id());
+            }
+
+            TagIndex.Members members = index.members(TagIndex.Registry.ITEM, tag);
+            assertNotNull(members, () -> "Missing tag " + tag);
+
+            Set<Integer> actual = new TreeSet<>();
+            members.forEach(actual::add);
+            assertEquals(expected, actual, () -> "Members mismatch for " + tag);
+            assertEquals(expected.size(), members.size(), () -> "Size mismatch for " + tag);
+
+            List<Integer> iterated = new ArrayList<>();
+            for (int id = members.nextId(0); id >= 0; id = members.nextId(id + 1)) {
+                iterated.add(id);
+                assertTrue(members.contains(id));
+            }
+            assertEquals(List.copyOf(expected), iterated, () -> "Iteration mismatch for " + tag);
+        }
+    }
+
+    @Test
+    public void testNestedTagsFlattened() {
+        TagIndex index = datapack.tagIndex();
+        // #minecraft:logs includes #minecraft:oak_logs
+        assertTrue(index.contains(TagIndex.Registry.BLOCK, Key.key("logs"), Block.OAK_WOOD.id()));
+        assertTrue(index.contains(TagIndex.Registry.ITEM, Key.key("logs"), Material.OAK_LOG.id()));
+        assertFalse(index.contains(TagIndex.Registry.ITEM, Key.key("logs"), Material.STONE.id()));
+        assertNull(index.members(TagIndex.Registry.ITEM, Key.key("vri", "does_not_exist")));
+    }
+
+    @Test
+    public void testDataDrivenRegistries() {
+        TagIndex index = datapack.tagIndex();
+        int water = index.id(TagIndex.Registry.FLUID, Key.key("water"));
+        assertTrue(water >= 0, "Water should be part of a fluid tag");
+        assertEquals(Key.key("water"), index.key(TagIndex.Registry.FLUID, water));
+        assertTrue(index.contains(TagIndex.Registry.FLUID, Key.key("water"), water));
+        assertFalse(index.tags(TagIndex.Registry.BIOME).isEmpty(), "Should have biome tags");
+    }
+
+    @Test
+    public void testTagKeys() {
+        assertEquals(new Tag("minecraft", "logs"), new Tag("#minecraft:logs"));
+        assertEquals(new Tag("minecraft", "logs"), new Tag("logs"));
+        assertEquals(new Tag("minecraft", "logs"), new Tag("#logs"));
+        assertEquals(new Tag("vri", "a/b"), new Tag("vri:a/b"));
+
+        // tag references find the same members as plain keys
+        TagIndex index = datapack.tagIndex();
+        assertSame(index.members(TagIndex.Registry.ITEM, Key.key("logs")),
+                index.members(TagIndex.Registry.ITEM, new Tag("#minecraft:logs")));
+        assertEquals(index.id(TagIndex.Registry.FLUID, Key.key("water")),
+                index.id(TagIndex.Registry.FLUID, new Tag("water")));
+    }
+
+    @Test
+    public void testInvalidTagsDropped() {
+        DynamicFileSystem<ByteArray> files = new DynamicFileSystem<>() {};
+        tag(files, "cycle_a", "\"#vri:cycle_b\"");
+        tag(files, "cycle_b", "\"#vri:cycle_a\"");
+        tag(files, "missing", "\"#vri:does_not_exist\"");
+        tag(files, "uses_missing", "\"#vri:missing\"");
+        tag(files, "valid", "\"minecraft:stone\"", "{\"id\": \"#vri:missing\", \"required\": false}");
+        TagIndex index = Datapack.loadByteArray(files).tagIndex();
+
+        assertNull(index.members(TagIndex.Registry.ITEM, Key.key("vri", "cycle_a")));
+        assertNull(index.members(TagIndex.Registry.ITEM, Key.key("vri", "cycle_b")));
+        assertNull(index.members(TagIndex.Registry.ITEM, Key.key("vri", "missing")));
+        assertNull(index.members(TagIndex.Registry.ITEM, Key.key("vri", "uses_missing")));
+        assertEquals(4, index.problems().size(), () -> "Each dropped tag should be reported once: " + index.problems());
+
+        // optional references to dropped tags are skipped
+        assertTrue(index.contains(TagIndex.Registry.ITEM, Key.key("vri", "valid"), Material.STONE.id()));
+        assertEquals(1, index.members(TagIndex.Registry.ITEM, Key.key("vri", "valid")).size());
+    }
+
+    private static void tag(DynamicFileSystem<ByteArray> files, String name, String... values) {
+        String json = "{\"values\": [" + String.join(", ", values) + "]}";
+        files.addFile("vri/tags/item/" + name + ".json", ByteArray.wrap(json.getBytes(StandardCharsets.UTF_8)));
+    }
+}
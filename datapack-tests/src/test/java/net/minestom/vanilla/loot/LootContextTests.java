@@ -0,0 +1,74 @@
+package net.minestom.vanilla.loot;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LootContextTests {
+
+    @Test
+    public void testSlotsAreShared() {
+        LootContext.Key<Double> luck = LootContext.key("minecraft:luck");
+        assertEquals(LootContext.LUCK, luck);
+        assertEquals(LootContext.LUCK.slot(), luck.slot());
+        assertNotEquals(LootContext.LUCK.slot(), LootContext.TOOL.slot());
+    }
+
+    @Test
+    public void testFromMap() {
+        Random random = new Random(0);
+        LootContext context = LootContext.from(Map.of(
+                LootContext.RANDOM, random,
+                LootContext.LUCK, 2d
+        ));
+
+        assertSame(random, context.require(LootContext.RANDOM));
+        assertEquals(2d, context.get(LootContext.LUCK));
+        assertTrue(context.has(LootContext.LUCK));
+        assertFalse(context.has(LootContext.TOOL));
+        assertNull(context.get(LootContext.TOOL));
+        assertEquals(5, context.get(LootContext.ENCHANTMENT_LEVEL, 5));
+        assertThrows(NoSuchElementException.class, () -> context.require(LootContext.ORIGIN));
+        assertEquals(context, LootContext.builder().with(LootContext.LUCK, 2d).with(LootContext.RANDOM, random).build());
+    }
+
+    @Test
+    public void testDerivationIsCopyOnWrite() {
+        LootContext context = LootContext.builder().with(LootContext.LUCK, 1d).build();
+        LootContext derived = context.with(LootContext.LUCK, 3d).with(LootContext.ENCHANTMENT_ACTIVE, true);
+
+        assertEquals(1d, context.get(LootContext.LUCK));
+        assertNull(context.get(LootContext.ENCHANTMENT_ACTIVE));
+        assertEquals(3d, derived.get(LootContext.LUCK));
+        assertEquals(true, derived.get(LootContext.ENCHANTMENT_ACTIVE));
+        assertSame(context, context.with(LootContext.TOOL, null));
+        assertFalse(derived.with(LootContext.LUCK, null).has(LootContext.LUCK));
+    }
+
+    @Test
+    public void testKeysCreatedLater() {
+        LootContext context = LootContext.builder().with(LootContext.LUCK, 1d).build();
+        LootContext.Key<String> custom = LootContext.key("vri:test_" + System.nanoTime());
+
+        assertNull(context.get(custom));
+        LootContext derived = context.with(custom, "value");
+        assertEquals("value", derived.get(custom));
+        assertEquals(1d, derived.get(LootContext.LUCK));
+    }
+
+    @Test
+    public void testReusedBuilder() {
+        LootContext.Builder builder = LootContext.builder();
+        LootContext first = builder.with(LootContext.LUCK, 1d).build();
+        LootContext second = builder.clear().with(LootContext.ENCHANTMENT_LEVEL, 2).build();
+
+        assertEquals(1d, first.get(LootContext.LUCK));
+        assertNull(first.get(LootContext.ENCHANTMENT_LEVEL));
+        assertNull(second.get(LootContext.LUCK));
+        assertEquals(2, second.get(LootContext.ENCHANTMENT_LEVEL));
+    }
+}
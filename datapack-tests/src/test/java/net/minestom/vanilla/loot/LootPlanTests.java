@@ -0,0 +1,150 @@
+package net.minestom.vanilla.loot;
+
+import net.kyori.adventure.key.Key;
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.coordinate.Vec;
+import net.minestom.server.instance.block.Block;
+import net.minestom.server.item.ItemStack;
+import net.minestom.server.item.Material;
+import net.minestom.server.utils.Either;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LootPlanTests {
+
+    private static final int SAMPLES = 500;
+
+    private static Map<Key, LootTable> tables;
+
+    @BeforeAll
+    public static void init() {
+        MinecraftServer.init();
+        tables = LootFeature.buildFromDatapack(MinecraftServer.process());
+    }
+
+    private static LootContext context(Key table, long seed) {
+        Block block = table.value().startsWith("blocks/")
+                ? Objects.requireNonNullElse(Block.fromKey(table.value().substring("blocks/".length())), Block.STONE)
+                : Block.STONE;
+        return LootContext.builder()
+                .with(LootContext.RANDOM, new Random(seed))
+                .with(LootContext.ORIGIN, new Vec(0, 64, 0))
+                .with(LootContext.BLOCK_STATE, block)
+                .with(LootContext.TOOL, ItemStack.of(Material.DIAMOND_PICKAXE))
+                .with(LootContext.ENCHANTMENT_ACTIVE, false)
+                .build();
+    }
+
+    /**
+     * The average number of each material generated per roll of the generator, over a fixed run of seeds.
+     */
+    private static Map<Material, Double> averages(Key table, LootGenerator generator, long firstSeed) {
+        Map<Material, Double> totals = new HashMap<>();
+        for (long seed = firstSeed; seed < firstSeed + SAMPLES; seed++) {
+            for (ItemStack item : generator.generate(context(table, seed))) {
+                totals.merge(item.material(), (double) item.amount(), Double::sum);
+            }
+        }
+        totals.replaceAll((material, total) -> total / SAMPLES);
+        return totals;
+    }
+
+    @Test
+    public void testMatchesInterpreterForVanillaTables() {
+        Map<Key, LootPlan> plans = LootPlan.compileAll(tables);
+        assertEquals(tables.keySet(), plans.keySet());
+
+        // plans roll static pools from alias tables, so they draw differently, and only the distributions can match
+        int compared = 0;
+        for (Map.Entry<Key, LootTable> entry : tables.entrySet()) {
+            Key key = entry.getKey();
+            Map<Material, Double> expected;
+            try {
+                expected = averages(key, entry.getValue(), 0);
+            } catch (RuntimeException e) {
+                // the interpreter doesn't support everything yet, e.g. nested tables by key
+                continue;
+            }
+            Map<Material, Double> actual = averages(key, plans.get(key), SAMPLES);
+
+            Set<Material> materials = new HashSet<>(expected.keySet());
+            materials.addAll(actual.keySet());
+            for (Material material : materials) {
+                double expectedAverage = expected.getOrDefault(material, 0d);
+                double actualAverage = actual.getOrDefault(material, 0d);
+                assertEquals(expectedAverage, actualAverage, 0.1 * Math.max(1, expectedAverage),
+                        () -> "Loot mismatch for " + key + " with " + material);
+            }
+            compared++;
+        }
+
+        assertTrue(compared > tables.size() / 2, "Most vanilla tables should be comparable");
+    }
+
+    private static LootTable reference(Key key) {
+        LootEntry entry = new LootEntry.LootTable(List.of(), List.of(), 1, 0, new Either.Left<>(key));
+        LootPool pool = new LootPool(new LootNumber.Constant(1D), new LootNumber.Constant(0D), List.of(entry), List.of(), List.of());
+        return new LootTable(List.of(pool), List.of(), null);
+    }
+
+    @Test
+    public void testResolvesNestedTables() {
+        LootEntry stone = new LootEntry.Item(List.of(), List.of(), 1, 0, Material.STONE);
+        LootPool pool = new LootPool(new LootNumber.Constant(2D), new LootNumber.Constant(0D), List.of(stone), List.of(), List.of());
+        Map<Key, LootTable> nested = Map.of(
+                Key.key("vri:outer"), reference(Key.key("vri:inner")),
+                Key.key("vri:inner"), new LootTable(List.of(pool), List.of(), null));
+
+        LootPlan plan = LootPlan.compileAll(nested).get(Key.key("vri:outer"));
+        List<ItemStack> items = plan.generate(context(Key.key("vri:outer"), 0));
+        assertEquals(List.of(ItemStack.of(Material.STONE), ItemStack.of(Material.STONE)), items);
+
+        assertTrue(LootPlan.compile(reference(Key.key("vri:missing"))).generate(context(Key.key("vri:outer"), 0)).isEmpty());
+    }
+
+    @Test
+    public void testRejectsCycles() {
+        Map<Key, LootTable> cyclic = Map.of(
+                Key.key("vri:a"), reference(Key.key("vri:b")),
+                Key.key("vri:b"), reference(Key.key("vri:c")),
+                Key.key("vri:c"), reference(Key.key("vri:a")));
+
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> LootPlan.compile(cyclic.get(Key.key("vri:a")), cyclic::get));
+        assertEquals("Loot table cycle: vri:b -> vri:c -> vri:a -> vri:b", e.getMessage());
+    }
+
+    @Test
+    public void testPredicateOrder() {
+        LootPredicate random = new LootPredicate.RandomChance(new LootNumber.Constant(0.5));
+        LootPredicate cheap = new LootPredicate.KilledByPlayer();
+        LootPredicate tool = new LootPredicate.MatchTool(null);
+        LootPredicate enchantment = new LootPredicate.EnchantmentActiveCheck(true);
+
+        assertEquals(List.of(cheap, tool, random, tool, enchantment),
+                LootPlan.PredicateOrder.order(List.of(tool, cheap, random, tool, enchantment)));
+        assertEquals(List.of(new LootPredicate.AllOf(List.of(cheap, tool))),
+                LootPlan.PredicateOrder.order(List.of(new LootPredicate.AllOf(List.of(tool, cheap)))));
+    }
+
+    @Test
+    public void testPredicateOrderKeepsShortCircuits() {
+        LootPredicate stone = new LootPredicate.BlockStateProperty(Key.key("minecraft:stone"), null);
+        LootPredicate enchantment = new LootPredicate.EnchantmentActiveCheck(true);
+        LootPredicate weather = new LootPredicate.WeatherCheck(true, null);
+
+        // neither the enchantment nor the world is set, so the later predicates throw if they're tested first
+        LootContext context = LootContext.builder().with(LootContext.BLOCK_STATE, Block.DIRT).build();
+        List<LootPredicate> allOf = List.of(new LootPredicate.AllOf(List.of(stone, enchantment)));
+        List<LootPredicate> anyOf = List.of(new LootPredicate.AnyOf(List.of(new LootPredicate.Inverted(stone), weather, enchantment)));
+
+        assertFalse(LootPredicate.all(allOf, context));
+        assertFalse(LootPredicate.all(LootPlan.PredicateOrder.order(allOf), context));
+        assertTrue(LootPredicate.all(anyOf, context));
+        assertTrue(LootPredicate.all(LootPlan.PredicateOrder.order(anyOf), context));
+    }
+}
@@ -0,0 +1,155 @@
+package net.minestom.vanilla.loot;
+
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.coordinate.Vec;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.instance.block.Block;
+import net.minestom.server.item.ItemStack;
+import net.minestom.server.item.Material;
+import net.minestom.vanilla.VanillaReimplementation;
+import net.minestom.vanilla.blocks.VanillaBlockLoot;
+import net.minestom.vanilla.datapack.Datapack;
+import net.minestom.vanilla.datapack.DatapackLoader;
+import net.minestom.vanilla.datapack.DatapackLoadingFeature;
+import net.minestom.vanilla.datapack.Datapacks;
+import net.minestom.vanilla.files.ByteArray;
+import net.minestom.vanilla.files.DynamicFileSystem;
+import net.minestom.vanilla.utils.BlockStateDispatch;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LootRuntimeTests {
+
+    private static final int SEEDS = 8;
+
+    private static VanillaReimplementation vri;
+    private static Instance instance;
+
+    @BeforeAll
+    public static void init() {
+        MinecraftServer.init();
+        vri = VanillaReimplementation.hook(MinecraftServer.process());
+        instance = MinecraftServer.getInstanceManager().createInstanceContainer();
+    }
+
+    @Test
+    public void testSharedPerProcess() {
+        LootRuntime runtime = LootRuntime.of(vri.process());
+        assertSame(runtime, LootRuntime.of(vri.process()));
+        assertSame(runtime.tables(), LootFeature.buildFromDatapack(vri.process()));
+        assertNotNull(runtime.blockTables().get(Block.STONE));
+
+        // tables that aren't a process's get a runtime of their own
+        assertNotSame(runtime.blockTables(), LootFeature.blockLootTables(LootFeature.buildFromDatapack(vri.process())));
+    }
+
+    @Test
+    public void testDatapackSnapshots() {
+        LootRuntime runtime = LootRuntime.of(vri.process());
+        Datapack current = vri.feature(DatapackLoadingFeature.class).current();
+        BlockStateDispatch<LootGenerator> blockTables = runtime.blockTables();
+
+        DynamicFileSystem<ByteArray> files = new DynamicFileSystem<>() {};
+        String diamond = "{\"type\": \"minecraft:block\", \"pools\": [{\"rolls\": 1, \"entries\": "
+                + "[{\"type\": \"minecraft:item\", \"name\": \"minecraft:diamond\"}]}]}";
+        files.addFile("minecraft/loot_table/blocks/dirt.json", ByteArray.wrap(diamond.getBytes(StandardCharsets.UTF_8)));
+        Datapack override = Datapack.loadByteArray(files);
+
+        try {
+            assertSame(runtime, LootRuntime.of(vri.process(), override));
+            assertSame(blockTables, runtime.blockTables(), "Event nodes should follow reloads");
+            assertEquals(List.of("minecraft:diamond x1"),
+                    summary(runtime.blockLoot(instance, Vec.ZERO, Block.DIRT, ItemStack.AIR, null, new Random(0))));
+            // the jar is the base layer of the datapack's tables
+            assertNotNull(blockTables.get(Block.STONE));
+
+            LootGenerator dirt = blockTables.get(Block.DIRT);
+            runtime.load(current);
+            assertNotSame(dirt, blockTables.get(Block.DIRT));
+            runtime.load(override);
+            assertSame(dirt, blockTables.get(Block.DIRT), "Each snapshot should be compiled once");
+        } finally {
+            runtime.load(current);
+        }
+        assertEquals(List.of("minecraft:dirt x1"),
+                summary(runtime.blockLoot(instance, Vec.ZERO, Block.DIRT, ItemStack.AIR, null, new Random(0))));
+    }
+
+    @Test
+    public void testCanDrop() {
+        assertTrue(LootRuntime.canDrop(Block.DIRT, ItemStack.AIR));
+        assertFalse(LootRuntime.canDrop(Block.STONE, ItemStack.AIR));
+        assertTrue(LootRuntime.canDrop(Block.STONE, ItemStack.of(Material.WOODEN_PICKAXE)));
+
+        LootRuntime runtime = LootRuntime.of(vri.process());
+        assertEquals(List.of(), runtime.blockLoot(instance, Vec.ZERO, Block.STONE, ItemStack.AIR, null, new Random(0)));
+    }
+
+    /**
+     * Block loot used to be generated by the datapack-loading engine, so the tables it supports must drop the same
+     * loot from the shared runtime. Only tables whose loot doesn't depend on the random are compared, as the engines
+     * consume randomness differently.
+     */
+    @Test
+    public void testMatchesDatapackEngine() throws IOException {
+        LootRuntime runtime = LootRuntime.of(vri.process());
+        VanillaBlockLoot datapackEngine = new VanillaBlockLoot(vri, vri.feature(DatapackLoadingFeature.class).current());
+        var adaptor = DatapackLoader.adaptor(net.minestom.vanilla.datapack.loot.LootTable.class);
+        ItemStack tool = ItemStack.of(Material.DIAMOND_PICKAXE);
+
+        int compared = 0;
+        try (FileSystem jar = FileSystems.newFileSystem(Datapacks.ensureCurrentJarExists());
+             Stream<Path> files = Files.list(jar.getPath("data", "minecraft", "loot_table", "blocks"))) {
+            for (Path file : files.sorted().toList()) {
+                String name = file.getFileName().toString();
+                Block block = Block.fromKey(name.substring(0, name.length() - ".json".length()));
+                if (block == null) continue;
+
+                net.minestom.vanilla.datapack.loot.LootTable table;
+                try {
+                    table = adaptor.apply(Files.readString(file));
+                } catch (Exception e) {
+                    continue; // not supported by the datapack engine
+                }
+
+                Set<List<String>> expected = new HashSet<>();
+                Set<List<String>> actual = new HashSet<>();
+                try {
+                    for (long seed = 0; seed < SEEDS; seed++) {
+                        var context = new net.minestom.vanilla.datapack.loot.context.LootContext.Block(block, Vec.ZERO, tool, null, null, null);
+                        expected.add(summary(datapackEngine.getLoot(table, context, new Random(seed))));
+                        actual.add(summary(runtime.blockLoot(instance, Vec.ZERO, block, tool, null, new Random(seed))));
+                    }
+                } catch (RuntimeException e) {
+                    continue; // not supported by the datapack engine
+                }
+                if (expected.size() != 1 || actual.size() != 1) continue;
+
+                assertEquals(expected, actual, () -> "Loot mismatch for " + block.key());
+                compared++;
+            }
+        }
+
+        assertTrue(compared > 0);
+    }
+
+    // the dropped materials and amounts, in a stable order
+    private static List<String> summary(List<ItemStack> items) {
+        Map<Material, Integer> amounts = new TreeMap<>(Comparator.comparing(material -> material.key().asString()));
+        for (ItemStack item : items) {
+            if (!item.isAir()) amounts.merge(item.material(), item.amount(), Integer::sum);
+        }
+        return amounts.entrySet().stream().map(entry -> entry.getKey().key().asString() + " x" + entry.getValue()).toList();
+    }
+}
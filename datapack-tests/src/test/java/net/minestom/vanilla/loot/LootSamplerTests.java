@@ -0,0 +1,123 @@
+package net.minestom.vanilla.loot;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LootSamplerTests {
+
+    private static final int SAMPLES = 200_000;
+
+    private static LootEntry entry(long weight, LootPredicate... predicates) {
+        return new LootEntry.Empty(List.of(predicates), List.of(), weight, 0);
+    }
+
+    private static LootContext context(long seed, boolean enchantmentActive) {
+        return LootContext.from(Map.of(
+                LootContext.RANDOM, new Random(seed),
+                LootContext.ENCHANTMENT_ACTIVE, enchantmentActive
+        ));
+    }
+
+    private static Map<LootEntry.Choice, Double> distribution(LootContext context, Function<LootContext, LootEntry.Choice> picker) {
+        Map<LootEntry.Choice, Integer> counts = new IdentityHashMap<>();
+        for (int i = 0; i < SAMPLES; i++) {
+            LootEntry.Choice choice = picker.apply(context);
+            if (choice != null) counts.merge(choice, 1, Integer::sum);
+        }
+        Map<LootEntry.Choice, Double> frequencies = new IdentityHashMap<>();
+        counts.forEach((choice, count) -> frequencies.put(choice, (double) count / SAMPLES));
+        return frequencies;
+    }
+
+    private static void assertSameDistribution(List<LootEntry> entries, boolean enchantmentActive) {
+        LootSampler sampler = LootSampler.of(entries);
+        Map<LootEntry.Choice, Double> expected = distribution(context(1, enchantmentActive), context -> LootPool.pickChoice(entries, context));
+        Map<LootEntry.Choice, Double> actual = distribution(context(2, enchantmentActive), sampler::pick);
+
+        assertEquals(expected.keySet(), actual.keySet());
+        for (LootEntry.Choice choice : expected.keySet()) {
+            assertEquals(expected.get(choice), actual.get(choice), 0.01, () -> "Frequency mismatch for " + choice);
+        }
+    }
+
+    @Test
+    public void testStaticWeights() {
+        List<LootEntry> entries = List.of(entry(1), entry(3), entry(6), entry(10), entry(0));
+        assertSameDistribution(entries, false);
+
+        // the sampler should also match the weights themselves
+        Map<LootEntry.Choice, Double> actual = distribution(context(3, false), LootSampler.of(entries)::pick);
+        double total = 1 + 3 + 6 + 10 + 1;
+        assertEquals(1 / total, actual.get(entries.get(0)), 0.01);
+        assertEquals(10 / total, actual.get(entries.get(3)), 0.01);
+        assertEquals(1 / total, actual.get(entries.get(4)), 0.01);
+    }
+
+    @Test
+    public void testConditionalWeights() {
+        List<LootEntry> entries = List.of(
+                entry(5),
+                entry(2, new LootPredicate.EnchantmentActiveCheck(true)),
+                entry(7, new LootPredicate.RandomChance(new LootNumber.Constant(0.5))),
+                entry(1, new LootPredicate.EnchantmentActiveCheck(false)));
+        assertSameDistribution(entries, true);
+        assertSameDistribution(entries, false);
+    }
+
+    @Test
+    public void testNoPassingEntries() {
+        List<LootEntry> entries = List.of(entry(5, new LootPredicate.EnchantmentActiveCheck(true)));
+        assertNull(LootSampler.of(entries).pick(context(0, false)));
+        assertNull(LootSampler.of(List.of()).pick(context(0, false)));
+    }
+
+    @Test
+    public void testFallbackForCompositeEntries() {
+        List<LootEntry> entries = List.of(
+                entry(4),
+                new LootEntry.Group(List.of(), List.of(entry(1), entry(2))),
+                new LootEntry.Empty(List.of(), List.of(), 3, 2));
+        assertSameDistribution(entries, false);
+    }
+
+    @Test
+    public void testAliasTableWeights() {
+        // uneven weights, so that most columns of the alias table are shared between two choices
+        List<LootEntry> entries = new ArrayList<>();
+        long total = 0;
+        for (int i = 0; i < 40; i++) {
+            long weight = i % 7 == 0 ? 50 : i % 3 + 1;
+            entries.add(entry(weight));
+            total += weight;
+        }
+        assertSameDistribution(entries, false);
+
+        Map<LootEntry.Choice, Double> actual = distribution(context(4, false), LootSampler.of(entries)::pick);
+        for (LootEntry entry : entries) {
+            LootEntry.Empty choice = (LootEntry.Empty) entry;
+            assertEquals((double) choice.weight() / total, actual.getOrDefault(choice, 0d), 0.01, () -> "Frequency mismatch for " + choice);
+        }
+    }
+
+    @Test
+    public void testSameChoicesForSeedWithConditions() {
+        // only conditional pools walk the weights like LootPool#pickChoice, the alias table draws differently
+        List<LootEntry> entries = new ArrayList<>();
+        for (int i = 1; i <= 16; i++) {
+            entries.add(entry(i));
+        }
+        entries.set(3, entry(4, new LootPredicate.EnchantmentActiveCheck(true)));
+        entries.set(7, entry(8, new LootPredicate.RandomChance(new LootNumber.Constant(0.5))));
+
+        LootSampler sampler = LootSampler.of(entries);
+        LootContext expected = context(42, false);
+        LootContext actual = context(42, false);
+        for (int i = 0; i < 10_000; i++) {
+            assertSame(LootPool.pickChoice(entries, expected), sampler.pick(actual));
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package net.minestom.vanilla.loot;
+
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.item.Material;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LootSimulationTests {
+
+    private static LootTable table;
+
+    @BeforeAll
+    public static void init() {
+        MinecraftServer.init();
+
+        LootEntry stone = new LootEntry.Item(List.of(), List.of(), 3, 0, Material.STONE);
+        LootEntry dirt = new LootEntry.Item(List.of(), List.of(), 1, 0, Material.DIRT);
+        LootPool pool = new LootPool(new LootNumber.Uniform(new LootNumber.Constant(1D), new LootNumber.Constant(3D)),
+                new LootNumber.Constant(0D), List.of(stone, dirt), List.of(), List.of());
+        table = new LootTable(List.of(pool), List.of(), null);
+    }
+
+    @Test
+    public void testReproducibleAcrossThreads() {
+        LootContext template = LootContext.builder().build();
+        LootSimulation.Result single = LootSimulation.run(table, template, 50_000, 42, 1);
+        LootSimulation.Result parallel = LootSimulation.run(table, template, 50_000, 42, 4);
+
+        assertEquals(single.drops().size(), parallel.drops().size());
+        for (int i = 0; i < single.drops().size(); i++) {
+            LootSimulation.Drops expected = single.drops().get(i);
+            LootSimulation.Drops actual = parallel.drops().get(i);
+            assertEquals(expected.material(), actual.material());
+            assertEquals(expected.total(), actual.total());
+            assertArrayEquals(expected.histogram(), actual.histogram());
+        }
+
+        LootSimulation.Result reseeded = LootSimulation.run(table, template, 50_000, 43, 4);
+        assertNotEquals(single.drops().getFirst().total(), reseeded.drops().getFirst().total());
+    }
+
+    @Test
+    public void testDistribution() {
+        long rolls = 200_000;
+        LootSimulation.Result result = LootSimulation.run(table, LootContext.builder().build(), rolls, 0);
+        assertEquals(List.of(Material.STONE, Material.DIRT),
+                result.drops().stream().map(LootSimulation.Drops::material).toList());
+
+        for (LootSimulation.Drops drops : result.drops()) {
+            long sum = 0;
+            for (long count : drops.histogram()) sum += count;
+            assertEquals(rolls, sum);
+            // 1 to 3 rolls, each picking this item with its weight out of 4
+            double expected = drops.material() == Material.STONE ? 2 * 0.75 : 2 * 0.25;
+            assertEquals(expected, drops.mean(), 0.02);
+        }
+    }
+}
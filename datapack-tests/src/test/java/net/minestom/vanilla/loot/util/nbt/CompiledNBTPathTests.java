@@ -0,0 +1,94 @@
+package net.minestom.vanilla.loot.util.nbt;
+
+import net.kyori.adventure.nbt.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CompiledNBTPathTests {
+
+    private static final CompoundBinaryTag ITEM = CompoundBinaryTag.builder()
+            .putString("id", "minecraft:diamond")
+            .putByte("count", (byte) 2)
+            .build();
+
+    private static final CompoundBinaryTag OTHER_ITEM = CompoundBinaryTag.builder()
+            .putString("id", "minecraft:stick")
+            .putByte("count", (byte) 1)
+            .build();
+
+    private static final CompoundBinaryTag ROOT = CompoundBinaryTag.builder()
+            .put("Items", ListBinaryTag.listBinaryTag(BinaryTagTypes.COMPOUND, List.of(ITEM, OTHER_ITEM)))
+            .put("display", CompoundBinaryTag.builder()
+                    .putString("Name", "chest")
+                    .put("Lore", ListBinaryTag.listBinaryTag(BinaryTagTypes.STRING,
+                            List.of(StringBinaryTag.stringBinaryTag("a"), StringBinaryTag.stringBinaryTag("b"))))
+                    .build())
+            .putInt("weird key", 7)
+            .build();
+
+    private static List<BinaryTag> select(String path) {
+        return NBTPath.parse(path).compiled().select(ROOT);
+    }
+
+    @Test
+    public void testVanillaSyntax() {
+        assertEquals(List.of(ROOT.get("display")), select("display"));
+        assertEquals(List.of(StringBinaryTag.stringBinaryTag("chest")), select("display.Name"));
+        assertEquals(List.of(IntBinaryTag.intBinaryTag(7)), select("\"weird key\""));
+        assertEquals(List.of(ITEM), select("Items[0]"));
+        assertEquals(List.of(OTHER_ITEM), select("Items[-1]"));
+        assertEquals(List.of(), select("Items[2]"));
+        assertEquals(List.of(ITEM, OTHER_ITEM), select("Items[]"));
+        assertEquals(List.of(StringBinaryTag.stringBinaryTag("minecraft:diamond"),
+                StringBinaryTag.stringBinaryTag("minecraft:stick")), select("Items[].id"));
+        assertEquals(List.of(ITEM), select("Items[{id:\"minecraft:diamond\"}]"));
+        assertEquals(List.of(ByteBinaryTag.byteBinaryTag((byte) 1)), select("Items[{id:\"minecraft:stick\"}].count"));
+        assertEquals(List.of(ROOT), select("{display:{Name:\"chest\"}}"));
+        assertEquals(List.of(), select("{display:{Name:\"barrel\"}}"));
+        assertEquals(List.of(StringBinaryTag.stringBinaryTag("b")), select("display{Name:\"chest\"}.Lore[1]"));
+        assertEquals(List.of(), select("display.Name.missing"));
+        assertEquals(List.of(), select("display[0]"));
+    }
+
+    @Test
+    public void testSingle() {
+        assertEquals(ITEM, NBTPath.parse("Items[0]").compiled().single(ROOT));
+        assertEquals(StringBinaryTag.stringBinaryTag("minecraft:stick"),
+                NBTPath.parse("Items[{count:1b}].id").compiled().single(ROOT));
+        // more than one result
+        assertNull(NBTPath.parse("Items[].id").compiled().single(ROOT));
+        assertNull(NBTPath.parse("missing").compiled().single(ROOT));
+    }
+
+    @Test
+    public void testMatchesReferences() {
+        for (String path : List.of("display.Lore[]", "Items[{id:\"minecraft:diamond\"}].count", "Items[-2].id", "{Items:[]}")) {
+            List<BinaryTag> references = new ArrayList<>();
+            NBTPath.parse(path).get(ROOT).forEach(reference -> references.add(reference.get()));
+            assertEquals(references, select(path), path);
+        }
+    }
+
+    @Test
+    public void testParsedOnce() {
+        assertSame(NBTPath.parse("Items[0].id"), NBTPath.parse("Items[0].id"));
+        assertEquals(NBTPath.parse("Items[0].id"), new NBTPath(NBTPath.parse("Items[0].id").selectors()));
+        assertThrows(IllegalArgumentException.class, () -> NBTPath.parse("[?]"));
+    }
+
+    @Test
+    public void testCacheIsBounded() {
+        NBTPath first = NBTPath.parse("bounded0");
+        for (int i = 1; i <= 2048; i++) {
+            NBTPath.parse("bounded" + i);
+        }
+
+        NBTPath reparsed = NBTPath.parse("bounded0");
+        assertNotSame(first, reparsed);
+        assertEquals(first, reparsed);
+    }
+}
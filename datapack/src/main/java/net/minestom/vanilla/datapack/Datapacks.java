@@ -12,6 +12,7 @@ import net.minestom.server.codec.StructCodec;
 import net.minestom.server.codec.Transcoder;
 import net.minestom.server.registry.RegistryTranscoder;
 import net.minestom.vanilla.logging.Loading;
+import net.minestom.vanilla.logging.StartupProfiler;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -26,9 +27,14 @@ import java.nio.file.FileSystem;
 import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Stream;
 
 /**
@@ -212,12 +218,26 @@ public class Datapacks {
         return Datapacks.discoverAndDownloadJar(MinecraftServer.VERSION_NAME, MOJANG_DATA_DIRECTORY);
     }
 
-    @SuppressWarnings("PatternValidation")
+    /**
+     * Decodes every file under {@code pathFilter} in the given JAR into a registry, using all available processors.
+     *
+     * @see #buildRegistryFromJar(Path, Path, ServerProcess, String, Codec, int)
+     */
     public static <T> @NotNull Map<Key, T> buildRegistryFromJar(@NotNull Path jarPath, @NotNull Path pathFilter, @NotNull ServerProcess process, @NotNull String fileSuffix, @NotNull Codec<T> codec) throws IOException {
-        final Map<Key, T> map = new HashMap<>();
-        final Transcoder<BinaryTag> coder = new RegistryTranscoder<>(Transcoder.NBT, process);
+        return buildRegistryFromJar(jarPath, pathFilter, process, fileSuffix, codec, Runtime.getRuntime().availableProcessors());
+    }
 
-        try (FileSystem fileSystem = FileSystems.newFileSystem(jarPath)) {
+    /**
+     * Decodes every file under {@code pathFilter} in the given JAR into a registry. Entries are listed in a single pass,
+     * then read, parsed and decoded by at most {@code parallelism} threads. The returned map is ordered by key, no
+     * matter how many threads were used.
+     */
+    @SuppressWarnings("PatternValidation")
+    public static <T> @NotNull Map<Key, T> buildRegistryFromJar(@NotNull Path jarPath, @NotNull Path pathFilter, @NotNull ServerProcess process, @NotNull String fileSuffix, @NotNull Codec<T> codec, int parallelism) throws IOException {
+        try (FileSystem fileSystem = FileSystems.newFileSystem(jarPath);
+             StartupProfiler.Section ignored = StartupProfiler.begin("registry", pathFilter.toString())) {
+            // List every entry first, so that decoding can be split up
+            final Map<Key, Path> entries = new TreeMap<>();
             for (Path root : fileSystem.getRootDirectories()) {
                 Path relevantFiles = root.resolve(pathFilter.toString()); // Prevent provider mismatch
 
@@ -228,24 +248,83 @@ public class Datapacks {
 
                         String keyPath = relevantFiles.relativize(path).toString();
                         keyPath = keyPath.substring(0, keyPath.length() - fileSuffix.length());
-
-                        BinaryTag tag;
-                        try {
-                            tag = MinestomAdventure.tagStringIO().asTag(Files.readString(path));
-                        } catch (IOException e) {
-                            throw new RuntimeException(e);
-                        }
-
-                        map.put(
-                                Key.key(keyPath),
-                                codec.decode(coder, tag).orElseThrow("parsing " + path)
-                        );
+                        entries.put(Key.key(keyPath), path);
                     }
                 }
             }
+
+            final Map<Key, Source> sources = new LinkedHashMap<>();
+            entries.forEach((key, path) -> sources.put(key, new Source(path.toString(), () -> Files.readString(path))));
+            return decodeAll(sources, process, codec, parallelism, pathFilter.toString());
+        }
+    }
+
+    /**
+     * Decodes the given files, e.g. the JSON files of a loaded datapack, into a registry, using at most
+     * {@code parallelism} threads. The returned map is ordered by key, no matter how many threads were used.
+     *
+     * @param files the contents of each file, by the key of its entry
+     */
+    public static <T> @NotNull Map<Key, T> buildRegistry(@NotNull Map<Key, String> files, @NotNull ServerProcess process, @NotNull Codec<T> codec, int parallelism) throws IOException {
+        final Map<Key, Source> sources = new LinkedHashMap<>();
+        new TreeMap<>(files).forEach((key, contents) -> sources.put(key, new Source(key.asString(), () -> contents)));
+        return decodeAll(sources, process, codec, parallelism, "files");
+    }
+
+    private record Source(@NotNull String name, @NotNull Contents contents) {
+    }
+
+    private interface Contents {
+        @NotNull String read() throws IOException;
+    }
+
+    private static <T> @NotNull Map<Key, T> decodeAll(@NotNull Map<Key, Source> entries, @NotNull ServerProcess process, @NotNull Codec<T> codec, int parallelism, @NotNull String description) throws IOException {
+        if (parallelism <= 1 || entries.size() <= 1) {
+            final Transcoder<BinaryTag> coder = new RegistryTranscoder<>(Transcoder.NBT, process);
+            final Map<Key, T> map = new LinkedHashMap<>();
+            for (Map.Entry<Key, Source> entry : entries.entrySet()) {
+                map.put(entry.getKey(), decodeEntry(entry.getValue(), coder, codec));
+            }
+            return map;
+        }
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, entries.size()))) {
+            final Map<Key, Future<T>> futures = new LinkedHashMap<>();
+            for (Map.Entry<Key, Source> entry : entries.entrySet()) {
+                Source source = entry.getValue();
+                // Transcoders aren't documented as thread-safe, so each task decodes with its own
+                futures.put(entry.getKey(), executor.submit(() ->
+                        decodeEntry(source, new RegistryTranscoder<>(Transcoder.NBT, process), codec)));
+            }
+
+            // Collect in key order, so the registry is identical to a sequential decode
+            final Map<Key, T> map = new LinkedHashMap<>();
+            for (Map.Entry<Key, Future<T>> entry : futures.entrySet()) {
+                try {
+                    map.put(entry.getKey(), entry.getValue().get());
+                } catch (ExecutionException e) {
+                    executor.shutdownNow();
+                    if (e.getCause() instanceof RuntimeException runtime) throw runtime;
+                    throw new RuntimeException(e.getCause());
+                } catch (InterruptedException e) {
+                    executor.shutdownNow();
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Interrupted while decoding " + description, e);
+                }
+            }
+            return map;
+        }
+    }
+
+    private static <T> @NotNull T decodeEntry(@NotNull Source source, @NotNull Transcoder<BinaryTag> coder, @NotNull Codec<T> codec) {
+        BinaryTag tag;
+        try {
+            tag = MinestomAdventure.tagStringIO().asTag(source.contents().read());
+        } catch (IOException e) {
+            throw new RuntimeException(e);
         }
 
-        return map;
+        return codec.decode(coder, tag).orElseThrow("parsing " + source.name());
     }
 
-}
\ No newline at end of file
+}
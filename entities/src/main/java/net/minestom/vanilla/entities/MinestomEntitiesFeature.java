@@ -3,6 +3,7 @@ package net.minestom.vanilla.entities;
 import net.kyori.adventure.key.Key;
 import net.minestom.server.entity.EntityType;
 import net.minestom.vanilla.VanillaReimplementation;
+import net.minestom.vanilla.system.ItemMergeSystem;
 import org.jetbrains.annotations.NotNull;
 
 public class MinestomEntitiesFeature implements VanillaReimplementation.Feature {
@@ -11,6 +12,7 @@ public class MinestomEntitiesFeature implements VanillaReimplementation.Feature
     public void hook(@NotNull HookContext context) {
         context.registry().register(EntityType.FALLING_BLOCK, FallingBlockEntity::new);
         context.registry().register(EntityType.TNT, PrimedTNTEntity::new);
+        context.vri().process().eventHandler().addChild(ItemMergeSystem.createEventNode());
     }
 
     @Override
@@ -27,10 +27,10 @@ public abstract class FlowableFluid extends Fluid {
             Block updated = getUpdatedState(instance, point, block);
             if (MinestomFluids.get(updated).isEmpty()) {
                 block = updated;
-                instance.setBlock(point, Block.AIR);
+                MinestomFluids.setBlock(instance, point, Block.AIR);
             } else if (updated != block) {
                 block = updated;
-                instance.setBlock(point, updated);
+                MinestomFluids.setBlock(instance, point, updated);
             }
         }
         tryFlow(instance, point, block);
@@ -294,7 +294,7 @@ public abstract class FlowableFluid extends Fluid {
                 cancel = true;
         }
 
-        if (!cancel) instance.setBlock(point, newBlock);
+        if (!cancel) MinestomFluids.setBlock(instance, point, newBlock);
     }
 
     private boolean isMatchingAndStill(Block block) {
@@ -12,7 +12,6 @@ public class FluidSimulationFeature implements VanillaReimplementation.Feature {
 
     @Override
     public void hook(@NotNull HookContext context) {
-        // TODO: Use the block-update-system
         MinestomFluids.init(context.vri().process());
     }
 
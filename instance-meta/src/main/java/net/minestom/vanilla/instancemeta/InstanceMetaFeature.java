@@ -1,9 +1,20 @@
 package net.minestom.vanilla.instancemeta;
 
 import net.kyori.adventure.key.Key;
+import net.minestom.server.ServerFlag;
+import net.minestom.server.coordinate.CoordConversion;
+import net.minestom.server.coordinate.Point;
+import net.minestom.server.entity.Player;
+import net.minestom.server.event.Event;
+import net.minestom.server.event.EventNode;
 import net.minestom.server.event.instance.InstanceTickEvent;
+import net.minestom.server.event.instance.RemoveEntityFromInstanceEvent;
+import net.minestom.server.event.player.PlayerMoveEvent;
+import net.minestom.server.event.player.PlayerSpawnEvent;
 import net.minestom.server.instance.Instance;
+import net.minestom.server.tag.Tag;
 import net.minestom.vanilla.VanillaReimplementation;
+import net.minestom.vanilla.instance.TickingChunks;
 import net.minestom.vanilla.instancemeta.tickets.TicketManager;
 import org.jetbrains.annotations.NotNull;
 
@@ -26,6 +37,16 @@ public class InstanceMetaFeature implements VanillaReimplementation.Feature {
 
     private static class Logic {
 
+        // The chunk of the ticket a player keeps in its instance
+        private static final Tag<Long> PLAYER_TICKET_CHUNK = Tag.<Long>Transient("vri:instancemeta:player_ticket_chunk");
+
+        /**
+         * The radius in chunks around players that ticks, like vanilla's {@code simulation-distance}. Defaults to
+         * vanilla's 10, and is never more than the view distance, as only the chunks sent to players tick.
+         */
+        private static final int SIMULATION_DISTANCE = Math.min(
+                Integer.getInteger("vri.simulationdistance", 10), ServerFlag.CHUNK_VIEW_DISTANCE);
+
         private final @NotNull Map<Instance, TicketManager> instance2TicketManager =
                 Collections.synchronizedMap(new WeakHashMap<>());
 
@@ -33,12 +54,85 @@ public class InstanceMetaFeature implements VanillaReimplementation.Feature {
         }
 
         private void hook(@NotNull VanillaReimplementation vri) {
-            vri.process().eventHandler().addListener(InstanceTickEvent.class, event -> tickInstance(event.getInstance()));
+            EventNode<Event> eventNode = vri.process().eventHandler();
+            eventNode.addListener(InstanceTickEvent.class, event -> tickInstance(event.getInstance()));
+
+            // Players keep the chunks around them ticking
+            eventNode.addListener(PlayerSpawnEvent.class, event ->
+                    movePlayerTicket(event.getSpawnInstance(), event.getPlayer(), event.getPlayer().getPosition()));
+            eventNode.addListener(PlayerMoveEvent.class, event ->
+                    movePlayerTicket(event.getInstance(), event.getPlayer(), event.getNewPosition()));
+            eventNode.addListener(RemoveEntityFromInstanceEvent.class, event -> {
+                if (event.getEntity() instanceof Player player) {
+                    removePlayerTicket(event.getInstance(), player);
+                }
+            });
+        }
+
+        private @NotNull TicketManager ticketManager(@NotNull Instance instance) {
+            return instance2TicketManager.computeIfAbsent(instance, ignored -> {
+                TicketManager ticketManager = new TicketManager();
+
+                // Once a ticket is added, only the chunks with tickets tick. Until then, every loaded chunk does.
+                TickingChunks tickingChunks = TickingChunks.of(instance);
+                ticketManager.addListener((chunk, oldValue, newValue) -> {
+                    tickingChunks.level(chunk, level(newValue));
+                    tickingChunks.manage();
+                });
+                return ticketManager;
+            });
+        }
+
+        private static @NotNull TickingChunks.Level level(short ticketValue) {
+            if (ticketValue >= TicketManager.ENTITY_TICKING_VALUE) return TickingChunks.Level.ENTITY_TICKING;
+            if (ticketValue >= TicketManager.TICKING_VALUE) return TickingChunks.Level.BLOCK_TICKING;
+            if (ticketValue >= TicketManager.BORDER_VALUE) return TickingChunks.Level.BORDER;
+            return TickingChunks.Level.INACCESSIBLE;
+        }
+
+        private void movePlayerTicket(@NotNull Instance instance, @NotNull Player player, @NotNull Point position) {
+            long chunk = CoordConversion.chunkIndex(position.chunkX(), position.chunkZ());
+            Long previous = player.getTag(PLAYER_TICKET_CHUNK);
+            if (previous != null && previous == chunk) {
+                return;
+            }
+
+            TicketManager ticketManager = ticketManager(instance);
+            ticketManager.addTicket(playerTicketValue(), chunk);
+            if (previous != null) {
+                ticketManager.removeTicket(previous, playerTicketValue());
+            }
+            player.setTag(PLAYER_TICKET_CHUNK, chunk);
+        }
+
+        private void removePlayerTicket(@NotNull Instance instance, @NotNull Player player) {
+            Long previous = player.getTag(PLAYER_TICKET_CHUNK);
+            if (previous == null) {
+                return;
+            }
+            ticketManager(instance).removeTicket(previous, playerTicketValue());
+            player.removeTag(PLAYER_TICKET_CHUNK);
+        }
+
+        /**
+         * The value of player tickets, so that chunks within the simulation distance of a player tick. It is read once,
+         * so that tickets are removed with the value they were added with.
+         */
+        private static short playerTicketValue() {
+            return (short) (TicketManager.TICKING_VALUE + SIMULATION_DISTANCE);
         }
 
         // Process all future tickets
         private void tickInstance(@NotNull Instance instance) {
-            TicketManager ticketManager = instance2TicketManager.computeIfAbsent(instance, ignored -> new TicketManager());
+            TicketManager ticketManager = ticketManager(instance);
+
+            List<TicketManager.Ticket> removingForceLoads = instance.getTag(TicketManager.REMOVING_TICKETS_TAG);
+            if (removingForceLoads != null && !removingForceLoads.isEmpty()) {
+                for (TicketManager.Ticket removingForceLoad : removingForceLoads) {
+                    ticketManager.removeTicket(removingForceLoad.chunk(), removingForceLoad.value());
+                }
+                instance.setTag(TicketManager.REMOVING_TICKETS_TAG, List.of());
+            }
 
             List<TicketManager.Ticket> waitingForceLoads = instance.getTag(TicketManager.WAITING_TICKETS_TAG);
             if (waitingForceLoads == null) {
@@ -3,9 +3,8 @@ package net.minestom.vanilla.instancemeta.tickets;
 import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
 import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 import it.unimi.dsi.fastutil.longs.Long2ShortMap;
+import it.unimi.dsi.fastutil.longs.Long2ShortMaps;
 import it.unimi.dsi.fastutil.longs.Long2ShortOpenHashMap;
-import it.unimi.dsi.fastutil.objects.Object2ShortMap;
-import it.unimi.dsi.fastutil.objects.Object2ShortOpenHashMap;
 import it.unimi.dsi.fastutil.shorts.Short2IntMap;
 import it.unimi.dsi.fastutil.shorts.Short2IntOpenHashMap;
 import net.minestom.server.coordinate.CoordConversion;
@@ -17,6 +16,7 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Collectors;
 
 /*
@@ -58,14 +58,25 @@ public class TicketManager {
     public static final short END_PORTAL_TICKET = 34 - 33;
     public static final short TEMPORARY_TICKET = 34 - 33;
 
+    // Ticket value ranges
+    public static final short BORDER_VALUE = 1;
+    public static final short TICKING_VALUE = 2;
+    public static final short ENTITY_TICKING_VALUE = 3;
+
     /**
      * The first Long is the target chunk
      * The second Long is the source chunk
-     * The resulting Short is the value for this chunk
+     * The resulting Short is the value the tickets of the source give the target
      */
-    private final Object2ShortMap<Source2Target> externalTicketValues = new Object2ShortOpenHashMap<>();
+    private final Long2ObjectMap<Long2ShortMap> externalTicketValues = new Long2ObjectOpenHashMap<>();
+    // The count of each ticket value in each chunk
     private final Long2ObjectMap<Short2IntMap> internalTicketValues = new Long2ObjectOpenHashMap<>();
     private final Long2ShortMap currentTicketValue = new Long2ShortOpenHashMap();
+    private final List<ValueListener> listeners = new CopyOnWriteArrayList<>();
+
+    public interface ValueListener {
+        void valueChanged(long chunk, short oldValue, short newValue);
+    }
 
 
     public interface Ticket {
@@ -102,10 +113,14 @@ public class TicketManager {
     private record TicketImpl(short value, long chunk) implements Ticket {
     }
 
-    private record Source2Target(long source, long target) {
+    public TicketManager() {
     }
 
-    public TicketManager() {
+    /**
+     * Adds a listener notified of each chunk whose ticket value changes, as tickets are added and removed.
+     */
+    public void addListener(@NotNull ValueListener listener) {
+        listeners.add(listener);
     }
 
     // Ticket methods
@@ -125,71 +140,14 @@ public class TicketManager {
      * @param chunk the chunk index of the chunk to add the ticket to
      * @param value the value of the ticket
      */
-    public void addTicket(short value, long chunk) {
-
-        // Add value to internal
-        Short2IntMap internalValues = internalTicketValues.get(chunk);
-        internalValues.putIfAbsent(value, 0);
+    public synchronized void addTicket(short value, long chunk) {
+        Short2IntMap internalValues = internalTicketValues.computeIfAbsent(chunk, ignored -> new Short2IntOpenHashMap());
+        short previousValue = highestValue(internalValues);
         internalValues.put(value, internalValues.get(value) + 1);
 
-        externalTicketValues.put(new Source2Target(chunk, chunk), value);
-        recalculateChunkValue(chunk);
-
-        // Add values to surrounding external
-        short currentSourceValue = value;
-        int originX = CoordConversion.chunkIndexGetX(chunk);
-        int originZ = CoordConversion.chunkIndexGetZ(chunk);
-
-        while (currentSourceValue > 1) {
-            // Find starting positions + starting external value
-            int halfWidth = currentSourceValue - 1;
-            short externalValue = (short) (value - currentSourceValue + 1);
-
-            // Left starting position
-            int leftX = originX - halfWidth;
-            int leftZ = originZ + halfWidth;
-
-            // Top starting position
-            int topX = originX - halfWidth;
-            int topZ = originZ - halfWidth;
-
-            // Right starting position
-            int rightX = originX + halfWidth;
-            int rightZ = originZ - halfWidth;
-
-            // Down starting position
-            int downX = originX + halfWidth;
-            int downZ = originZ + halfWidth;
-
-            // Do all squares
-            for (int offset = 0; offset < ((halfWidth * 2) + 1); offset++) {
-
-                { // Left side
-                    long chunkIndex = CoordConversion.chunkIndex(leftX, leftZ - offset);
-                    externalTicketValues.put(new Source2Target(chunkIndex, chunk), externalValue);
-                    recalculateChunkValue(chunkIndex);
-                }
-
-                { // Top side
-                    long chunkIndex = CoordConversion.chunkIndex(topX + offset, topZ);
-                    externalTicketValues.put(new Source2Target(chunkIndex, chunk), externalValue);
-                    recalculateChunkValue(chunkIndex);
-                }
-
-                { // Right side
-                    long chunkIndex = CoordConversion.chunkIndex(rightX, rightZ + offset);
-                    externalTicketValues.put(new Source2Target(chunkIndex, chunk), externalValue);
-                    recalculateChunkValue(chunkIndex);
-                }
-
-                { // Downside
-                    long chunkIndex = CoordConversion.chunkIndex(downX - offset, downZ);
-                    externalTicketValues.put(new Source2Target(chunkIndex, chunk), externalValue);
-                    recalculateChunkValue(chunkIndex);
-                }
-            }
-
-            currentSourceValue--;
+        // Only the highest ticket of a chunk affects the surrounding chunks
+        if (value > previousValue) {
+            propagate(chunk, previousValue, value);
         }
     }
 
@@ -199,109 +157,67 @@ public class TicketManager {
      * @param chunk the chunk index of the chunk to remove the ticket from
      * @param value the value of the ticket being removed
      */
-    public void removeTicket(long chunk, short value) {
-
-        // Remove value from internal
+    public synchronized void removeTicket(long chunk, short value) {
         Short2IntMap internalValues = internalTicketValues.get(chunk);
-
-        if (internalValues.containsKey(value)) {
-            int current = internalValues.get(value);
-
-            if (current == 1) {
-                internalValues.remove(value);
-            } else {
-                internalValues.put(value, current - 1);
-            }
+        if (internalValues == null || !internalValues.containsKey(value)) {
             return;
         }
 
-        // Remove value from external access into this chunk
-        externalTicketValues.removeShort(new Source2Target(chunk, chunk));
-        recalculateChunkValue(chunk);
+        int current = internalValues.get(value);
+        if (current > 1) {
+            internalValues.put(value, current - 1);
+            return;
+        }
+        internalValues.remove(value);
+        if (internalValues.isEmpty()) {
+            internalTicketValues.remove(chunk);
+        }
 
-        // Remove values from surrounding external
-        short highestInternalValue = 0;
+        short highestValue = highestValue(internalValues);
+        if (highestValue < value) {
+            propagate(chunk, value, highestValue);
+        }
+    }
 
+    private static short highestValue(@NotNull Short2IntMap internalValues) {
+        short highest = 0;
         for (short internalValue : internalValues.keySet()) {
-            if (internalValue > highestInternalValue) {
-                highestInternalValue = internalValue;
+            if (internalValue > highest) {
+                highest = internalValue;
             }
         }
+        return highest;
+    }
 
-        if (highestInternalValue > 0) {
-            externalTicketValues.put(new Source2Target(chunk, chunk), highestInternalValue);
-        }
-
-        short previousSourceValue = value;
-        int originX = CoordConversion.chunkIndexGetX(chunk);
-        int originZ = CoordConversion.chunkIndexGetZ(chunk);
-
-        while (previousSourceValue > 1) {
-            // Find starting positions + starting external value
-            int halfWidth = previousSourceValue - 1;
-
-            // Left starting position
-            int leftX = originX - halfWidth;
-            int leftZ = originZ + halfWidth;
-
-            // Top starting position
-            int topX = originX - halfWidth;
-            int topZ = originZ - halfWidth;
-
-            // Right starting position
-            int rightX = originX + halfWidth;
-            int rightZ = originZ - halfWidth;
-
-            // Down starting position
-            int downX = originX + halfWidth;
-            int downZ = originZ + halfWidth;
-
-            // Do all squares
-            for (int offset = 0; offset < ((halfWidth * 2) + 1); offset++) {
-
-                { // Left side
-                    long chunkIndex = CoordConversion.chunkIndex(leftX, leftZ - offset);
-                    if (highestInternalValue <= 0) {
-                        externalTicketValues.removeShort(new Source2Target(chunkIndex, chunk));
-                    } else {
-                        externalTicketValues.put(new Source2Target(chunkIndex, chunk), highestInternalValue);
-                    }
-                    recalculateChunkValue(chunkIndex);
-                }
-
-                { // Top side
-                    long chunkIndex = CoordConversion.chunkIndex(topX + offset, topZ);
-                    if (highestInternalValue <= 0) {
-                        externalTicketValues.removeShort(new Source2Target(chunkIndex, chunk));
-                    } else {
-                        externalTicketValues.put(new Source2Target(chunkIndex, chunk), highestInternalValue);
-                    }
-                    recalculateChunkValue(chunkIndex);
-                }
-
-                { // Right side
-                    long chunkIndex = CoordConversion.chunkIndex(rightX, rightZ + offset);
-                    if (highestInternalValue <= 0) {
-                        externalTicketValues.removeShort(new Source2Target(chunkIndex, chunk));
-                    } else {
-                        externalTicketValues.put(new Source2Target(chunkIndex, chunk), highestInternalValue);
+    /**
+     * Updates the values a source chunk gives itself and its surrounding chunks, when its highest ticket value changes.
+     * A chunk at a distance of n chunks from the source gets the source's value minus n.
+     */
+    private void propagate(long source, short oldValue, short newValue) {
+        int originX = CoordConversion.chunkIndexGetX(source);
+        int originZ = CoordConversion.chunkIndexGetZ(source);
+        int radius = Math.max(oldValue, newValue) - 1;
+
+        for (int offsetX = -radius; offsetX <= radius; offsetX++) {
+            for (int offsetZ = -radius; offsetZ <= radius; offsetZ++) {
+                long target = CoordConversion.chunkIndex(originX + offsetX, originZ + offsetZ);
+                short externalValue = (short) (newValue - Math.max(Math.abs(offsetX), Math.abs(offsetZ)));
+
+                Long2ShortMap sources = externalTicketValues.get(target);
+                if (externalValue > 0) {
+                    if (sources == null) {
+                        sources = new Long2ShortOpenHashMap();
+                        externalTicketValues.put(target, sources);
                     }
-                    recalculateChunkValue(chunkIndex);
-                }
-
-                { // Downside
-                    long chunkIndex = CoordConversion.chunkIndex(downX - offset, downZ);
-                    if (highestInternalValue <= 0) {
-                        externalTicketValues.removeShort(new Source2Target(chunkIndex, chunk));
-                    } else {
-                        externalTicketValues.put(new Source2Target(chunkIndex, chunk), highestInternalValue);
+                    sources.put(source, externalValue);
+                } else if (sources != null) {
+                    sources.remove(source);
+                    if (sources.isEmpty()) {
+                        externalTicketValues.remove(target);
                     }
-                    recalculateChunkValue(chunkIndex);
                 }
+                recalculateChunkValue(target);
             }
-
-            previousSourceValue--;
-            highestInternalValue--;
         }
     }
 
@@ -311,7 +227,7 @@ public class TicketManager {
      * @param chunkIndex the chunk index of the chunk to retrieve the ticket value from
      * @return the ticket value
      */
-    public short getTicketValue(long chunkIndex) {
+    public synchronized short getTicketValue(long chunkIndex) {
         return currentTicketValue.get(chunkIndex);
     }
 
@@ -321,47 +237,34 @@ public class TicketManager {
      * @param chunkIndex the chunk index of the chunk to retrieve the ticket info from
      * @return the ticket value
      */
-    public String getChunkInfo(long chunkIndex) {
+    public synchronized String getChunkInfo(long chunkIndex) {
 
         return "Current Value: " + currentTicketValue.get(chunkIndex) + "\n"
                 + "Internal Tickets: " + internalTicketValues.get(chunkIndex) + "\n"
-                + "External Tickets: " + " (" + externalTicketValues.object2ShortEntrySet()
+                + "External Tickets: " + " (" + externalTicketValues.getOrDefault(chunkIndex, Long2ShortMaps.EMPTY_MAP)
+                .long2ShortEntrySet()
                 .stream()
-                .filter(entry -> entry.getKey().target() == chunkIndex)
                 .map(String::valueOf)
                 .collect(Collectors.joining(", ")) + " )";
     }
 
-    private void handleInstanceChunkLoad(long chunkIndex) {
-        synchronized (this) {
-            prepareChunk(chunkIndex);
-        }
-    }
-
-    private void prepareChunk(long chunk) {
-        currentTicketValue.computeIfAbsent(chunk, ignored -> (short) 0);
-        internalTicketValues.computeIfAbsent(chunk, k -> new Short2IntOpenHashMap());
-    }
-
-    private static class MutableShort {
-        private short value;
-    }
-
     private void recalculateChunkValue(long chunkIndex) {
-        prepareChunk(chunkIndex);
-
-        MutableShort highest = new MutableShort();
-        highest.value = 0;
-
-        externalTicketValues.forEach((source2Target, value) -> {
-            if (source2Target.target() == chunkIndex) {
-                if (value > highest.value) {
-                    highest.value = value;
+        short highest = 0;
+        Long2ShortMap sources = externalTicketValues.get(chunkIndex);
+        if (sources != null) {
+            for (short value : sources.values()) {
+                if (value > highest) {
+                    highest = value;
                 }
             }
-        });
+        }
 
         // Set new value
-        this.currentTicketValue.put(chunkIndex, highest.value);
+        short previous = highest > 0 ? currentTicketValue.put(chunkIndex, highest) : currentTicketValue.remove(chunkIndex);
+        if (previous != highest) {
+            for (ValueListener listener : listeners) {
+                listener.valueChanged(chunkIndex, previous, highest);
+            }
+        }
     }
-}
\ No newline at end of file
+}
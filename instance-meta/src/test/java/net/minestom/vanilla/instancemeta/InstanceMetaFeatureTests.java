@@ -0,0 +1,45 @@
+package net.minestom.vanilla.instancemeta;
+
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.coordinate.CoordConversion;
+import net.minestom.server.instance.Chunk;
+import net.minestom.server.instance.Instance;
+import net.minestom.vanilla.VanillaReimplementation;
+import net.minestom.vanilla.instance.TickingChunks;
+import net.minestom.vanilla.instancemeta.tickets.TicketManager;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InstanceMetaFeatureTests {
+
+    @BeforeAll
+    public static void init() {
+        MinecraftServer.init();
+        VanillaReimplementation.hook(MinecraftServer.process(), feature -> feature instanceof InstanceMetaFeature);
+    }
+
+    @Test
+    public void testChunksTickWithoutTickets() {
+        Instance instance = MinecraftServer.getInstanceManager().createInstanceContainer();
+        Chunk chunk = instance.loadChunk(0, 0).join();
+        TickingChunks tickingChunks = TickingChunks.of(instance);
+
+        instance.tick(System.currentTimeMillis());
+        assertFalse(tickingChunks.isManaged());
+        assertTrue(tickingChunks.isTicking(chunk, TickingChunks.Level.ENTITY_TICKING));
+        assertTrue(tickingChunks.loadedChunks(TickingChunks.Level.BLOCK_TICKING).contains(chunk));
+
+        // once a ticket is added, only the chunks with tickets tick
+        Chunk far = instance.loadChunk(10, 10).join();
+        instance.setTag(TicketManager.WAITING_TICKETS_TAG,
+                List.of(TicketManager.Ticket.from(TicketManager.FORCED_TICKET, CoordConversion.chunkIndex(0, 0))));
+        instance.tick(System.currentTimeMillis());
+        assertTrue(tickingChunks.isManaged());
+        assertTrue(tickingChunks.isTicking(chunk, TickingChunks.Level.ENTITY_TICKING));
+        assertFalse(tickingChunks.isTicking(far, TickingChunks.Level.BLOCK_TICKING));
+    }
+}
@@ -0,0 +1,66 @@
+package net.minestom.vanilla.instancemeta.tickets;
+
+import it.unimi.dsi.fastutil.longs.Long2ShortMap;
+import it.unimi.dsi.fastutil.longs.Long2ShortOpenHashMap;
+import net.minestom.server.coordinate.CoordConversion;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TicketManagerTests {
+
+    private static long chunk(int x, int z) {
+        return CoordConversion.chunkIndex(x, z);
+    }
+
+    @Test
+    public void testPropagation() {
+        TicketManager ticketManager = new TicketManager();
+        ticketManager.addTicket((short) 4, chunk(0, 0));
+
+        assertEquals(4, ticketManager.getTicketValue(chunk(0, 0)));
+        assertEquals(3, ticketManager.getTicketValue(chunk(1, -1)));
+        assertEquals(1, ticketManager.getTicketValue(chunk(-3, 2)));
+        assertEquals(0, ticketManager.getTicketValue(chunk(4, 0)));
+
+        // the highest ticket wins
+        ticketManager.addTicket((short) 2, chunk(2, 0));
+        assertEquals(2, ticketManager.getTicketValue(chunk(2, 0)));
+        assertEquals(1, ticketManager.getTicketValue(chunk(3, 0)));
+
+        ticketManager.removeTicket(chunk(0, 0), (short) 4);
+        assertEquals(0, ticketManager.getTicketValue(chunk(0, 0)));
+        assertEquals(1, ticketManager.getTicketValue(chunk(1, 0)));
+        assertEquals(2, ticketManager.getTicketValue(chunk(2, 0)));
+
+        ticketManager.removeTicket(chunk(2, 0), (short) 2);
+        for (int x = -4; x <= 4; x++) {
+            for (int z = -4; z <= 4; z++) {
+                assertEquals(0, ticketManager.getTicketValue(chunk(x, z)));
+            }
+        }
+    }
+
+    @Test
+    public void testListeners() {
+        TicketManager ticketManager = new TicketManager();
+        Long2ShortMap values = new Long2ShortOpenHashMap();
+        ticketManager.addListener((chunk, oldValue, newValue) -> {
+            assertEquals(values.get(chunk), oldValue);
+            if (newValue == 0) values.remove(chunk);
+            else values.put(chunk, newValue);
+        });
+
+        ticketManager.addTicket((short) 3, chunk(5, 5));
+        assertEquals(25, values.size());
+        ticketManager.addTicket((short) 3, chunk(6, 5));
+        assertEquals(30, values.size());
+        assertEquals(3, values.get(chunk(6, 5)));
+
+        ticketManager.removeTicket(chunk(5, 5), (short) 3);
+        assertEquals(25, values.size());
+        assertEquals(2, values.get(chunk(5, 5)));
+        ticketManager.removeTicket(chunk(6, 5), (short) 3);
+        assertTrue(values.isEmpty());
+    }
+}
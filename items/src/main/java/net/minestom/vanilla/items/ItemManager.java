@@ -7,34 +7,35 @@ import net.minestom.server.event.player.PlayerUseItemEvent;
 import net.minestom.server.event.player.PlayerUseItemOnBlockEvent;
 import net.minestom.server.item.ItemStack;
 import net.minestom.server.item.Material;
+import net.minestom.vanilla.utils.IdDispatch;
+import net.minestom.vanilla.utils.IdTable;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.HashMap;
-import java.util.Map;
 import java.util.function.Consumer;
 
 public class ItemManager {
 
     public static @NotNull ItemManager accumulate(@NotNull Consumer<Accumulator> accumulator) {
-        Map<Material, VanillaItemHandler> itemHandlersByMaterial = new HashMap<>();
-        accumulator.accept(itemHandlersByMaterial::put);
-        return new ItemManager(itemHandlersByMaterial);
+        IdDispatch<VanillaItemHandler> itemHandlersByMaterial = new IdDispatch<>();
+        accumulator.accept((material, itemHandler) -> itemHandlersByMaterial.register(material.id(), itemHandler));
+        return new ItemManager(itemHandlersByMaterial.table());
     }
 
     public interface Accumulator {
         void accumulate(@NotNull Material material, @NotNull VanillaItemHandler itemHandler);
     }
 
-    private final Map<Material, VanillaItemHandler> itemHandlersByMaterial;
+    // Item handlers by material id
+    private final IdTable<VanillaItemHandler> itemHandlersByMaterial;
 
-    private ItemManager(Map<Material, VanillaItemHandler> itemHandlersByMaterial) {
-        this.itemHandlersByMaterial = Map.copyOf(itemHandlersByMaterial);
+    private ItemManager(IdTable<VanillaItemHandler> itemHandlersByMaterial) {
+        this.itemHandlersByMaterial = itemHandlersByMaterial;
     }
 
     private void handlePlayerUseItemEvent(PlayerUseItemEvent event) {
         ItemStack itemStack = event.getItemStack();
 
-        VanillaItemHandler itemHandler = itemHandlersByMaterial.get(itemStack.material());
+        VanillaItemHandler itemHandler = itemHandlersByMaterial.get(itemStack.material().id());
 
         if (itemHandler == null) {
             return;
@@ -46,7 +47,7 @@ public class ItemManager {
     private void handlePlayerUseItemOnBlockEvent(PlayerUseItemOnBlockEvent event) {
         ItemStack itemStack = event.getItemStack();
 
-        VanillaItemHandler itemHandler = itemHandlersByMaterial.get(itemStack.material());
+        VanillaItemHandler itemHandler = itemHandlersByMaterial.get(itemStack.material().id());
 
         if (itemHandler == null) {
             return;
@@ -1,4 +1,5 @@
 dependencies {
     compileOnly(project(":core"))
     compileOnly(project(":datapack"))
+    compileOnly(project(":datapack-loading"))
 }
\ No newline at end of file
@@ -10,10 +10,7 @@ import net.minestom.server.item.ItemStack;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.NoSuchElementException;
-import java.util.Random;
+import java.util.*;
 
 /**
  * Stores a dynamic amount of information that may be relevant during the generation of loot.
@@ -45,19 +42,87 @@ public sealed interface LootContext permits LootContextImpl {
     }
 
     /**
-     * Creates a key from the provided key.
+     * Creates a builder for a loot context. Builders may be reused after {@link Builder#clear() clearing} them, e.g. by
+     * keeping one per thread, so that only the built context itself is allocated.
+     * @return the new builder
+     */
+    static @NotNull Builder builder() {
+        return new LootContextImpl.BuilderImpl();
+    }
+
+    /**
+     * Creates a key from the provided key. Keys with the same id share the same slot.
      */
     static <T> LootContext.@NotNull Key<T> key(@NotNull String key) {
-        return new LootContext.Key<>(key);
+        return new LootContext.Key<>(key, LootContextImpl.slot(key));
     }
 
     /**
-     * Represents a key that stores information in a loot context.
-     * @param id the string id of the key
+     * Represents a key that stores information in a loot context. Keys can only be created through
+     * {@link LootContext#key(String)}, so that the slot always matches the id.
      * @param <T> the type parameter of the key
      */
     @SuppressWarnings("unused")
-    record Key<T>(@NotNull String id) {}
+    final class Key<T> {
+        private final @NotNull String id;
+        private final int slot;
+
+        private Key(@NotNull String id, int slot) {
+            this.id = id;
+            this.slot = slot;
+        }
+
+        /**
+         * @return the string id of the key
+         */
+        public @NotNull String id() {
+            return id;
+        }
+
+        /**
+         * @return the index of the key's value in every context, shared by every key with the same id
+         */
+        public int slot() {
+            return slot;
+        }
+
+        // the slot is derived from the id
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Key<?> other && id.equals(other.id);
+        }
+
+        @Override
+        public int hashCode() {
+            return id.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return "Key[id=" + id + "]";
+        }
+    }
+
+    /**
+     * Builds loot contexts.
+     */
+    interface Builder {
+
+        /**
+         * Sets the value of the provided key, removing it if the value is null.
+         */
+        <T> @NotNull Builder with(@NotNull Key<T> key, @Nullable T value);
+
+        /**
+         * Removes every value from this builder, so that it can be reused.
+         */
+        @NotNull Builder clear();
+
+        /**
+         * @return a new context with the values of this builder
+         */
+        @NotNull LootContext build();
+    }
 
     /**
      * Returns whether or not this context has the provided key.
@@ -91,34 +156,57 @@ public sealed interface LootContext permits LootContextImpl {
      */
     <T> @NotNull T require(@NotNull Key<T> key);
 
+    /**
+     * Derives a context with the provided key set to the provided value, leaving this context unchanged.
+     * @param key the key to set
+     * @param value the new value, or null to remove it
+     * @return the derived context, or this context if the value is unchanged
+     * @param <T> the type of the value
+     */
+    <T> @NotNull LootContext with(@NotNull Key<T> key, @Nullable T value);
+
 }
 
-record LootContextImpl(@NotNull Map<String, Object> data) implements LootContext {
+final class LootContextImpl implements LootContext {
+
+    // every key is assigned a fixed slot when it's created, so that lookups are array accesses
+    private static final Map<String, Integer> SLOTS = new HashMap<>();
+    private static volatile int slotCount = 0;
 
-    LootContextImpl {
-        data = Map.copyOf(data);
+    static synchronized int slot(@NotNull String id) {
+        Integer slot = SLOTS.get(id);
+        if (slot == null) {
+            slot = slotCount;
+            SLOTS.put(id, slot);
+            slotCount = slot + 1;
+        }
+        return slot;
+    }
+
+    private final Object @NotNull [] values;
+
+    private LootContextImpl(Object @NotNull [] values) {
+        this.values = values;
     }
 
     static @NotNull LootContext from(@NotNull Map<Key<?>, Object> data) {
-        Map<String, Object> mapped = new HashMap<>();
+        BuilderImpl builder = new BuilderImpl();
         for (Map.Entry<Key<?>, Object> entry : data.entrySet()) {
-            if (entry.getValue() == null) continue;
-
-            mapped.put(entry.getKey().id(), entry.getValue());
+            builder.set(entry.getKey(), entry.getValue());
         }
-
-        return new LootContextImpl(mapped);
+        return builder.build();
     }
 
     @Override
     public boolean has(@NotNull Key<?> key) {
-        return data.containsKey(key.id());
+        return get(key) != null;
     }
 
     @SuppressWarnings("unchecked")
     @Override
     public <T> @Nullable T get(@NotNull Key<T> key) {
-        return (T) data.get(key.id());
+        int slot = key.slot();
+        return slot < values.length ? (T) values[slot] : null;
     }
 
     @Override
@@ -136,4 +224,74 @@ record LootContextImpl(@NotNull Map<String, Object> data) implements LootContext
 
         throw new NoSuchElementException("No value for key '" + key + "'");
     }
-}
\ No newline at end of file
+
+    @Override
+    public <T> @NotNull LootContext with(@NotNull Key<T> key, @Nullable T value) {
+        if (get(key) == value) return this;
+
+        Object[] copy = Arrays.copyOf(values, Math.max(values.length, key.slot() + 1));
+        copy[key.slot()] = value;
+        return new LootContextImpl(copy);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (!(obj instanceof LootContextImpl other)) return false;
+        int length = Math.max(values.length, other.values.length);
+        for (int slot = 0; slot < length; slot++) {
+            Object value = slot < values.length ? values[slot] : null;
+            Object otherValue = slot < other.values.length ? other.values[slot] : null;
+            if (!Objects.equals(value, otherValue)) return false;
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 0;
+        for (int slot = 0; slot < values.length; slot++) {
+            if (values[slot] != null) hash += slot ^ values[slot].hashCode();
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner joiner = new StringJoiner(", ", "LootContext[", "]");
+        synchronized (LootContextImpl.class) {
+            for (Map.Entry<String, Integer> entry : SLOTS.entrySet()) {
+                int slot = entry.getValue();
+                if (slot < values.length && values[slot] != null) joiner.add(entry.getKey() + "=" + values[slot]);
+            }
+        }
+        return joiner.toString();
+    }
+
+    static final class BuilderImpl implements Builder {
+        private Object @NotNull [] values = new Object[slotCount];
+
+        @Override
+        public <T> @NotNull Builder with(@NotNull Key<T> key, @Nullable T value) {
+            set(key, value);
+            return this;
+        }
+
+        private void set(@NotNull Key<?> key, @Nullable Object value) {
+            int slot = key.slot();
+            if (slot >= values.length) values = Arrays.copyOf(values, Math.max(slotCount, slot + 1));
+            values[slot] = value;
+        }
+
+        @Override
+        public @NotNull Builder clear() {
+            Arrays.fill(values, null);
+            return this;
+        }
+
+        @Override
+        public @NotNull LootContext build() {
+            return new LootContextImpl(values.clone());
+        }
+    }
+}
@@ -2,7 +2,6 @@ package net.minestom.vanilla.loot;
 
 import net.kyori.adventure.key.Key;
 import net.minestom.server.ServerProcess;
-import net.minestom.server.component.DataComponents;
 import net.minestom.server.coordinate.Point;
 import net.minestom.server.coordinate.Pos;
 import net.minestom.server.coordinate.Vec;
@@ -17,21 +16,29 @@ import net.minestom.server.event.trait.InstanceEvent;
 import net.minestom.server.instance.Instance;
 import net.minestom.server.instance.block.Block;
 import net.minestom.server.item.ItemStack;
-import net.minestom.server.item.component.Tool;
 import net.minestom.server.utils.time.TimeUnit;
 import net.minestom.vanilla.datapack.Datapacks;
 import net.minestom.vanilla.logging.Logger;
+import net.minestom.vanilla.system.ItemDrops;
+import net.minestom.vanilla.utils.BlockStateDispatch;
 import org.jetbrains.annotations.NotNull;
 
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.List;
 import java.util.Map;
-import java.util.Random;
 import java.util.concurrent.ThreadLocalRandom;
 
 public class LootFeature {
 
+    /**
+     * @return the current loot tables of the process's {@link LootRuntime}, the vanilla ones until a datapack is loaded
+     */
     public static @NotNull Map<Key, LootTable> buildFromDatapack(@NotNull ServerProcess process) {
+        return LootRuntime.of(process).tables();
+    }
+
+    static @NotNull Map<Key, LootTable> parseFromJar(@NotNull ServerProcess process) {
         final Path tablesPath = Path.of("/", "data", "minecraft", "loot_table");
 
         Map<Key, LootTable> tables;
@@ -48,41 +55,45 @@ public class LootFeature {
         return tables;
     }
 
-    @SuppressWarnings("PatternValidation")
+    /**
+     * @return the block loot tables ({@code blocks/<block>}) of the given tables, indexed by block state id. Use
+     * {@link LootRuntime#blockTables()} to share the tables of a process, and follow its datapack reloads.
+     */
+    public static @NotNull BlockStateDispatch<LootGenerator> blockLootTables(@NotNull Map<Key, LootTable> tables) {
+        return LootRuntime.of(tables).blockTables();
+    }
+
     public static @NotNull EventNode<InstanceEvent> createEventNode(@NotNull Map<Key, LootTable> tables) {
+        return createEventNode(blockLootTables(tables));
+    }
+
+    public static @NotNull EventNode<InstanceEvent> createEventNode(@NotNull LootRuntime runtime) {
+        return createEventNode(runtime.blockTables());
+    }
+
+    /**
+     * Creates the block loot event node. The tables may be {@link BlockStateDispatch#reload reloaded} while it is in
+     * use.
+     */
+    public static @NotNull EventNode<InstanceEvent> createEventNode(@NotNull BlockStateDispatch<? extends LootGenerator> blockTables) {
         return EventNode.type("vri:loot", EventFilter.INSTANCE).addListener(PlayerBlockBreakEvent.class, event -> {
             if (event.getPlayer().getGameMode() == GameMode.CREATIVE) return; // No loot in creative mode
 
             final Block block = event.getBlock();
 
             ItemStack heldItem = event.getPlayer().getItemInMainHand();
-            Tool tool = heldItem.get(DataComponents.TOOL);
-
-            // If the block doesn't require a tool, OR there is a tool and the block is explicitly allowed
-            boolean canDrop = !block.registry().requiresTool() || (tool != null && tool.isCorrectForDrops(block));
-
-            if (!canDrop) return;
+            if (!LootRuntime.canDrop(block, heldItem)) return;
 
-            // TODO: Can be pre-converted to `LootTable[]` that turns block IDs into loot tables.
-            Key key = Key.key("blocks/" + block.key().value());
-            LootTable table = tables.get(key);
+            LootGenerator table = blockTables.get(block);
 
             if (table == null) {
-                Logger.warn("Block " + block.key() + " does not have a corresponding loot table (would be at: " + key.asString() + ")");
+                Logger.warn("Block " + block.key() + " does not have a corresponding loot table (would be at: minecraft:blocks/" + block.key().value() + ")");
                 return;
             }
 
-            // Build a context and drop
-            LootContext context = LootContext.from(Map.of(
-                    LootContext.RANDOM, new Random(), // TODO: Replace with sequence random
-                    LootContext.WORLD, event.getInstance(),
-                    LootContext.BLOCK_STATE, block,
-                    LootContext.ORIGIN, event.getBlockPosition(),
-                    LootContext.TOOL, heldItem,
-                    LootContext.THIS_ENTITY, event.getPlayer()
-            ));
-
-            for (ItemStack drop : table.generate(context)) {
+            List<ItemStack> loot = LootRuntime.blockLoot(table, event.getInstance(), event.getBlockPosition(), block,
+                    heldItem, event.getPlayer(), ThreadLocalRandom.current()); // TODO: Replace with sequence random
+            for (ItemStack drop : ItemDrops.coalesce(loot)) {
                 blockDrop(event.getInstance(), drop, event.getBlockPosition());
             }
 
@@ -313,8 +313,7 @@ public interface LootFunction {
             );
 
             public void execute(@NotNull NBTReference nbt, @NotNull BinaryTag sourceTag) {
-                List<BinaryTag> nbts = new ArrayList<>();
-                source.get(sourceTag).forEach(ref -> nbts.add(ref.get()));
+                List<BinaryTag> nbts = source.compiled().select(sourceTag);
 
                 if (nbts.isEmpty()) return;
                 op.merge(nbt, target, nbts);
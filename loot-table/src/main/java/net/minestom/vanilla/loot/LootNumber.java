@@ -1,6 +1,7 @@
 package net.minestom.vanilla.loot;
 
 import net.kyori.adventure.key.Key;
+import net.kyori.adventure.nbt.BinaryTag;
 import net.kyori.adventure.nbt.CompoundBinaryTag;
 import net.kyori.adventure.nbt.IntBinaryTag;
 import net.kyori.adventure.nbt.NumberBinaryTag;
@@ -9,10 +10,8 @@ import net.minestom.server.codec.StructCodec;
 import net.minestom.server.item.enchant.LevelBasedValue;
 import net.minestom.server.registry.DynamicRegistry;
 import net.minestom.vanilla.loot.util.nbt.NBTPath;
-import net.minestom.vanilla.loot.util.nbt.NBTReference;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.List;
 import java.util.Random;
 
 /**
@@ -184,10 +183,9 @@ public interface LootNumber {
             if (true) throw new UnsupportedOperationException("TODO: Implement entity scores (Entity entity -> String objective -> @Nullable Integer)");
             CompoundBinaryTag compound = null;
 
-            List<NBTReference> refs = path.get(compound != null ? compound : CompoundBinaryTag.empty());
-            if (refs.size() != 1) return IntBinaryTag.intBinaryTag(0);
+            BinaryTag tag = path.compiled().single(compound != null ? compound : CompoundBinaryTag.empty());
 
-            if (refs.getFirst().get() instanceof NumberBinaryTag number) {
+            if (tag instanceof NumberBinaryTag number) {
                 return number;
             } else {
                 return IntBinaryTag.intBinaryTag(0);
@@ -0,0 +1,270 @@
+package net.minestom.vanilla.loot;
+
+import net.kyori.adventure.key.Key;
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.item.ItemStack;
+import net.minestom.server.item.Material;
+import net.minestom.server.registry.RegistryKey;
+import net.minestom.server.utils.Either;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * A loot table compiled into an execution plan, generating loot with the same distribution as
+ * {@link LootTable#generate(LootContext)}. Pools of static, unconditional entries are rolled from alias tables (see
+ * {@link LootSampler}), so the same seed may give different loot.
+ * <p>
+ * Compiling a table:
+ * <ul>
+ *     <li>resolves the items of tag entries, and nested {@code loot_table} entries referenced by key, rejecting cycles</li>
+ *     <li>pre-resolves constant rolls, skipping bonus rolls entirely when they are a constant zero</li>
+ *     <li>reorders predicates by estimated cost, so that cheap checks short-circuit first. Predicates that consume
+ *     randomness are never moved, and no predicate is moved across them, so that random sequences are unchanged.</li>
+ * </ul>
+ * </p>
+ */
+public final class LootPlan implements LootGenerator {
+
+    public static final @NotNull LootPlan EMPTY = new LootPlan(List.of(), List.of());
+
+    private final @NotNull List<PoolPlan> pools;
+    private final @NotNull List<LootFunction> functions;
+
+    private LootPlan(@NotNull List<PoolPlan> pools, @NotNull List<LootFunction> functions) {
+        this.pools = pools;
+        this.functions = functions;
+    }
+
+    /**
+     * Compiles a loot table that doesn't reference other tables by key.
+     * Any references are compiled as empty tables.
+     */
+    public static @NotNull LootPlan compile(@NotNull LootTable table) {
+        return compile(table, key -> null);
+    }
+
+    /**
+     * Compiles a loot table, resolving the tables it references by key.
+     * @param table the table to compile
+     * @param tables the tables that may be referenced, returning null for unknown tables
+     * @return the plan
+     * @throws IllegalStateException if the referenced tables form a cycle
+     */
+    public static @NotNull LootPlan compile(@NotNull LootTable table, @NotNull Function<Key, @Nullable LootTable> tables) {
+        return new Compiler(tables).compile(table);
+    }
+
+    /**
+     * Compiles every given table. Tables referenced by several others are only compiled once.
+     * @throws IllegalStateException if the tables form a cycle
+     */
+    public static @NotNull Map<Key, LootPlan> compileAll(@NotNull Map<Key, LootTable> tables) {
+        Compiler compiler = new Compiler(tables::get);
+        Map<Key, LootPlan> plans = new HashMap<>();
+        for (Key key : tables.keySet()) {
+            plans.put(key, compiler.compile(key));
+        }
+        return Map.copyOf(plans);
+    }
+
+    @Override
+    public @NotNull List<ItemStack> generate(@NotNull LootContext context) {
+        List<ItemStack> items = new ArrayList<>();
+
+        for (PoolPlan pool : pools) {
+            for (ItemStack item : pool.generate(context)) {
+                items.add(functions.isEmpty() ? item : LootFunction.apply(functions, item, context));
+            }
+        }
+
+        return items;
+    }
+
+    private record PoolPlan(@NotNull LootPool pool, @NotNull List<LootPredicate> predicates, @Nullable Integer constantRolls,
+                            boolean bonusRolls, @NotNull LootSampler sampler,
+                            @NotNull Map<LootEntry.Choice, LootGenerator> overrides) {
+
+        @NotNull List<ItemStack> generate(@NotNull LootContext context) {
+            if (!LootPredicate.all(predicates, context)) return List.of();
+
+            int rolls = constantRolls != null ? constantRolls : pool.rolls().getInt(context);
+
+            if (bonusRolls) {
+                Double luck = context.get(LootContext.LUCK);
+                if (luck != null) {
+                    rolls += (int) Math.floor(luck * pool.bonusRolls().getDouble(context));
+                }
+            }
+
+            List<ItemStack> items = new ArrayList<>();
+
+            for (int i = 0; i < rolls; i++) {
+                LootEntry.Choice choice = sampler.pick(context);
+                if (choice == null) continue;
+
+                LootGenerator override = overrides.get(choice);
+                items.addAll(override != null ? override.generate(context) : choice.generate(context));
+            }
+
+            return LootFunction.apply(pool.functions(), items, context);
+        }
+    }
+
+    private static final class Compiler {
+        private final Function<Key, @Nullable LootTable> tables;
+        private final Map<Key, LootPlan> compiled = new HashMap<>();
+        private final LinkedHashSet<Key> compiling = new LinkedHashSet<>();
+
+        Compiler(Function<Key, @Nullable LootTable> tables) {
+            this.tables = tables;
+        }
+
+        LootPlan compile(Key key) {
+            LootPlan plan = compiled.get(key);
+            if (plan != null) return plan;
+
+            if (!compiling.add(key)) {
+                List<Key> path = new ArrayList<>(compiling);
+                path = new ArrayList<>(path.subList(path.indexOf(key), path.size()));
+                path.add(key);
+                throw new IllegalStateException("Loot table cycle: " + path.stream().map(Key::asString).collect(Collectors.joining(" -> ")));
+            }
+            try {
+                LootTable table = tables.apply(key);
+                plan = table == null ? EMPTY : compile(table);
+            } finally {
+                compiling.remove(key);
+            }
+            compiled.put(key, plan);
+            return plan;
+        }
+
+        LootPlan compile(LootTable table) {
+            List<PoolPlan> pools = new ArrayList<>(table.pools().size());
+            for (LootPool pool : table.pools()) {
+                pools.add(compile(pool));
+            }
+            return new LootPlan(List.copyOf(pools), table.functions());
+        }
+
+        PoolPlan compile(LootPool pool) {
+            Integer constantRolls = pool.rolls() instanceof LootNumber.Constant constant ? constant.value().intValue() : null;
+            boolean bonusRolls = !(pool.bonusRolls() instanceof LootNumber.Constant constant && constant.value() == 0);
+
+            Map<LootEntry.Choice, LootGenerator> overrides = new IdentityHashMap<>();
+            for (LootEntry entry : pool.entries()) {
+                compile(entry, overrides);
+            }
+
+            return new PoolPlan(pool, PredicateOrder.order(pool.predicates()), constantRolls, bonusRolls,
+                    LootSampler.of(pool.entries(), PredicateOrder::order), overrides);
+        }
+
+        void compile(LootEntry entry, Map<LootEntry.Choice, LootGenerator> overrides) {
+            switch (entry) {
+                case LootEntry.LootTable reference -> {
+                    LootPlan nested = switch (reference.value()) {
+                        case Either.Left(Key key) -> compile(key);
+                        case Either.Right(LootTable table) -> compile(table);
+                    };
+                    List<LootFunction> functions = reference.functions();
+                    overrides.put(reference, context -> LootFunction.apply(functions, nested.generate(context), context));
+                }
+                case LootEntry.Tag tag when !tag.expand() -> {
+                    List<Material> materials = new ArrayList<>();
+                    for (RegistryKey<Material> key : tag.name()) {
+                        Material material = MinecraftServer.process().material().get(key);
+                        if (material != null) materials.add(material);
+                    }
+                    List<LootFunction> functions = tag.functions();
+                    overrides.put(tag, context -> {
+                        List<ItemStack> items = new ArrayList<>(materials.size());
+                        for (Material material : materials) {
+                            items.add(LootFunction.apply(functions, ItemStack.of(material), context));
+                        }
+                        return items;
+                    });
+                }
+                case LootEntry.Group group -> group.children().forEach(child -> compile(child, overrides));
+                case LootEntry.Alternatives alternatives -> alternatives.children().forEach(child -> compile(child, overrides));
+                case LootEntry.Sequence sequence -> sequence.children().forEach(child -> compile(child, overrides));
+                default -> {
+                }
+            }
+        }
+    }
+
+    /**
+     * Orders predicates by estimated cost. Predicates that may consume randomness, that require a context value (and so
+     * throw without it), or whose cost is unknown, act as barriers that nothing is moved across. Otherwise, moving one
+     * ahead of a predicate that used to short-circuit could change the result.
+     */
+    static final class PredicateOrder {
+
+        private static final int IMPURE = -1;
+
+        static @NotNull List<LootPredicate> order(@NotNull List<LootPredicate> predicates) {
+            if (predicates.isEmpty()) return predicates;
+
+            List<LootPredicate> ordered = new ArrayList<>(predicates.size());
+            List<LootPredicate> run = new ArrayList<>();
+            for (LootPredicate predicate : predicates) {
+                LootPredicate optimized = optimize(predicate);
+                if (cost(optimized) == IMPURE) {
+                    flush(run, ordered);
+                    ordered.add(optimized);
+                } else {
+                    run.add(optimized);
+                }
+            }
+            flush(run, ordered);
+            return List.copyOf(ordered);
+        }
+
+        private static void flush(List<LootPredicate> run, List<LootPredicate> ordered) {
+            run.sort(Comparator.comparingInt(PredicateOrder::cost));
+            ordered.addAll(run);
+            run.clear();
+        }
+
+        private static LootPredicate optimize(LootPredicate predicate) {
+            return switch (predicate) {
+                case LootPredicate.AllOf allOf -> new LootPredicate.AllOf(order(allOf.terms()));
+                case LootPredicate.AnyOf anyOf -> new LootPredicate.AnyOf(order(anyOf.terms()));
+                case LootPredicate.Inverted inverted -> new LootPredicate.Inverted(optimize(inverted.term()));
+                default -> predicate;
+            };
+        }
+
+        /**
+         * @return the estimated cost of testing the predicate, or {@link #IMPURE}
+         */
+        static int cost(LootPredicate predicate) {
+            return switch (predicate) {
+                case LootPredicate.KilledByPlayer ignored -> 1;
+                case LootPredicate.BlockStateProperty ignored -> 2;
+                // item predicates evaluate number ranges, which may be random
+                case LootPredicate.MatchTool matchTool -> matchTool.predicate() == null ? 4 : IMPURE;
+                case LootPredicate.DamageSourceProperties ignored -> 6;
+                case LootPredicate.Inverted inverted -> cost(inverted.term());
+                case LootPredicate.AllOf allOf -> sum(allOf.terms());
+                case LootPredicate.AnyOf anyOf -> sum(anyOf.terms());
+                default -> IMPURE;
+            };
+        }
+
+        private static int sum(List<LootPredicate> predicates) {
+            int sum = 0;
+            for (LootPredicate predicate : predicates) {
+                int cost = cost(predicate);
+                if (cost == IMPURE) return IMPURE;
+                sum += cost;
+            }
+            return sum;
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package net.minestom.vanilla.loot;
+
+import net.kyori.adventure.key.Key;
+import net.minestom.server.ServerProcess;
+import net.minestom.server.component.DataComponents;
+import net.minestom.server.coordinate.Point;
+import net.minestom.server.entity.Entity;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.instance.block.Block;
+import net.minestom.server.item.ItemStack;
+import net.minestom.server.item.component.Tool;
+import net.minestom.vanilla.datapack.Datapack;
+import net.minestom.vanilla.datapack.Datapacks;
+import net.minestom.vanilla.files.ByteArray;
+import net.minestom.vanilla.files.FileSystem;
+import net.minestom.vanilla.utils.BlockStateDispatch;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * The loot tables of a server, parsed and compiled once, and shared by everything that generates loot.
+ * <p>
+ * A process's runtime starts with the vanilla tables of the jar. {@link #load(Datapack)} layers the tables of a loaded
+ * datapack over them, compiled once per datapack snapshot, and swaps them in atomically, including in the
+ * {@link #blockTables()} of event nodes already created from this runtime.
+ * </p>
+ */
+public final class LootRuntime {
+
+    private static final Map<ServerProcess, LootRuntime> process2runtimes =
+            Collections.synchronizedMap(new WeakHashMap<>());
+
+    // reused by each thread generating block loot, so that building a context only allocates the context itself
+    private static final ThreadLocal<LootContext.Builder> BLOCK_CONTEXTS = ThreadLocal.withInitial(LootContext::builder);
+
+    private final @Nullable ServerProcess process;
+    private final @NotNull Snapshot base;
+    private final @NotNull Map<Datapack, Snapshot> datapack2snapshots = Collections.synchronizedMap(new WeakHashMap<>());
+    private volatile @NotNull Snapshot current;
+    private volatile @Nullable Datapack loaded;
+    private final @NotNull BlockStateDispatch<LootGenerator> blockTables;
+
+    private record Snapshot(@NotNull Map<Key, LootTable> tables, @NotNull Map<Key, LootPlan> plans) {
+        static @NotNull Snapshot compile(@NotNull Map<Key, LootTable> tables) {
+            Map<Key, LootTable> copy = Map.copyOf(tables);
+            return new Snapshot(copy, LootPlan.compileAll(copy));
+        }
+    }
+
+    private LootRuntime(@Nullable ServerProcess process, @NotNull Map<Key, LootTable> tables) {
+        this.process = process;
+        this.base = Snapshot.compile(tables);
+        this.current = base;
+        this.blockTables = BlockStateDispatch.build(block -> base.plans.get(blockTableKey(block)));
+    }
+
+    /**
+     * @return the runtime of the given process, loading the vanilla tables of the jar the first time
+     */
+    public static @NotNull LootRuntime of(@NotNull ServerProcess process) {
+        return process2runtimes.computeIfAbsent(process, p -> new LootRuntime(p, LootFeature.parseFromJar(p)));
+    }
+
+    /**
+     * @return the runtime of the given process, with the tables of the given datapack {@link #load(Datapack) loaded}
+     */
+    public static @NotNull LootRuntime of(@NotNull ServerProcess process, @NotNull Datapack datapack) {
+        LootRuntime runtime = of(process);
+        runtime.load(datapack);
+        return runtime;
+    }
+
+    /**
+     * @return a new runtime of the given tables, unrelated to any process
+     */
+    public static @NotNull LootRuntime of(@NotNull Map<Key, LootTable> tables) {
+        return new LootRuntime(null, tables);
+    }
+
+    /**
+     * Makes the tables of the given datapack, over the vanilla tables of the jar, the current tables of this runtime.
+     * The datapack's tables are decoded and compiled the first time each snapshot is loaded, and the block tables are
+     * {@link BlockStateDispatch#reload reloaded} whenever the current snapshot changes.
+     *
+     * @param datapack the loaded datapack
+     */
+    public void load(@NotNull Datapack datapack) {
+        if (loaded == datapack) return;
+        if (process == null) throw new IllegalStateException("Only the runtime of a process can load datapacks");
+
+        Snapshot snapshot = datapack2snapshots.computeIfAbsent(datapack, this::layer);
+        synchronized (this) {
+            if (loaded == datapack) return;
+            current = snapshot;
+            blockTables.reload(block -> snapshot.plans.get(blockTableKey(block)));
+            loaded = datapack;
+        }
+    }
+
+    private Snapshot layer(Datapack datapack) {
+        Map<Key, String> files = new HashMap<>();
+        datapack.lootTableFiles().forEach((namespace, folder) -> collect(namespace, "", folder, files));
+
+        Map<Key, LootTable> tables = new LinkedHashMap<>(base.tables);
+        try {
+            tables.putAll(Datapacks.buildRegistry(files, Objects.requireNonNull(process), LootTable.CODEC,
+                    Runtime.getRuntime().availableProcessors()));
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        return Snapshot.compile(tables);
+    }
+
+    @SuppressWarnings("PatternValidation")
+    private static void collect(String namespace, String prefix, FileSystem<ByteArray> folder, Map<Key, String> files) {
+        for (String file : folder.files()) {
+            if (!file.endsWith(".json")) continue;
+            String name = prefix + file.substring(0, file.length() - ".json".length());
+            files.put(Key.key(namespace, name), folder.file(file).toCharacterString());
+        }
+        for (String child : folder.folders()) {
+            collect(namespace, prefix + child + "/", folder.folder(child), files);
+        }
+    }
+
+    @SuppressWarnings("PatternValidation")
+    private static Key blockTableKey(Block block) {
+        return Key.key("blocks/" + block.key().value());
+    }
+
+    /**
+     * @return every current table, by key
+     */
+    public @NotNull Map<Key, LootTable> tables() {
+        return current.tables;
+    }
+
+    /**
+     * @return the current compiled table of the given key, or null if there is none
+     */
+    public @Nullable LootGenerator table(@NotNull Key key) {
+        return current.plans.get(key);
+    }
+
+    /**
+     * @return the current compiled block tables ({@code blocks/<block>}), by block state, which follow
+     * {@link #load(Datapack) loads}
+     */
+    public @NotNull BlockStateDispatch<LootGenerator> blockTables() {
+        return blockTables;
+    }
+
+    /**
+     * Generates the loot of a block broken with the given tool. Blocks that require a tool the given tool isn't
+     * correct for drop nothing.
+     * @param instance the instance of the block
+     * @param position the position of the block
+     * @param block the block that was broken
+     * @param tool the tool that broke the block
+     * @param breaker the entity that broke the block, if any
+     * @param random the random to generate loot with
+     * @return the generated loot, which is empty if the block has no table
+     */
+    public @NotNull List<ItemStack> blockLoot(@NotNull Instance instance, @NotNull Point position, @NotNull Block block,
+                                              @NotNull ItemStack tool, @Nullable Entity breaker, @NotNull Random random) {
+        if (!canDrop(block, tool)) return List.of();
+
+        LootGenerator table = blockTables.get(block);
+        if (table == null) return List.of();
+
+        return blockLoot(table, instance, position, block, tool, breaker, random);
+    }
+
+    /**
+     * Generates the loot of a block from the given table, whether or not the tool is correct for the block.
+     * @see #blockLoot(Instance, Point, Block, ItemStack, Entity, Random)
+     */
+    public static @NotNull List<ItemStack> blockLoot(@NotNull LootGenerator table, @NotNull Instance instance,
+                                                     @NotNull Point position, @NotNull Block block, @NotNull ItemStack tool,
+                                                     @Nullable Entity breaker, @NotNull Random random) {
+        LootContext context = BLOCK_CONTEXTS.get().clear()
+                .with(LootContext.RANDOM, random)
+                .with(LootContext.WORLD, instance)
+                .with(LootContext.BLOCK_STATE, block)
+                .with(LootContext.ORIGIN, position)
+                .with(LootContext.TOOL, tool)
+                .with(LootContext.THIS_ENTITY, breaker)
+                .build();
+        return table.generate(context);
+    }
+
+    /**
+     * @return whether the block doesn't require a tool, or the given tool is correct for it
+     */
+    public static boolean canDrop(@NotNull Block block, @NotNull ItemStack tool) {
+        if (!block.registry().requiresTool()) return true;
+        Tool component = tool.get(DataComponents.TOOL);
+        return component != null && component.isCorrectForDrops(block);
+    }
+}
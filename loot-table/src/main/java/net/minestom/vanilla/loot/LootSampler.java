@@ -0,0 +1,195 @@
+package net.minestom.vanilla.loot;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.UnaryOperator;
+
+/**
+ * Picks weighted choices from the entries of a loot pool, precomputing as much as possible.
+ * <p>
+ * When every entry is a single choice with a static weight (no quality) and no conditions, a Walker alias table is
+ * built with Vose's method, so a roll is one random number and two array reads, whatever the number of entries.
+ * Choices are picked with the same probabilities as {@link LootPool#pickChoice(List, LootContext)}, but not the same
+ * choice for a given seed.
+ * </p>
+ * <p>
+ * When some of those entries have conditions, they are tested into a bitmask of passing entries on each roll, and the
+ * weights of the passing entries are summed and walked directly, without allocating. This draws the same number as
+ * {@link LootPool#pickChoice(List, LootContext)} and maps it to the same choice. Any other pool (groups, alternatives,
+ * sequences, expanded tags, or luck-dependent weights) falls back to {@link LootPool#pickChoice(List, LootContext)}.
+ * </p>
+ */
+final class LootSampler {
+
+    private final @NotNull List<LootEntry> entries;
+
+    // null if this pool can't be precomputed
+    private final LootEntry.Choice.Single @Nullable [] choices;
+    private final long[] weights;
+    private final int[] conditional;
+    private final List<List<LootPredicate>> conditions;
+    private final long all;
+
+    // the alias table of the choices, null if some of them have conditions
+    private final double @Nullable [] probabilities;
+    private final int @Nullable [] aliases;
+
+    private LootSampler(@NotNull List<LootEntry> entries, LootEntry.Choice.Single @Nullable [] choices,
+                        long[] weights, int[] conditional, List<List<LootPredicate>> conditions) {
+        this.entries = entries;
+        this.choices = choices;
+        this.weights = weights;
+        this.conditional = conditional;
+        this.conditions = conditions;
+        this.all = choices == null || choices.length == 64 ? -1L : (1L << choices.length) - 1;
+        if (choices != null && conditional.length == 0) {
+            this.probabilities = new double[weights.length];
+            this.aliases = new int[weights.length];
+            buildAliasTable(weights, probabilities, aliases);
+        } else {
+            this.probabilities = null;
+            this.aliases = null;
+        }
+    }
+
+    /**
+     * Vose's method: each column holds the probability of its own choice, and the choice that fills the rest of it.
+     */
+    private static void buildAliasTable(long[] weights, double[] probabilities, int[] aliases) {
+        int size = weights.length;
+        double total = 0;
+        for (long weight : weights) total += weight;
+
+        double[] scaled = new double[size];
+        int[] small = new int[size];
+        int[] large = new int[size];
+        int smallSize = 0;
+        int largeSize = 0;
+        for (int i = 0; i < size; i++) {
+            scaled[i] = weights[i] * size / total;
+            if (scaled[i] < 1) small[smallSize++] = i;
+            else large[largeSize++] = i;
+        }
+
+        while (smallSize > 0 && largeSize > 0) {
+            int less = small[--smallSize];
+            int more = large[--largeSize];
+            probabilities[less] = scaled[less];
+            aliases[less] = more;
+            scaled[more] = (scaled[more] + scaled[less]) - 1;
+            if (scaled[more] < 1) small[smallSize++] = more;
+            else large[largeSize++] = more;
+        }
+
+        // whatever is left is only off by rounding errors
+        while (largeSize > 0) {
+            int index = large[--largeSize];
+            probabilities[index] = 1;
+            aliases[index] = index;
+        }
+        while (smallSize > 0) {
+            int index = small[--smallSize];
+            probabilities[index] = 1;
+            aliases[index] = index;
+        }
+    }
+
+    static @NotNull LootSampler of(@NotNull List<LootEntry> entries) {
+        return of(entries, UnaryOperator.identity());
+    }
+
+    /**
+     * @param conditions transforms the conditions of each entry, e.g. to reorder them
+     */
+    static @NotNull LootSampler of(@NotNull List<LootEntry> entries, @NotNull UnaryOperator<List<LootPredicate>> conditions) {
+        LootSampler fallback = new LootSampler(entries, null, new long[0], new int[0], List.of());
+
+        int size = entries.size();
+        if (size == 0) return fallback;
+
+        LootEntry.Choice.Single[] choices = new LootEntry.Choice.Single[size];
+        long[] weights = new long[size];
+        List<Integer> conditional = new ArrayList<>();
+        List<List<LootPredicate>> entryConditions = new ArrayList<>();
+        long totalWeight = 0;
+        for (int i = 0; i < size; i++) {
+            if (!(entries.get(i) instanceof LootEntry.Choice.Single single) || !isStatic(single)) return fallback;
+            choices[i] = single;
+            weights[i] = Math.max(1, single.weight());
+            entryConditions.add(conditions.apply(single.predicates()));
+            if (!single.predicates().isEmpty()) conditional.add(i);
+            try {
+                totalWeight = Math.addExact(totalWeight, weights[i]);
+            } catch (ArithmeticException e) {
+                return fallback;
+            }
+        }
+
+        // conditional entries are tracked in a single long
+        if (!conditional.isEmpty() && size > 64) return fallback;
+
+        int[] conditionalIndices = conditional.stream().mapToInt(Integer::intValue).toArray();
+        return new LootSampler(entries, choices, weights, conditionalIndices, List.copyOf(entryConditions));
+    }
+
+    private static boolean isStatic(LootEntry.Choice.Single single) {
+        if (single.quality() != 0) return false;
+        return switch (single) {
+            case LootEntry.Item ignored -> true;
+            case LootEntry.Empty ignored -> true;
+            case LootEntry.Dynamic ignored -> true;
+            case LootEntry.LootTable ignored -> true;
+            case LootEntry.Tag tag -> !tag.expand();
+            default -> false;
+        };
+    }
+
+    /**
+     * Picks a random choice, weighted with each choice's weight. If no choices were generated, null is returned.
+     * @param context the context, to use if needed
+     * @return the picked choice, or null if no choices were generated
+     */
+    @Nullable LootEntry.Choice pick(@NotNull LootContext context) {
+        LootEntry.Choice.Single[] choices = this.choices;
+        if (choices == null) return LootPool.pickChoice(entries, context);
+
+        Random random = context.require(LootContext.RANDOM);
+        double[] probabilities = this.probabilities;
+        if (probabilities != null) {
+            // the integer part picks the column, and the fraction picks between its choice and its alias
+            double value = random.nextDouble() * choices.length;
+            int column = Math.min((int) value, choices.length - 1);
+            return value - column < probabilities[column] ? choices[column] : choices[aliases[column]];
+        }
+
+        long passing = all;
+        for (int index : conditional) {
+            if (!LootPredicate.all(conditions.get(index), context)) {
+                passing &= ~(1L << index);
+            }
+        }
+
+        if (passing == 0) return null;
+
+        long total = 0;
+        for (long bits = passing; bits != 0; bits &= bits - 1) {
+            total += weights[Long.numberOfTrailingZeros(bits)];
+        }
+        long value = random.nextLong(0, total);
+        for (long bits = passing; bits != 0; bits &= bits - 1) {
+            int index = Long.numberOfTrailingZeros(bits);
+            if (value < weights[index]) return choices[index];
+            value -= weights[index];
+        }
+        throw new IllegalStateException("Unreachable");
+    }
+
+    @Override
+    public String toString() {
+        return "LootSampler[" + (choices == null ? "fallback" : choices.length + " choices") + "]";
+    }
+}
@@ -0,0 +1,205 @@
+package net.minestom.vanilla.loot;
+
+import net.minestom.server.item.ItemStack;
+import net.minestom.server.item.Material;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
+
+/**
+ * Runs a loot table many times without a world, and aggregates how often each item drops.
+ * <p>
+ * Rolls are split into fixed-size chunks, and each chunk gets its own random stream split from the seed in chunk
+ * order. Chunks are spread across threads, and their counts are summed, so results only depend on the seed and the
+ * number of rolls, not on the number of threads.
+ * </p>
+ */
+public final class LootSimulation {
+
+    /**
+     * The number of drops per roll tracked individually. Rolls that drop more of an item share the last bucket.
+     */
+    public static final int MAX_TRACKED_COUNT = 64;
+
+    private static final int BUCKETS = MAX_TRACKED_COUNT + 1;
+    private static final int CHUNK_SIZE = 4096;
+    private static final RandomGeneratorFactory<RandomGenerator.SplittableGenerator> RANDOMS =
+            RandomGeneratorFactory.of("L64X128MixRandom");
+
+    private LootSimulation() {
+    }
+
+    /**
+     * The drops of one item across every roll of a simulation.
+     * @param material the item
+     * @param rolls the number of rolls simulated
+     * @param total the number of this item dropped across every roll
+     * @param histogram the number of rolls that dropped each amount of this item, up to {@link #MAX_TRACKED_COUNT}
+     */
+    public record Drops(@NotNull Material material, long rolls, long total, long @NotNull [] histogram) {
+
+        /**
+         * @return the average amount dropped per roll
+         */
+        public double mean() {
+            return (double) total / rolls;
+        }
+
+        /**
+         * @return the chance of a roll dropping at least one of this item
+         */
+        public double chance() {
+            return 1 - (double) histogram[0] / rolls;
+        }
+    }
+
+    /**
+     * @param rolls the number of rolls simulated
+     * @param nanos the wall time taken by the simulation
+     * @param drops the drops of each item that dropped at least once, ordered by item id
+     */
+    public record Result(long rolls, long nanos, @NotNull List<Drops> drops) {
+
+        /**
+         * @return the number of rolls simulated per second
+         */
+        public double rollsPerSecond() {
+            return rolls / (nanos / 1e9);
+        }
+    }
+
+    /**
+     * Simulates the table on every available processor.
+     * @see #run(LootGenerator, LootContext, long, long, int)
+     */
+    public static @NotNull Result run(@NotNull LootGenerator table, @NotNull LootContext template, long rolls, long seed) {
+        return run(table, template, rolls, seed, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Simulates the table.
+     * @param table the table to roll
+     * @param template the context of every roll, whose random is replaced with the simulation's
+     * @param rolls the number of rolls
+     * @param seed the seed of the simulation
+     * @param parallelism the number of threads to use
+     * @return the aggregated drops
+     */
+    public static @NotNull Result run(@NotNull LootGenerator table, @NotNull LootContext template, long rolls, long seed,
+                                      int parallelism) {
+        if (rolls <= 0) throw new IllegalArgumentException("rolls must be positive");
+
+        int chunks = Math.toIntExact((rolls + CHUNK_SIZE - 1) / CHUNK_SIZE);
+        RandomGenerator.SplittableGenerator root = RANDOMS.create(seed);
+        List<RandomGenerator.SplittableGenerator> streams = new ArrayList<>(chunks);
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            streams.add(root.split());
+        }
+
+        int materials = Material.values().stream().mapToInt(Material::id).max().orElse(0) + 1;
+        int threads = Math.max(1, Math.min(parallelism, chunks));
+        AtomicInteger next = new AtomicInteger();
+
+        long start = System.nanoTime();
+        List<Accumulator> accumulators;
+        if (threads == 1) {
+            accumulators = List.of(simulate(table, template, rolls, streams, next, materials));
+        } else {
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            try {
+                List<Future<Accumulator>> futures = new ArrayList<>(threads);
+                for (int thread = 0; thread < threads; thread++) {
+                    futures.add(executor.submit(() -> simulate(table, template, rolls, streams, next, materials)));
+                }
+                accumulators = new ArrayList<>(threads);
+                for (Future<Accumulator> future : futures) {
+                    accumulators.add(future.get());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while simulating loot", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Failed to simulate loot", e.getCause());
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+        long nanos = System.nanoTime() - start;
+
+        Accumulator total = accumulators.getFirst();
+        for (int i = 1; i < accumulators.size(); i++) {
+            total.add(accumulators.get(i));
+        }
+        return new Result(rolls, nanos, total.drops(rolls));
+    }
+
+    private static Accumulator simulate(LootGenerator table, LootContext template, long rolls,
+                                        List<RandomGenerator.SplittableGenerator> streams, AtomicInteger next, int materials) {
+        Accumulator accumulator = new Accumulator(materials);
+        for (int chunk = next.getAndIncrement(); chunk < streams.size(); chunk = next.getAndIncrement()) {
+            LootContext context = template.with(LootContext.RANDOM, Random.from(streams.get(chunk)));
+            long end = Math.min(rolls, (long) (chunk + 1) * CHUNK_SIZE);
+            for (long roll = (long) chunk * CHUNK_SIZE; roll < end; roll++) {
+                accumulator.roll(table.generate(context));
+            }
+        }
+        return accumulator;
+    }
+
+    private static final class Accumulator {
+        private final long[] histograms;
+        private final long[] totals;
+        // the amount of each item in the current roll
+        private final int[] amounts;
+        private final int[] touched;
+
+        Accumulator(int materials) {
+            this.histograms = new long[materials * BUCKETS];
+            this.totals = new long[materials];
+            this.amounts = new int[materials];
+            this.touched = new int[materials];
+        }
+
+        void roll(List<ItemStack> items) {
+            int touchedCount = 0;
+            for (ItemStack item : items) {
+                if (item.isAir()) continue;
+                int id = item.material().id();
+                if (amounts[id] == 0) touched[touchedCount++] = id;
+                amounts[id] += item.amount();
+            }
+            for (int i = 0; i < touchedCount; i++) {
+                int id = touched[i];
+                int amount = amounts[id];
+                histograms[id * BUCKETS + Math.min(amount, MAX_TRACKED_COUNT)]++;
+                totals[id] += amount;
+                amounts[id] = 0;
+            }
+        }
+
+        void add(Accumulator other) {
+            for (int i = 0; i < histograms.length; i++) histograms[i] += other.histograms[i];
+            for (int i = 0; i < totals.length; i++) totals[i] += other.totals[i];
+        }
+
+        List<Drops> drops(long rolls) {
+            List<Drops> drops = new ArrayList<>();
+            for (int id = 0; id < totals.length; id++) {
+                if (totals[id] == 0) continue;
+                Material material = Material.fromId(id);
+                if (material == null) continue;
+
+                long[] histogram = Arrays.copyOfRange(histograms, id * BUCKETS, (id + 1) * BUCKETS);
+                long dropped = 0;
+                for (long count : histogram) dropped += count;
+                histogram[0] = rolls - dropped;
+                drops.add(new Drops(material, rolls, totals[id], histogram));
+            }
+            return List.copyOf(drops);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package net.minestom.vanilla.loot;
+
+import net.kyori.adventure.key.Key;
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.component.DataComponents;
+import net.minestom.server.coordinate.Vec;
+import net.minestom.server.instance.block.Block;
+import net.minestom.server.item.ItemStack;
+import net.minestom.server.item.Material;
+import net.minestom.server.item.component.EnchantmentList;
+import net.minestom.server.item.enchant.Enchantment;
+import net.minestom.server.registry.RegistryKey;
+import net.minestom.vanilla.utils.MinestomUtils;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Simulates vanilla loot tables from the command line, and writes the drops as CSV.
+ * <p>
+ * Options:
+ * <ul>
+ *     <li>{@code --table <key>} the table to simulate, may be repeated. Defaults to every table.</li>
+ *     <li>{@code --rolls <n>} the rolls per table, defaults to 100000</li>
+ *     <li>{@code --seed <n>} the seed, defaults to 0</li>
+ *     <li>{@code --threads <n>} defaults to the available processors</li>
+ *     <li>{@code --tool <item>} the tool in the context, defaults to none</li>
+ *     <li>{@code --enchant <enchantment>=<level>} an enchantment on the tool, may be repeated</li>
+ *     <li>{@code --luck <n>} the luck in the context</li>
+ *     <li>{@code --interpret} rolls the tables directly instead of their compiled {@link LootPlan}s</li>
+ *     <li>{@code --out <file>} the CSV file, defaults to stdout</li>
+ * </ul>
+ * The throughput of each table is printed to stderr, so this doubles as a benchmark of the loot engines.
+ * The process exits with status 1 if any table failed to simulate, and 0 otherwise.
+ * </p>
+ */
+public final class LootSimulationCli {
+
+    private LootSimulationCli() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        List<String> tableNames = new ArrayList<>();
+        long rolls = 100_000;
+        long seed = 0;
+        int threads = Runtime.getRuntime().availableProcessors();
+        String toolName = null;
+        Map<String, Integer> enchantments = new LinkedHashMap<>();
+        Double luck = null;
+        boolean interpret = false;
+        Path out = null;
+
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (arg.equals("--interpret")) {
+                interpret = true;
+                continue;
+            }
+            if (i + 1 >= args.length) throw new IllegalArgumentException("Missing value for " + arg);
+            String value = args[++i];
+            switch (arg) {
+                case "--table" -> tableNames.add(value);
+                case "--rolls" -> rolls = Long.parseLong(value);
+                case "--seed" -> seed = Long.parseLong(value);
+                case "--threads" -> threads = Integer.parseInt(value);
+                case "--tool" -> toolName = value;
+                case "--enchant" -> {
+                    int split = value.indexOf('=');
+                    if (split < 0) throw new IllegalArgumentException("Expected <enchantment>=<level>, got " + value);
+                    enchantments.put(value.substring(0, split), Integer.parseInt(value.substring(split + 1)));
+                }
+                case "--luck" -> luck = Double.parseDouble(value);
+                case "--out" -> out = Path.of(value);
+                default -> throw new IllegalArgumentException("Unknown option " + arg);
+            }
+        }
+
+        MinecraftServer.init();
+        Map<Key, LootTable> tables = LootFeature.buildFromDatapack(MinecraftServer.process());
+        Map<Key, ? extends LootGenerator> generators = interpret ? tables : LootPlan.compileAll(tables);
+
+        List<Key> keys = new ArrayList<>();
+        if (tableNames.isEmpty()) {
+            keys.addAll(tables.keySet());
+            keys.sort(Comparator.comparing(Key::asString));
+        } else {
+            for (String name : tableNames) {
+                Key key = Key.key(name);
+                if (!tables.containsKey(key)) throw new IllegalArgumentException("Unknown loot table " + name);
+                keys.add(key);
+            }
+        }
+
+        ItemStack tool = toolName == null ? null : tool(toolName, enchantments);
+        int failed = 0;
+
+        try (PrintStream csv = out == null ? System.out : new PrintStream(Files.newOutputStream(out))) {
+            StringBuilder header = new StringBuilder("table,item,rolls,total,mean,chance");
+            for (int count = 0; count <= LootSimulation.MAX_TRACKED_COUNT; count++) {
+                header.append(",n").append(count);
+            }
+            csv.println(header);
+
+            for (Key key : keys) {
+                LootContext template = template(key, tool, luck);
+                LootSimulation.Result result;
+                try {
+                    result = LootSimulation.run(generators.get(key), template, rolls, seed, threads);
+                } catch (RuntimeException e) {
+                    System.err.printf("%s: failed, %s%n", key.asString(), e);
+                    failed++;
+                    continue;
+                }
+                System.err.printf("%s: %.0f rolls/s%n", key.asString(), result.rollsPerSecond());
+
+                for (LootSimulation.Drops drops : result.drops()) {
+                    StringBuilder line = new StringBuilder()
+                            .append(key.asString()).append(',')
+                            .append(drops.material().key().asString()).append(',')
+                            .append(drops.rolls()).append(',')
+                            .append(drops.total()).append(',')
+                            .append(drops.mean()).append(',')
+                            .append(drops.chance());
+                    for (long count : drops.histogram()) {
+                        line.append(',').append(count);
+                    }
+                    csv.println(line);
+                }
+            }
+        }
+
+        if (failed > 0) System.err.printf("%d of %d tables failed%n", failed, keys.size());
+        // the server's threads are not daemons, so exit explicitly
+        System.exit(failed > 0 ? 1 : 0);
+    }
+
+    private static ItemStack tool(String name, Map<String, Integer> enchantments) {
+        Material material = Material.fromKey(name);
+        if (material == null) throw new IllegalArgumentException("Unknown item " + name);
+
+        Map<RegistryKey<Enchantment>, Integer> levels = new HashMap<>();
+        for (Map.Entry<String, Integer> entry : enchantments.entrySet()) {
+            RegistryKey<Enchantment> enchantment = MinestomUtils.getEnchantKey(Key.key(entry.getKey()));
+            if (enchantment == null) throw new IllegalArgumentException("Unknown enchantment " + entry.getKey());
+            levels.put(enchantment, entry.getValue());
+        }
+
+        ItemStack tool = ItemStack.of(material);
+        return levels.isEmpty() ? tool : tool.with(DataComponents.ENCHANTMENTS, new EnchantmentList(levels));
+    }
+
+    private static @NotNull LootContext template(Key table, ItemStack tool, Double luck) {
+        Block block = table.value().startsWith("blocks/") ? Block.fromKey(table.value().substring("blocks/".length())) : null;
+        return LootContext.builder()
+                .with(LootContext.ORIGIN, Vec.ZERO)
+                .with(LootContext.BLOCK_STATE, block)
+                .with(LootContext.TOOL, tool)
+                .with(LootContext.LUCK, luck)
+                .with(LootContext.ENCHANTMENT_ACTIVE, false)
+                .build();
+    }
+}
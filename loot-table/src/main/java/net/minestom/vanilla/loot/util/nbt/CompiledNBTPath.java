@@ -0,0 +1,193 @@
+package net.minestom.vanilla.loot.util.nbt;
+
+import net.kyori.adventure.nbt.BinaryTag;
+import net.kyori.adventure.nbt.CompoundBinaryTag;
+import net.kyori.adventure.nbt.ListBinaryTag;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * The read-only form of a {@link NBTPath}, with each selector compiled into a step that reads adventure NBT directly.
+ * <p>
+ * Unlike {@link NBTPath#get(BinaryTag)}, no references or intermediate lists are created for each selector: paths
+ * that select at most one element are a loop over their steps, and other paths recurse into each selected element.
+ * </p>
+ */
+public final class CompiledNBTPath {
+
+    private final @NotNull List<NBTPath.Selector> selectors;
+    private final @NotNull Step @NotNull [] steps;
+    // whether every step selects at most one element
+    private final boolean single;
+
+    private CompiledNBTPath(@NotNull List<NBTPath.Selector> selectors, @NotNull Step @NotNull [] steps, boolean single) {
+        this.selectors = selectors;
+        this.steps = steps;
+        this.single = single;
+    }
+
+    static @NotNull CompiledNBTPath compile(@NotNull List<NBTPath.Selector> selectors) {
+        Step[] steps = new Step[selectors.size()];
+        boolean single = true;
+        for (int i = 0; i < steps.length; i++) {
+            steps[i] = switch (selectors.get(i)) {
+                case NBTPath.Selector.RootKey root -> new Step.CompoundKey(root.key());
+                case NBTPath.Selector.Key key -> new Step.CompoundKey(key.key());
+                case NBTPath.Selector.Index index -> new Step.ListIndex(index.index());
+                case NBTPath.Selector.CompoundFilter filter -> Step.CompoundFilter.of(filter.filter());
+                case NBTPath.Selector.ListFilter filter -> new Step.ListFilter(Step.CompoundFilter.of(filter.filter()));
+                case NBTPath.Selector.EntireList ignored -> new Step.EntireList();
+            };
+            single &= steps[i] instanceof Step.Single;
+        }
+        return new CompiledNBTPath(selectors, steps, single);
+    }
+
+    /**
+     * Passes each element selected from {@code source} into the given consumer, in order.
+     */
+    public void forEach(@NotNull BinaryTag source, @NotNull Consumer<? super BinaryTag> consumer) {
+        if (single) {
+            BinaryTag selected = single(source);
+            if (selected != null) consumer.accept(selected);
+        } else {
+            select(source, 0, consumer);
+        }
+    }
+
+    /**
+     * @return each element selected from {@code source}, which may be empty
+     */
+    public @NotNull List<BinaryTag> select(@NotNull BinaryTag source) {
+        if (single) {
+            BinaryTag selected = single(source);
+            return selected == null ? List.of() : List.of(selected);
+        }
+        List<BinaryTag> selected = new ArrayList<>();
+        select(source, 0, selected::add);
+        return selected;
+    }
+
+    /**
+     * @return the element selected from {@code source}, or null if there isn't exactly one
+     */
+    public @Nullable BinaryTag single(@NotNull BinaryTag source) {
+        if (!single) {
+            List<BinaryTag> selected = select(source);
+            return selected.size() == 1 ? selected.getFirst() : null;
+        }
+
+        BinaryTag tag = source;
+        for (Step step : steps) {
+            tag = ((Step.Single) step).apply(tag);
+            if (tag == null) return null;
+        }
+        return tag;
+    }
+
+    private void select(BinaryTag tag, int index, Consumer<? super BinaryTag> consumer) {
+        if (index == steps.length) {
+            consumer.accept(tag);
+            return;
+        }
+        switch (steps[index]) {
+            case Step.Single step -> {
+                BinaryTag next = step.apply(tag);
+                if (next != null) select(next, index + 1, consumer);
+            }
+            case Step.EntireList ignored -> {
+                if (tag instanceof ListBinaryTag list) {
+                    for (BinaryTag element : list) select(element, index + 1, consumer);
+                }
+            }
+            case Step.ListFilter filter -> {
+                if (tag instanceof ListBinaryTag list) {
+                    for (BinaryTag element : list) {
+                        if (filter.filter().apply(element) != null) select(element, index + 1, consumer);
+                    }
+                }
+            }
+        }
+    }
+
+    // derived entirely from the selectors, so it doesn't change the equality of the path
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof CompiledNBTPath other && selectors.equals(other.selectors);
+    }
+
+    @Override
+    public int hashCode() {
+        return selectors.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "CompiledNBTPath[" + steps.length + " steps]";
+    }
+
+    private sealed interface Step {
+
+        /**
+         * A step that selects at most one element.
+         */
+        sealed interface Single extends Step {
+            @Nullable BinaryTag apply(@NotNull BinaryTag tag);
+        }
+
+        record CompoundKey(@NotNull String key) implements Single {
+            @Override
+            public @Nullable BinaryTag apply(@NotNull BinaryTag tag) {
+                return tag instanceof CompoundBinaryTag compound ? compound.get(key) : null;
+            }
+        }
+
+        record ListIndex(int index) implements Single {
+            @Override
+            public @Nullable BinaryTag apply(@NotNull BinaryTag tag) {
+                if (!(tag instanceof ListBinaryTag list)) return null;
+                int size = list.size();
+                int actual = index >= 0 ? index : size + index;
+                return actual >= 0 && actual < size ? list.get(actual) : null;
+            }
+        }
+
+        /**
+         * Selects compounds containing every entry of the filter, with the keys and values unpacked into arrays.
+         */
+        record CompoundFilter(@NotNull String @NotNull [] keys, @NotNull BinaryTag @NotNull [] values) implements Single {
+
+            static @NotNull CompoundFilter of(@NotNull CompoundBinaryTag filter) {
+                String[] keys = new String[filter.size()];
+                BinaryTag[] values = new BinaryTag[filter.size()];
+                int i = 0;
+                for (Map.Entry<String, ? extends BinaryTag> entry : filter) {
+                    keys[i] = entry.getKey();
+                    values[i] = entry.getValue();
+                    i++;
+                }
+                return new CompoundFilter(keys, values);
+            }
+
+            @Override
+            public @Nullable BinaryTag apply(@NotNull BinaryTag tag) {
+                if (!(tag instanceof CompoundBinaryTag compound)) return null;
+                for (int i = 0; i < keys.length; i++) {
+                    if (!NBTUtils.compareNBT(values[i], compound.get(keys[i]), false)) return null;
+                }
+                return tag;
+            }
+        }
+
+        record ListFilter(@NotNull CompoundFilter filter) implements Step {
+        }
+
+        record EntireList() implements Step {
+        }
+    }
+}
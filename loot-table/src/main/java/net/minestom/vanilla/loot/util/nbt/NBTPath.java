@@ -10,6 +10,7 @@ import org.jetbrains.annotations.Nullable;
 import java.io.IOException;
 import java.io.StringReader;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Consumer;
@@ -21,12 +22,46 @@ import java.util.stream.Collectors;
  * ability to select any number of elements from its predecessor—this allows arbitrary item selection from any NBT type.
  * <br>
  * It also provides multiple ways to manipulate NBT results as there is no deeply mutable NBT implementation.
+ * <br>
+ * Paths are compiled once when created, and reading them goes through the {@link #compiled()} form.
  */
-public record NBTPath(@NotNull List<Selector> selectors) {
+public final class NBTPath {
 
     @SuppressWarnings("UnstableApiUsage")
     public static final @NotNull Codec<NBTPath> CODEC = Parser.CODEC;
 
+    private final @NotNull List<Selector> selectors;
+    private final @NotNull CompiledNBTPath compiled;
+
+    public NBTPath(@NotNull List<Selector> selectors) {
+        this.selectors = selectors;
+        this.compiled = CompiledNBTPath.compile(selectors);
+    }
+
+    /**
+     * Parses a path, reusing the previous result if the same path has been parsed recently.
+     * @param path the path, in vanilla syntax
+     * @return the parsed path
+     * @throws IllegalArgumentException if the path is invalid
+     */
+    public static @NotNull NBTPath parse(@NotNull String path) {
+        return Parser.parse(path);
+    }
+
+    /**
+     * @return the selectors of this path, in order
+     */
+    public @NotNull List<Selector> selectors() {
+        return selectors;
+    }
+
+    /**
+     * @return the compiled form of this path, derived from its selectors
+     */
+    public @NotNull CompiledNBTPath compiled() {
+        return compiled;
+    }
+
     /**
      * Selects an arbitrary number of elements from provided NBT.
      */
@@ -227,17 +262,8 @@ public record NBTPath(@NotNull List<Selector> selectors) {
      * @return the list of selected NBT, which may be empty
      */
     public @NotNull List<NBTReference> get(@NotNull BinaryTag source) {
-        List<NBTReference> references = List.of(NBTReference.of(source));
-        for (var selector : selectors()) {
-            List<NBTReference> newReferences = new ArrayList<>();
-
-            references.forEach(nbt -> selector.get(nbt, newReferences::add));
-
-            if (newReferences.isEmpty()) {
-                return List.of();
-            }
-            references = newReferences;
-        }
+        List<NBTReference> references = new ArrayList<>();
+        compiled.forEach(source, nbt -> references.add(NBTReference.of(nbt)));
         return references;
     }
 
@@ -290,6 +316,16 @@ public record NBTPath(@NotNull List<Selector> selectors) {
         return references;
     }
 
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof NBTPath other && selectors.equals(other.selectors);
+    }
+
+    @Override
+    public int hashCode() {
+        return selectors.hashCode();
+    }
+
     @Override
     public String toString() {
         return selectors().stream().map(Selector::toString).collect(Collectors.joining());
@@ -303,13 +339,36 @@ class Parser {
     static final @NotNull IntSet VALID_INTEGER_CHARACTERS = IntSet.of('-', '0', '1', '2', '3', '4', '5', '6', '7', '8', '9');
     static final @NotNull IntSet INVALID_UNQUOTED_CHARACTERS = IntSet.of(-1, '.', '\'', '\"', '{', '}', '[', ']');
 
-    static final Codec<NBTPath> CODEC = Codec.STRING.transform(s -> {
+    // datapacks repeat the same few paths, so recently used ones are only parsed and compiled once
+    private static final int CACHE_SIZE = 1024;
+    private static final Map<String, NBTPath> CACHE = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, NBTPath> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    static final Codec<NBTPath> CODEC = Codec.STRING.transform(NBTPath::parse, NBTPath::toString);
+
+    static @NotNull NBTPath parse(@NotNull String path) {
+        synchronized (CACHE) {
+            NBTPath cached = CACHE.get(path);
+            if (cached != null) return cached;
+        }
+        NBTPath parsed = read(path);
+        synchronized (CACHE) {
+            CACHE.put(path, parsed);
+        }
+        return parsed;
+    }
+
+    static @NotNull NBTPath read(@NotNull String path) {
         try {
-            return readPath(new StringReader(s));
+            return readPath(new StringReader(path));
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
-    }, NBTPath::toString);
+    }
 
     static @NotNull NBTPath readPath(@NotNull StringReader reader) throws IOException {
         List<NBTPath.Selector> selectors = new ArrayList<>();
@@ -471,7 +530,7 @@ class Parser {
         StringBuffer buffer = new StringBuffer();
         BinaryTag tag = MinestomAdventure.tagStringIO().asTag(dump, buffer);
 
-        reader.skip(dump.length() - buffer.length()); // Skip (total chars) - (remaining chars) = read chars
+        reader.skip(-buffer.length()); // The whole input was read, so step back over the chars that weren't part of the tag
         return tag;
     }
 
@@ -30,7 +30,8 @@ import net.minestom.vanilla.crafting.CraftingFeature;
 import net.minestom.vanilla.crafting.Recipe;
 import net.minestom.vanilla.logging.Logger;
 import net.minestom.vanilla.loot.LootFeature;
-import net.minestom.vanilla.loot.LootTable;
+import net.minestom.vanilla.loot.LootRuntime;
+import net.minestom.vanilla.system.ItemMergeSystem;
 import org.jetbrains.annotations.NotNull;
 
 import java.nio.file.Path;
@@ -68,8 +69,8 @@ public class Survival {
      */
     public void initialize() {
 
-        Map<Key, LootTable> tables = LootFeature.buildFromDatapack(process);
-        process.eventHandler().addChild(LootFeature.createEventNode(tables));
+        process.eventHandler().addChild(LootFeature.createEventNode(LootRuntime.of(process)));
+        process.eventHandler().addChild(ItemMergeSystem.createEventNode());
 
         Map<Key, Recipe> recipes = CraftingFeature.buildFromDatapack(process);
         process.eventHandler().addChild(CraftingFeature.createEventNode(recipes, process));